@@ -0,0 +1,132 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.MassaDados;
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.RepositorioEmMemoria;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Pagina;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Paginacao;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.AtualizarClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClienteCpfUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClienteIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ExcluirClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ExportarClientesUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ListarClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ReservarIdClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+
+/**
+ * Custo próprio de cada use case de cliente, sem banco: o repositório é um substituto em memória,
+ * então o que sobra é mapeamento, validação e alocação dentro do use case.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClienteUseCasesBenchmark {
+
+    @Param({"1000"})
+    private int quantidadeClientes;
+
+    private RepositorioEmMemoria<ClienteEntity> dados;
+
+    private CriarClienteUseCase criarClienteUseCase;
+    private AtualizarClienteUseCase atualizarClienteUseCase;
+    private ExcluirClienteUseCase excluirClienteUseCase;
+    private ListarClienteUseCase listarClienteUseCase;
+    private BuscarClienteCpfUseCase buscarClienteCpfUseCase;
+    private BuscarClienteIdUseCase buscarClienteIdUseCase;
+    private ExportarClientesUseCase exportarClientesUseCase;
+
+    private long proximoCpf;
+    private String cpfExistente;
+    private ClienteEntity clienteAtualizado;
+    private final Paginacao primeiraPagina = new Paginacao(null, Paginacao.LIMITE_PADRAO);
+
+    @Setup
+    public void setUp() {
+        dados = MassaDados.clientes(quantidadeClientes);
+        ClienteRepository repository = RepositorioEmMemoria.clientes(dados);
+        ClienteCpfCache cpfCache = new ClienteCpfCache(quantidadeClientes, Duration.ofMinutes(10),
+                Duration.ofSeconds(30));
+
+        criarClienteUseCase = new CriarClienteUseCase(repository, cpfCache, InvalidacaoCaches.desabilitada(),
+                new ReservarIdClienteUseCase(repository));
+        atualizarClienteUseCase = new AtualizarClienteUseCase(repository, cpfCache, InvalidacaoCaches.desabilitada());
+        buscarClienteIdUseCase = new BuscarClienteIdUseCase(repository);
+        excluirClienteUseCase = new ExcluirClienteUseCase(repository, cpfCache, InvalidacaoCaches.desabilitada());
+        listarClienteUseCase = new ListarClienteUseCase(repository);
+        buscarClienteCpfUseCase = new BuscarClienteCpfUseCase(repository, cpfCache);
+        exportarClientesUseCase = new ExportarClientesUseCase(repository, RepositorioEmMemoria.entityManager());
+
+        proximoCpf = quantidadeClientes + 1L;
+        cpfExistente = MassaDados.cpf(quantidadeClientes / 2);
+        clienteAtualizado = MassaDados.cliente(quantidadeClientes / 2);
+        clienteAtualizado.setId((long) quantidadeClientes / 2);
+        clienteAtualizado.setNome("Cliente atualizado");
+    }
+
+    @Benchmark
+    public Cliente criar() {
+        Cliente cliente = criarClienteUseCase.execute(MassaDados.cliente(proximoCpf++));
+        // Mantém o repositório do mesmo tamanho entre as iterações.
+        dados.remover(cliente.getId());
+        return cliente;
+    }
+
+    @Benchmark
+    public Cliente atualizar() {
+        return atualizarClienteUseCase.execute(clienteAtualizado);
+    }
+
+    @Benchmark
+    public Boolean excluir() {
+        Boolean excluido = excluirClienteUseCase.execute(clienteAtualizado.getId());
+        dados.salvar(clienteAtualizado);
+        return excluido;
+    }
+
+    @Benchmark
+    public Pagina<Cliente> listarPrimeiraPagina() {
+        return listarClienteUseCase.execute(primeiraPagina);
+    }
+
+    /**
+     * Após a primeira chamada o CPF é atendido pelo {@link ClienteCpfCache}.
+     */
+    @Benchmark
+    public Cliente buscarPorCpf() {
+        return buscarClienteCpfUseCase.execute(cpfExistente);
+    }
+
+    @Benchmark
+    public Cliente buscarPorId() {
+        return buscarClienteIdUseCase.execute(clienteAtualizado.getId());
+    }
+
+    @Benchmark
+    public Long exportarTodos(Blackhole blackhole) {
+        return exportarClientesUseCase.execute(blackhole::consume);
+    }
+}
@@ -0,0 +1,122 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.soat8.grp14.techchallenge.TechChallengeFiapApplication;
+
+/**
+ * Vazão dos controllers sob muitas requisições simultâneas, com a aplicação inteira no ar (Tomcat,
+ * Hikari e o PostgreSQL do profile {@code dev}), comparando threads de plataforma com o profile
+ * {@code virtual}. Cada operação dispara {@code concorrencia} requisições de uma vez e espera
+ * todas; o tempo por requisição é o tempo da operação dividido por {@code concorrencia}.
+ * <p>
+ * {@code GET /api/clientes/{id}} vai ao banco a cada chamada; {@code GET /api/produtos/{id}} é
+ * servido pelo catálogo em memória e serve de referência sem espera de I/O. O modo
+ * {@code virtual} só sobe com Java 21:
+ * {@code mvn -P dev,benchmark,java21 test-compile exec:exec -Djmh.args="ConcorrenciaControllers"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConcorrenciaControllersBenchmark {
+
+    @Param({"plataforma", "virtual"})
+    private String modo;
+
+    @Param({"100", "1000"})
+    private int concorrencia;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient http;
+    private URI cliente;
+    private URI produto;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        SpringApplicationBuilder aplicacao = new SpringApplicationBuilder(TechChallengeFiapApplication.class)
+                .properties("server.port=0", "techchallenge.sql.taxa-amostragem=0",
+                        "logging.level.root=WARN");
+        aplicacao.profiles(modo.equals("virtual") ? new String[] {"dev", "virtual"} : new String[] {"dev"});
+        contexto = aplicacao.run();
+
+        String base = "http://localhost:" + ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        cliente = URI.create(base + "/api/clientes/" + primeiroId(base + "/api/clientes", "itens"));
+        produto = URI.create(base + "/api/produtos/" + primeiroId(base + "/api/produtos", null));
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int buscarClientePorId() {
+        return disparar(cliente);
+    }
+
+    @Benchmark
+    public int buscarProdutoPorId() {
+        return disparar(produto);
+    }
+
+    private int disparar(URI uri) {
+        HttpRequest requisicao = HttpRequest.newBuilder(uri).GET().build();
+        List<CompletableFuture<HttpResponse<Void>>> respostas = new ArrayList<>(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            respostas.add(http.sendAsync(requisicao, HttpResponse.BodyHandlers.discarding()));
+        }
+        int ok = 0;
+        for (CompletableFuture<HttpResponse<Void>> resposta : respostas) {
+            int status = resposta.join().statusCode();
+            if (status != 200) {
+                throw new IllegalStateException("GET " + uri + " respondeu " + status);
+            }
+            ok++;
+        }
+        return ok;
+    }
+
+    private long primeiroId(String url, String lista) throws IOException, InterruptedException {
+        String corpo = http.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        JsonNode itens = new ObjectMapper().readTree(corpo);
+        if (lista != null) {
+            itens = itens.get(lista);
+        }
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalStateException("Sem registros em " + url + " para o benchmark.");
+        }
+        return itens.get(0).get("id").asLong();
+    }
+}
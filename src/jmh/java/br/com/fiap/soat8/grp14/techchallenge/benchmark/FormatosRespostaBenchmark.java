@@ -0,0 +1,83 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.MassaDados;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Custo de gerar e de ler o catálogo ({@code List<ProdutoDTO>}) em JSON, CBOR e Smile, com os
+ * ObjectMappers montados como nos conversores da aplicação (FormatosBinariosConfig). A leitura é o
+ * lado do totem. O tamanho do corpo de cada formato sai no log do setup, por ser fixo para os
+ * mesmos dados.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatosRespostaBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String formato;
+
+    @Param({"40", "1000", "100000"})
+    private int tamanhoCatalogo;
+
+    private List<ProdutoDTO> catalogo;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private byte[] corpo;
+
+    @Setup
+    public void setUp() throws IOException {
+        catalogo = MassaDados.catalogo(tamanhoCatalogo);
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        ObjectMapper objectMapper = switch (formato) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        CollectionType tipo = objectMapper.getTypeFactory().constructCollectionType(List.class, ProdutoDTO.class);
+        writer = objectMapper.writerFor(tipo);
+        reader = objectMapper.readerFor(tipo);
+        corpo = writer.writeValueAsBytes(catalogo);
+        log.info("{}, {} produtos: {} bytes ({} por produto)", formato, tamanhoCatalogo, corpo.length,
+                String.format("%.1f", (double) corpo.length / tamanhoCatalogo));
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return writer.writeValueAsBytes(catalogo);
+    }
+
+    @Benchmark
+    public List<ProdutoDTO> desserializar() throws IOException {
+        return reader.readValue(corpo);
+    }
+}
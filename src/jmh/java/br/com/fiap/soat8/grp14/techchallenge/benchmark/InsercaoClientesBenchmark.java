@@ -0,0 +1,141 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongFunction;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.MassaDados;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Inserção de vários clientes numa mesma transação pelo Hibernate, comparando o mapeamento atual
+ * ({@link ClienteEntity}, sequence com otimizador pooled e batch de inserts) com o IDENTITY usado
+ * antes, que obriga um insert por ida ao banco para ler o id gerado.
+ * <p>
+ * Precisa de um PostgreSQL; por padrão usa o banco do profile {@code dev}, que pode ser trocado
+ * pelas variáveis de ambiente {@code BENCHMARK_JDBC_URL}, {@code BENCHMARK_JDBC_USUARIO} e
+ * {@code BENCHMARK_JDBC_SENHA}. As migrations são aplicadas no setup e cada operação termina em
+ * rollback, então a tabela não cresce (as sequences, sim).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsercaoClientesBenchmark {
+
+    // Fora da faixa dos CPFs da carga inicial, para não esbarrar na constraint uq_email.
+    private static final long CPF_INICIAL = 90_000_000_000L;
+
+    @Param({"100", "1000"})
+    private int quantidade;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setUp() {
+        String url = variavel("BENCHMARK_JDBC_URL", "jdbc:postgresql://localhost:5433/techchallenge");
+        String usuario = variavel("BENCHMARK_JDBC_USUARIO", "techchallenge_usr");
+        String senha = variavel("BENCHMARK_JDBC_SENHA", "P0o9i8u7");
+
+        Flyway.configure().dataSource(url, usuario, senha).load().migrate();
+
+        // Mesmas propriedades de batch do application.yml.
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(ClienteEntity.class)
+                .addAnnotatedClass(ClienteIdentity.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, url)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, usuario)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, senha)
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .setProperty(AvailableSettings.JAKARTA_VALIDATION_MODE, "none")
+                .buildSessionFactory();
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public void inserirComIdentity() {
+        inserir(ClienteIdentity::new);
+    }
+
+    @Benchmark
+    public void inserirComSequencePooled() {
+        inserir(n -> MassaDados.cliente(CPF_INICIAL + n));
+    }
+
+    private void inserir(LongFunction<Object> cliente) {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            for (int i = 0; i < quantidade; i++) {
+                session.persist(cliente.apply(i));
+            }
+            session.flush();
+            session.getTransaction().rollback();
+        }
+    }
+
+    private static String variavel(String nome, String padrao) {
+        String valor = System.getenv(nome);
+        return valor == null || valor.isBlank() ? padrao : valor;
+    }
+
+    /**
+     * Mapeamento do cliente com o id gerado por IDENTITY, como era antes das sequences pooled.
+     */
+    @Entity
+    @Table(name = "cliente")
+    public static class ClienteIdentity {
+
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        @Column(name = "id", nullable = false)
+        private Long id;
+
+        @Column(name = "email", nullable = false)
+        private String email;
+
+        @Column(name = "nome", nullable = false)
+        private String nome;
+
+        @Column(name = "cpf", nullable = false)
+        private String cpf;
+
+        public ClienteIdentity() {
+        }
+
+        ClienteIdentity(long n) {
+            this.email = "cliente" + n + "@example.com";
+            this.nome = "Cliente " + n;
+            this.cpf = MassaDados.cpf(CPF_INICIAL + n);
+        }
+    }
+}
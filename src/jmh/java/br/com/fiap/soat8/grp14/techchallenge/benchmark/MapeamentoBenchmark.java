@@ -0,0 +1,93 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+
+/**
+ * Compara o mapeamento reflexivo do ModelMapper, usado antes nos use cases e serviços,
+ * com os métodos de conversão escritos à mão nas entidades, que hoje atendem os mesmos caminhos.
+ * Os cenários reproduzem a cadeia de uma leitura (entidade -> domínio -> DTO) e de uma escrita
+ * (DTO de inserção -> entidade -> domínio -> DTO).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    @Param({"100"})
+    private int tamanhoCatalogo;
+
+    private ModelMapper modelMapper;
+    private List<ProdutoEntity> catalogo;
+    private ProdutoInsertDTO produtoInsertDTO;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        catalogo = new ArrayList<>(tamanhoCatalogo);
+        CategoriaProduto[] categorias = CategoriaProduto.values();
+        for (int i = 0; i < tamanhoCatalogo; i++) {
+            ProdutoEntity produtoEntity = new ProdutoEntity();
+            produtoEntity.setId((long) i + 1);
+            produtoEntity.setNome("Produto " + i);
+            produtoEntity.setDescricao("Descrição do produto " + i);
+            produtoEntity.setValor(10.0 + i);
+            produtoEntity.setCategoriaProduto(categorias[i % categorias.length]);
+            catalogo.add(produtoEntity);
+        }
+        produtoInsertDTO = new ProdutoInsertDTO("Cheeseburger", "Sanduíche de carne bovina com queijo", 12.5,
+                CategoriaProduto.LANCHE);
+    }
+
+    @Benchmark
+    public List<ProdutoDTO> listarCatalogoModelMapper() {
+        return catalogo.stream()
+                .map(produtoEntity -> modelMapper.map(produtoEntity, Produto.class))
+                .map(produto -> modelMapper.map(produto, ProdutoDTO.class))
+                .toList();
+    }
+
+    @Benchmark
+    public List<ProdutoDTO> listarCatalogoManual() {
+        return catalogo.stream()
+                .map(ProdutoEntity::toProduto)
+                .map(Produto::toProdutoDTO)
+                .toList();
+    }
+
+    @Benchmark
+    public ProdutoDTO salvarProdutoModelMapper() {
+        ProdutoEntity produtoEntity = modelMapper.map(produtoInsertDTO, ProdutoEntity.class);
+        Produto produto = modelMapper.map(produtoEntity, Produto.class);
+        return modelMapper.map(produto, ProdutoDTO.class);
+    }
+
+    @Benchmark
+    public ProdutoDTO salvarProdutoManual() {
+        ProdutoEntity produtoEntity = new ProdutoEntity(new Produto(produtoInsertDTO));
+        return produtoEntity.toProduto().toProdutoDTO();
+    }
+}
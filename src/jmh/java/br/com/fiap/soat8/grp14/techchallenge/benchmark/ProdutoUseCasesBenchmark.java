@@ -0,0 +1,123 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.MassaDados;
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.RepositorioEmMemoria;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.AtualizarProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoCategoriaUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CriarProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExportarProdutosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ListarProdutosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+
+/**
+ * Custo próprio de cada use case de produto sobre um repositório em memória. As leituras são
+ * servidas pelo {@link CatalogoProdutosCache}; as escritas incluem a troca do snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProdutoUseCasesBenchmark {
+
+    @Param({"1000"})
+    private int tamanhoCatalogo;
+
+    private RepositorioEmMemoria<ProdutoEntity> dados;
+    private CatalogoProdutosCache catalogo;
+
+    private CriarProdutoUseCase criarProdutoUseCase;
+    private AtualizarProdutoUseCase atualizarProdutoUseCase;
+    private ExcluirProdutoUseCase excluirProdutoUseCase;
+    private ListarProdutosUseCase listarProdutosUseCase;
+    private BuscarProdutoCategoriaUseCase buscarProdutoCategoriaUseCase;
+    private BuscarProdutoIdUseCase buscarProdutoIdUseCase;
+    private ExportarProdutosUseCase exportarProdutosUseCase;
+
+    private ProdutoEntity produtoExistente;
+
+    @Setup
+    public void setUp() {
+        dados = MassaDados.produtos(tamanhoCatalogo);
+        ProdutoRepository repository = RepositorioEmMemoria.produtos(dados);
+        catalogo = new CatalogoProdutosCache(repository);
+
+        criarProdutoUseCase = new CriarProdutoUseCase(repository, catalogo, InvalidacaoCaches.desabilitada());
+        atualizarProdutoUseCase = new AtualizarProdutoUseCase(repository, catalogo, InvalidacaoCaches.desabilitada());
+        buscarProdutoIdUseCase = new BuscarProdutoIdUseCase(catalogo);
+        excluirProdutoUseCase = new ExcluirProdutoUseCase(repository, catalogo, InvalidacaoCaches.desabilitada());
+        listarProdutosUseCase = new ListarProdutosUseCase(catalogo);
+        buscarProdutoCategoriaUseCase = new BuscarProdutoCategoriaUseCase(catalogo);
+        exportarProdutosUseCase = new ExportarProdutosUseCase(repository, RepositorioEmMemoria.entityManager());
+
+        produtoExistente = MassaDados.produto(tamanhoCatalogo / 2);
+        produtoExistente.setId((long) tamanhoCatalogo / 2);
+        // Carrega o snapshot antes da medição, como acontece após o primeiro acesso em produção.
+        listarProdutosUseCase.execute(true);
+    }
+
+    @Benchmark
+    public Produto criar() {
+        Produto produto = criarProdutoUseCase.execute(MassaDados.produto(tamanhoCatalogo + 1L));
+        dados.remover(produto.getId());
+        catalogo.remover(produto.getId());
+        return produto;
+    }
+
+    @Benchmark
+    public Produto atualizar() {
+        return atualizarProdutoUseCase.execute(produtoExistente);
+    }
+
+    @Benchmark
+    public Boolean excluir() {
+        Boolean excluido = excluirProdutoUseCase.execute(produtoExistente.getId());
+        dados.salvar(produtoExistente);
+        catalogo.salvar(produtoExistente.toProduto());
+        return excluido;
+    }
+
+    @Benchmark
+    public List<Produto> listarTodos() {
+        return listarProdutosUseCase.execute(true);
+    }
+
+    @Benchmark
+    public List<Produto> buscarPorCategoria() {
+        return buscarProdutoCategoriaUseCase.execute(CategoriaProduto.BEBIDA);
+    }
+
+    @Benchmark
+    public Produto buscarPorId() {
+        return buscarProdutoIdUseCase.execute(produtoExistente.getId());
+    }
+
+    @Benchmark
+    public Long exportarTodos(Blackhole blackhole) {
+        return exportarProdutosUseCase.execute(blackhole::consume);
+    }
+}
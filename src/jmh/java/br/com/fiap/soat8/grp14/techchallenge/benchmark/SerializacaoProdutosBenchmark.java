@@ -0,0 +1,70 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.MassaDados;
+
+/**
+ * Serialização JSON do catálogo ({@code List<ProdutoDTO>}) como o Spring MVC faz na resposta de
+ * {@code GET /api/produtos}: um ObjectMapper montado pelo {@link Jackson2ObjectMapperBuilder}
+ * e o writer já resolvido para o tipo da lista.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoProdutosBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int tamanhoCatalogo;
+
+    private List<ProdutoDTO> catalogo;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        catalogo = MassaDados.catalogo(tamanhoCatalogo);
+        ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProdutoDTO.class));
+    }
+
+    /**
+     * Materializa o corpo inteiro em memória, como um {@code byte[]} de resposta.
+     */
+    @Benchmark
+    public byte[] serializarParaBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(catalogo);
+    }
+
+    /**
+     * Escreve direto no stream, como o conversor HTTP faz; isola o custo do gerador do custo do buffer.
+     */
+    @Benchmark
+    public void serializarParaStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), catalogo);
+    }
+}
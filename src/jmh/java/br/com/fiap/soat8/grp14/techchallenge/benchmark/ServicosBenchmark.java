@@ -0,0 +1,163 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.PaginaDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.CatalogoSerializadoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.services.ClienteService;
+import br.com.fiap.soat8.grp14.techchallenge.app.services.ProdutoService;
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.MassaDados;
+import br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte.RepositorioEmMemoria;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.AtualizarClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClienteCpfUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClienteIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClientesUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ExcluirClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ExportarClientesUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ListarClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ReservarIdClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.AtualizarProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarAlteracoesCatalogoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoCategoriaUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutosPorTextoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarVersaoCatalogoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CompactarHistoricoCatalogoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CriarProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutosEmLoteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExportarProdutosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ListarProdutosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+
+/**
+ * Cadeia completa de leitura dos serviços (repositório -> entidade -> domínio -> DTO), montada com
+ * os use cases reais sobre repositórios em memória. É o caminho que os controllers chamam.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServicosBenchmark {
+
+    @Param({"1000"})
+    private int tamanho;
+
+    private ClienteService clienteService;
+    private ProdutoService produtoService;
+
+    private Long idExistente;
+    private String cpfExistente;
+
+    @Setup
+    public void setUp() {
+        ClienteRepository clienteRepository = RepositorioEmMemoria.clientes(MassaDados.clientes(tamanho));
+        InvalidacaoCaches invalidacao = InvalidacaoCaches.desabilitada();
+        ClienteCpfCache cpfCache = new ClienteCpfCache(tamanho, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        BuscarClienteIdUseCase buscarClienteIdUseCase = new BuscarClienteIdUseCase(clienteRepository);
+        clienteService = new ClienteService(
+                new CriarClienteUseCase(clienteRepository, cpfCache, invalidacao,
+                        new ReservarIdClienteUseCase(clienteRepository)),
+                new BuscarClienteCpfUseCase(clienteRepository, cpfCache),
+                new ListarClienteUseCase(clienteRepository),
+                buscarClienteIdUseCase,
+                new ExcluirClienteUseCase(clienteRepository, cpfCache, invalidacao),
+                new AtualizarClienteUseCase(clienteRepository, cpfCache, invalidacao),
+                new ExportarClientesUseCase(clienteRepository, RepositorioEmMemoria.entityManager()),
+                new BuscarClientesUseCase(clienteRepository));
+
+        ProdutoRepository produtoRepository = RepositorioEmMemoria.produtos(MassaDados.produtos(tamanho));
+        CatalogoProdutosCache catalogo = new CatalogoProdutosCache(produtoRepository);
+        BuscarProdutoIdUseCase buscarProdutoIdUseCase = new BuscarProdutoIdUseCase(catalogo);
+        produtoService = new ProdutoService(
+                new CriarProdutoUseCase(produtoRepository, catalogo, invalidacao),
+                new BuscarProdutoCategoriaUseCase(catalogo),
+                new ListarProdutosUseCase(catalogo),
+                buscarProdutoIdUseCase,
+                new ExcluirProdutoUseCase(produtoRepository, catalogo, invalidacao),
+                new AtualizarProdutoUseCase(produtoRepository, catalogo, invalidacao),
+                new ExportarProdutosUseCase(produtoRepository, RepositorioEmMemoria.entityManager()),
+                new ExcluirProdutosEmLoteUseCase(produtoRepository, catalogo, invalidacao),
+                new BuscarVersaoCatalogoUseCase(catalogo),
+                new ObjectMapper(),
+                new BuscarProdutosPorTextoUseCase(produtoRepository),
+                new BuscarAlteracoesCatalogoUseCase(produtoRepository),
+                new CompactarHistoricoCatalogoUseCase(produtoRepository));
+
+        idExistente = (long) tamanho / 2;
+        cpfExistente = MassaDados.cpf(idExistente);
+    }
+
+    @Benchmark
+    public PaginaDTO<ClienteDTO> listarClientes() {
+        return clienteService.listarTodos(null, null);
+    }
+
+    @Benchmark
+    public ClienteDTO buscarClientePorCpf() {
+        return clienteService.buscarCliente(cpfExistente);
+    }
+
+    @Benchmark
+    public ClienteDTO buscarClientePorId() {
+        return clienteService.buscarClienteId(idExistente);
+    }
+
+    @Benchmark
+    public List<ProdutoDTO> listarProdutos() {
+        return produtoService.buscarProdutos();
+    }
+
+    /**
+     * O que o GET do catálogo faz de fato: bytes já serializados, reaproveitados enquanto o
+     * catálogo não muda. {@link #listarProdutos()} ainda precisa passar pelo Jackson.
+     */
+    @Benchmark
+    public CatalogoSerializadoDTO listarProdutosSerializados() {
+        return produtoService.buscarProdutosSerializados();
+    }
+
+    /**
+     * Custo de um GET condicional do catálogo respondido com 304, comparável a {@link #listarProdutos()}.
+     */
+    @Benchmark
+    public String versaoCatalogo() {
+        return produtoService.versaoCatalogo();
+    }
+
+    @Benchmark
+    public List<ProdutoDTO> buscarProdutosPorCategoria() {
+        return produtoService.buscarPorCategoria(CategoriaProduto.LANCHE);
+    }
+
+    @Benchmark
+    public ProdutoDTO buscarProdutoPorId() {
+        return produtoService.buscarPorId(idExistente);
+    }
+}
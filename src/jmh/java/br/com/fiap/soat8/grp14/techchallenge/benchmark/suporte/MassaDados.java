@@ -0,0 +1,69 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+
+/**
+ * Dados sintéticos determinísticos para os benchmarks.
+ */
+public final class MassaDados {
+
+    private static final CategoriaProduto[] CATEGORIAS = CategoriaProduto.values();
+
+    private MassaDados() {
+    }
+
+    public static String cpf(long n) {
+        String digitos = String.format("%011d", n);
+        return digitos.substring(0, 3) + "." + digitos.substring(3, 6) + "." + digitos.substring(6, 9) + "-"
+                + digitos.substring(9);
+    }
+
+    public static ClienteEntity cliente(long n) {
+        ClienteEntity clienteEntity = new ClienteEntity();
+        clienteEntity.setNome("Cliente " + n);
+        clienteEntity.setEmail("cliente" + n + "@example.com");
+        clienteEntity.setCpf(cpf(n));
+        return clienteEntity;
+    }
+
+    public static ProdutoEntity produto(long n) {
+        ProdutoEntity produtoEntity = new ProdutoEntity();
+        produtoEntity.setNome("Produto " + n);
+        produtoEntity.setDescricao("Descrição do produto " + n + " com ingredientes selecionados");
+        produtoEntity.setValor(5.0 + (n % 20));
+        produtoEntity.setCategoriaProduto(CATEGORIAS[(int) (n % CATEGORIAS.length)]);
+        return produtoEntity;
+    }
+
+    public static RepositorioEmMemoria<ClienteEntity> clientes(int quantidade) {
+        RepositorioEmMemoria<ClienteEntity> repositorio = RepositorioEmMemoria.novo();
+        for (int i = 1; i <= quantidade; i++) {
+            repositorio.salvar(cliente(i));
+        }
+        return repositorio;
+    }
+
+    public static RepositorioEmMemoria<ProdutoEntity> produtos(int quantidade) {
+        RepositorioEmMemoria<ProdutoEntity> repositorio = RepositorioEmMemoria.novo();
+        for (int i = 1; i <= quantidade; i++) {
+            repositorio.salvar(produto(i));
+        }
+        return repositorio;
+    }
+
+    public static List<ProdutoDTO> catalogo(int quantidade) {
+        List<ProdutoDTO> catalogo = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            ProdutoEntity produtoEntity = produto(i);
+            produtoEntity.setId((long) i);
+            catalogo.add(produtoEntity.toProduto().toProdutoDTO());
+        }
+        return catalogo;
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.fiap.soat8.grp14.techchallenge.benchmark.suporte;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Limit;
+
+import br.com.fiap.soat8.grp14.techchallenge.data.models.BaseEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteJdbcRepository.ClienteAtualizado;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Substituto em memória dos repositórios Spring Data, para medir os use cases sem banco.
+ * Implementa via proxy apenas os métodos que os use cases chamam; qualquer outro lança
+ * {@link UnsupportedOperationException}, o que denuncia no benchmark um caminho novo ainda
+ * não coberto aqui.
+ */
+public final class RepositorioEmMemoria<E extends BaseEntity> implements InvocationHandler {
+
+    private final ConcurrentSkipListMap<Long, E> dados = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final Map<String, Function<Object[], Object>> consultas = new HashMap<>();
+    private final Map<String, E> indiceUnico = new ConcurrentHashMap<>();
+    private Function<E, String> chaveUnica;
+
+    private RepositorioEmMemoria() {
+    }
+
+    public static ClienteRepository clientes(RepositorioEmMemoria<ClienteEntity> repositorio) {
+        // Índice único por CPF, como a constraint uq_email no banco.
+        repositorio.chaveUnica = ClienteEntity::getCpf;
+        repositorio.dados.values().forEach(cliente -> repositorio.indiceUnico.put(cliente.getCpf(), cliente));
+        repositorio.consultas.put("findByCpf", args -> Optional.ofNullable(repositorio.indiceUnico.get((String) args[0])));
+        repositorio.consultas.put("inserirSeCpfLivre", args -> {
+            ClienteEntity cliente = (ClienteEntity) args[0];
+            if (repositorio.indiceUnico.containsKey(cliente.getCpf())) {
+                return Optional.empty();
+            }
+            return Optional.of(repositorio.salvar(cliente).getId());
+        });
+        // Blocos de 50 ids acima de todos os já usados, como o INCREMENT BY de seq_cliente.
+        repositorio.consultas.put("reservarBlocoIds", args -> repositorio.sequencia.addAndGet(50));
+        repositorio.consultas.put("findByIdGreaterThanOrderByIdAsc", args -> repositorio.dados
+                .tailMap((Long) args[0], false).values().stream()
+                .limit(((Limit) args[1]).max())
+                .toList());
+        repositorio.consultas.put("atualizar", args -> repositorio.atualizar((ClienteEntity) args[0], (Long) args[1])
+                .map(anterior -> new ClienteAtualizado(((ClienteEntity) args[0]).getVersao(), anterior.getCpf())));
+        repositorio.consultas.put("excluirRetornandoCpf", args -> Optional.ofNullable(repositorio.remover((Long) args[0]))
+                .map(ClienteEntity::getCpf));
+        return repositorio.proxy(ClienteRepository.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static ProdutoRepository produtos(RepositorioEmMemoria<ProdutoEntity> repositorio) {
+        repositorio.consultas.put("findByCategoriaProduto", args -> repositorio.dados.values().stream()
+                .filter(produto -> produto.getCategoriaProduto() == args[0])
+                .toList());
+        repositorio.consultas.put("atualizar", args -> repositorio.atualizar((ProdutoEntity) args[0], (Long) args[1])
+                .map(anterior -> ((ProdutoEntity) args[0]).getVersao()));
+        repositorio.consultas.put("excluirPorId", args -> repositorio.remover((Long) args[0]) != null);
+        repositorio.consultas.put("excluirPorIds", args -> ((Collection<Long>) args[0]).stream()
+                .filter(id -> repositorio.remover(id) != null)
+                .toList());
+        // O histórico do catálogo não é lido pelos benchmarks; só a versão avança.
+        AtomicLong versaoCatalogo = new AtomicLong(1);
+        repositorio.consultas.put("registrarAlteracao", args -> versaoCatalogo.incrementAndGet());
+        return repositorio.proxy(ProdutoRepository.class);
+    }
+
+    public static <E extends BaseEntity> RepositorioEmMemoria<E> novo() {
+        return new RepositorioEmMemoria<>();
+    }
+
+    /**
+     * EntityManager que apenas aceita {@code detach}, suficiente para os use cases de exportação.
+     */
+    public static EntityManager entityManager() {
+        return (EntityManager) Proxy.newProxyInstance(EntityManager.class.getClassLoader(),
+                new Class<?>[]{EntityManager.class}, (proxy, method, args) -> {
+                    if ("detach".equals(method.getName())) {
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    public E salvar(E entidade) {
+        if (entidade.getId() == null) {
+            entidade.setId(sequencia.incrementAndGet());
+        } else {
+            sequencia.accumulateAndGet(entidade.getId(), Math::max);
+        }
+        E anterior = dados.put(entidade.getId(), entidade);
+        if (chaveUnica != null) {
+            if (anterior != null) {
+                indiceUnico.remove(chaveUnica.apply(anterior));
+            }
+            indiceUnico.put(chaveUnica.apply(entidade), entidade);
+        }
+        return entidade;
+    }
+
+    /**
+     * UPDATE condicional: grava a entidade com a versão seguinte se o id existe e, quando
+     * informada, a versão ainda confere.
+     *
+     * @return a linha anterior à alteração
+     */
+    public Optional<E> atualizar(E entidade, Long versaoEsperada) {
+        E anterior = dados.get(entidade.getId());
+        if (anterior == null || (versaoEsperada != null && !versaoEsperada.equals(anterior.getVersao()))) {
+            return Optional.empty();
+        }
+        entidade.setVersao(anterior.getVersao() == null ? 1L : anterior.getVersao() + 1);
+        salvar(entidade);
+        return Optional.of(anterior);
+    }
+
+    public E remover(Long id) {
+        E removido = dados.remove(id);
+        if (removido != null && chaveUnica != null) {
+            indiceUnico.remove(chaveUnica.apply(removido));
+        }
+        return removido;
+    }
+
+    public int tamanho() {
+        return dados.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> R proxy(Class<R> tipo) {
+        return (R) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo}, this);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(Object proxy, Method method, Object[] args) {
+        Function<Object[], Object> consulta = consultas.get(method.getName());
+        if (consulta != null) {
+            return consulta.apply(args);
+        }
+        return switch (method.getName()) {
+            case "findById" -> Optional.ofNullable(dados.get((Long) args[0]));
+            case "existsById" -> dados.containsKey((Long) args[0]);
+            case "findAll" -> new ArrayList<>(dados.values());
+            case "streamAllByOrderByIdAsc" -> dados.values().stream();
+            case "save" -> salvar((E) args[0]);
+            case "delete" -> {
+                remover(((E) args[0]).getId());
+                yield null;
+            }
+            case "deleteById" -> {
+                remover((Long) args[0]);
+                yield null;
+            }
+            case "count" -> (long) dados.size();
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "RepositorioEmMemoria" + dados.keySet();
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+    }
+}
@@ -2,12 +2,19 @@ package br.com.fiap.soat8.grp14.techchallenge;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class TechChallengeFiapApplication {
 
+    // Passos registrados na subida, lidos por /actuator/inicializacao. A subida completa registra
+    // cerca de 550; os que excedem a capacidade são descartados.
+    private static final int CAPACIDADE_PASSOS_INICIALIZACAO = 2048;
+
     public static void main(String[] args) {
-        SpringApplication.run(TechChallengeFiapApplication.class, args);
+        SpringApplication aplicacao = new SpringApplication(TechChallengeFiapApplication.class);
+        aplicacao.setApplicationStartup(new BufferingApplicationStartup(CAPACIDADE_PASSOS_INICIALIZACAO));
+        aplicacao.run(args);
     }
 
 }
@@ -0,0 +1,19 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PaginaDTO<T> {
+
+    private List<T> itens;
+    private Long proximoCursor;
+
+}
@@ -0,0 +1,28 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Andamento de um cadastro aceito de forma assíncrona. O id é o que o cliente terá quando for gravado.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class CadastroClienteDTO {
+
+    private Long id;
+    private Situacao situacao;
+
+    /**
+     * Motivo da rejeição; nulo nas demais situações.
+     */
+    private String mensagem;
+
+    public enum Situacao {
+        PENDENTE, CONCLUIDO, REJEITADO
+    }
+}
@@ -1,6 +1,9 @@
 package br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,7 +29,11 @@ public class ClienteDTO {
     private String nome;
     
     @NotBlank(message = "O campo cpf é obrigatório")
-    @Size(min = 14, max = 14, message = "O campo cpf deve estar no formato XXX.XXX.XXX-XX.")
+    @Pattern(regexp = "\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}", message = "O campo cpf deve estar no formato XXX.XXX.XXX-XX.")
     private String cpf;
 
+    // Trafega no cabeçalho ETag/If-Match, não no corpo.
+    @JsonIgnore
+    private Long versao;
+
 }
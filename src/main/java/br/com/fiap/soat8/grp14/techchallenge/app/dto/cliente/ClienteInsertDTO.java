@@ -1,6 +1,7 @@
 package br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente;
 
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
@@ -20,7 +21,7 @@ public class ClienteInsertDTO {
     private String nome;
     
     @NotBlank(message = "O campo cpf é obrigatório")
-    @Size(min = 14, max = 14, message = "O campo cpf deve estar no formato XXX.XXX.XXX-XX.")
+    @Pattern(regexp = "\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}", message = "O campo cpf deve estar no formato XXX.XXX.XXX-XX.")
     private String cpf;
 
 }
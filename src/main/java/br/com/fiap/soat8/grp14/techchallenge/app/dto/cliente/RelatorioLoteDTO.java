@@ -0,0 +1,25 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class RelatorioLoteDTO {
+
+    private long linhasProcessadas;
+    private long inseridos;
+    private long falhas;
+    private List<FalhaLoteDTO> detalhesFalhas;
+
+    /**
+     * Indica que houve mais falhas do que as listadas em {@code detalhesFalhas}.
+     */
+    private boolean detalhesTruncados;
+}
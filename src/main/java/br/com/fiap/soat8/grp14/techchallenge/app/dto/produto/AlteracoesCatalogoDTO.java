@@ -0,0 +1,25 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.dto.produto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Resposta de {@code GET /api/produtos/alteracoes}. {@code versao} é o valor a enviar em
+ * {@code desde} na próxima consulta. Com {@code completo}, {@code produtos} é o catálogo inteiro.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class AlteracoesCatalogoDTO {
+
+    private long versao;
+    private boolean completo;
+    private List<ProdutoDTO> produtos;
+    private List<Long> excluidos;
+
+}
@@ -0,0 +1,8 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.dto.produto;
+
+/**
+ * Lista de {@link ProdutoDTO} já serializada em JSON, com a variante gzip, na versão do catálogo
+ * que a gerou. Os arrays são compartilhados entre requisições e não devem ser alterados.
+ */
+public record CatalogoSerializadoDTO(String versao, byte[] json, byte[] gzip) {
+}
@@ -1,5 +1,7 @@
 package br.com.fiap.soat8.grp14.techchallenge.app.dto.produto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -33,4 +35,8 @@ public class ProdutoDTO {
     @NotNull(message = "O campo categoria é obrigatório")
     private CategoriaProduto categoriaProduto;
 
+    // Trafega no cabeçalho ETag/If-Match, não no corpo.
+    @JsonIgnore
+    private Long versao;
+
 }
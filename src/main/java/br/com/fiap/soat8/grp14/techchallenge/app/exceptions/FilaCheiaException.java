@@ -0,0 +1,17 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.exceptions;
+
+import java.io.Serial;
+
+/**
+ * A fila de cadastros assíncronos está cheia: o pedido não foi aceito e pode ser repetido em instantes.
+ */
+public class FilaCheiaException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = 4513873296127305318L;
+
+    public FilaCheiaException(String message) {
+        super(message);
+    }
+
+}
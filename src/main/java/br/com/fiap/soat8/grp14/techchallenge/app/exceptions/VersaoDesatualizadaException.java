@@ -0,0 +1,17 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.exceptions;
+
+import java.io.Serial;
+
+/**
+ * A versão informada no If-Match não é mais a atual: o registro foi alterado depois de lido.
+ */
+public class VersaoDesatualizadaException extends RuntimeException {
+
+    @Serial
+    private static final long serialVersionUID = -2417016154938257781L;
+
+    public VersaoDesatualizadaException(String message) {
+        super(message);
+    }
+
+}
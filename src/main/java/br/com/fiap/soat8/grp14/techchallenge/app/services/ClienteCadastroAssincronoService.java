@@ -0,0 +1,300 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.CadastroClienteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.FilaCheiaException;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClienteIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClientesAgrupadosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ReservarIdClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Cadastro de clientes com gravação adiada (write-behind), opcional. O cadastro já validado recebe
+ * na hora um id reservado de {@code seq_cliente} e vai para uma fila limitada; uma thread própria
+ * grava a fila em grupos, cada grupo num único INSERT e num único commit, assim que o grupo atinge
+ * {@code linhas-por-commit} ou que o primeiro da fila espera {@code intervalo-commit}.
+ * <p>
+ * Com a fila cheia o cadastro é recusado ({@link FilaCheiaException}) em vez de esperar. Os cadastros
+ * ainda na fila se perdem se o processo morrer sem encerrar normalmente; no encerramento normal a
+ * fila é gravada antes de o contexto fechar. A situação de cada cadastro fica na instância que o
+ * aceitou até a gravação; depois dela, qualquer instância o encontra no banco.
+ */
+@Slf4j
+@Service
+public class ClienteCadastroAssincronoService implements AutoCloseable {
+
+    private static final String CPF_CADASTRADO = "CPF já cadastrado.";
+    private static final String FILA_CHEIA = "Muitos cadastros em andamento; tente novamente em instantes.";
+
+    // Enquanto espera a fila, o escritor confere o encerramento neste intervalo.
+    private static final long ESPERA_OCIOSA_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private static final Duration ESPERA_ENCERRAMENTO = Duration.ofSeconds(30);
+
+    private final CriarClientesAgrupadosUseCase criarClientesAgrupadosUseCase;
+    private final BuscarClienteIdUseCase buscarClienteIdUseCase;
+    private final ReservarIdClienteUseCase reservarIdClienteUseCase;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean habilitado;
+    private final int linhasPorCommit;
+    private final long intervaloCommitNanos;
+    private final int capacidadeFila;
+
+    private final BlockingQueue<Pendente> fila;
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock lockRejeitados = new ReentrantLock();
+    // Rejeições recentes, para a consulta de situação; as mais antigas dão lugar às novas.
+    private final LinkedHashMap<Long, String> rejeitados;
+
+    private final LongAdder recusados = new LongAdder();
+    private final LongAdder gravados = new LongAdder();
+    private final LongAdder rejeicoes = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+
+    private volatile boolean encerrado;
+    private final Thread escritor;
+
+    public ClienteCadastroAssincronoService(CriarClientesAgrupadosUseCase criarClientesAgrupadosUseCase,
+            BuscarClienteIdUseCase buscarClienteIdUseCase, ReservarIdClienteUseCase reservarIdClienteUseCase,
+            PlatformTransactionManager transactionManager,
+            @Value("${techchallenge.cadastro-assincrono.habilitado}") boolean habilitado,
+            @Value("${techchallenge.cadastro-assincrono.capacidade-fila}") int capacidadeFila,
+            @Value("${techchallenge.cadastro-assincrono.linhas-por-commit}") int linhasPorCommit,
+            @Value("${techchallenge.cadastro-assincrono.intervalo-commit}") Duration intervaloCommit) {
+        if (capacidadeFila <= 0 || linhasPorCommit <= 0) {
+            throw new IllegalArgumentException("A capacidade da fila e as linhas por commit devem ser positivas.");
+        }
+        this.criarClientesAgrupadosUseCase = criarClientesAgrupadosUseCase;
+        this.buscarClienteIdUseCase = buscarClienteIdUseCase;
+        this.reservarIdClienteUseCase = reservarIdClienteUseCase;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.habilitado = habilitado;
+        this.capacidadeFila = capacidadeFila;
+        this.linhasPorCommit = linhasPorCommit;
+        this.intervaloCommitNanos = intervaloCommit.toNanos();
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.rejeitados = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, String> maisAntiga) {
+                return size() > ClienteCadastroAssincronoService.this.capacidadeFila;
+            }
+        };
+
+        if (habilitado) {
+            escritor = new Thread(this::gravarContinuamente, "cadastro-clientes");
+            escritor.setDaemon(true);
+            escritor.start();
+        } else {
+            escritor = null;
+        }
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Aceita o cadastro, já validado, para gravação posterior.
+     *
+     * @return o id reservado para o cliente
+     * @throws FilaCheiaException se a fila está cheia
+     */
+    public long enfileirar(ClienteInsertDTO clienteInsertDTO) {
+        if (!habilitado) {
+            throw new IllegalStateException("O cadastro assíncrono de clientes não está habilitado.");
+        }
+        // Confere antes de reservar o id, para não gastar ids com a fila cheia; a oferta abaixo
+        // ainda pode falhar se outra requisição ocupar a última vaga. No encerramento, o pedido é
+        // recusado da mesma forma e pode ser repetido em outra instância.
+        if (encerrado || fila.remainingCapacity() == 0) {
+            recusados.increment();
+            throw new FilaCheiaException(FILA_CHEIA);
+        }
+        ClienteEntity cliente = new ClienteEntity(new Cliente(clienteInsertDTO));
+        cliente.setId(reservarIdClienteUseCase.execute(null));
+
+        pendentes.add(cliente.getId());
+        Pendente pendente = new Pendente(cliente);
+        // Se o encerramento começou depois da conferência acima, o escritor pode já ter saído. Se o
+        // cadastro ainda está na fila, ninguém vai gravá-lo: é retirado e recusado. Se não está, o
+        // escritor já o pegou e vai gravá-lo antes de sair.
+        if (!fila.offer(pendente) || (encerrado && fila.remove(pendente))) {
+            pendentes.remove(cliente.getId());
+            recusados.increment();
+            throw new FilaCheiaException(FILA_CHEIA);
+        }
+        return cliente.getId();
+    }
+
+    /**
+     * @return a situação do cadastro, ou vazio se o id não é de um cadastro pendente nesta instância,
+     * rejeitado recentemente nem de um cliente gravado
+     */
+    public Optional<CadastroClienteDTO> situacao(long id) {
+        if (pendentes.contains(id)) {
+            return Optional.of(new CadastroClienteDTO(id, CadastroClienteDTO.Situacao.PENDENTE, null));
+        }
+        lockRejeitados.lock();
+        try {
+            String motivo = rejeitados.get(id);
+            if (motivo != null) {
+                return Optional.of(new CadastroClienteDTO(id, CadastroClienteDTO.Situacao.REJEITADO, motivo));
+            }
+        } finally {
+            lockRejeitados.unlock();
+        }
+        try {
+            buscarClienteIdUseCase.execute(id);
+            return Optional.of(new CadastroClienteDTO(id, CadastroClienteDTO.Situacao.CONCLUIDO, null));
+        } catch (EntityNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(fila.size(), capacidadeFila, recusados.sum(), gravados.sum(), rejeicoes.sum(),
+                commits.sum());
+    }
+
+    private void gravarContinuamente() {
+        List<Pendente> grupo = new ArrayList<>(linhasPorCommit);
+        while (true) {
+            try {
+                Pendente primeiro = fila.poll(ESPERA_OCIOSA_NANOS, TimeUnit.NANOSECONDS);
+                if (primeiro == null) {
+                    // Um cadastro oferecido entre a espera vazia e a leitura de encerrado ainda é gravado.
+                    if (encerrado && fila.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                grupo.add(primeiro);
+                completarGrupo(grupo);
+                gravar(grupo);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Falha inesperada ao gravar {} cadastros de clientes.", grupo.size(), e);
+                grupo.forEach(pendente -> rejeitar(pendente, NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            } finally {
+                grupo.clear();
+            }
+        }
+    }
+
+    /**
+     * Junta ao grupo os próximos da fila até {@code linhasPorCommit}, esperando por eles no máximo
+     * {@code intervaloCommit} a partir do primeiro. No encerramento não espera.
+     */
+    private void completarGrupo(List<Pendente> grupo) throws InterruptedException {
+        long prazo = System.nanoTime() + intervaloCommitNanos;
+        fila.drainTo(grupo, linhasPorCommit - grupo.size());
+        while (grupo.size() < linhasPorCommit && !encerrado) {
+            long restante = prazo - System.nanoTime();
+            if (restante <= 0) {
+                return;
+            }
+            // Espera em partes para notar o encerramento mesmo com um intervalo longo.
+            Pendente proximo = fila.poll(Math.min(restante, ESPERA_OCIOSA_NANOS), TimeUnit.NANOSECONDS);
+            if (proximo != null) {
+                grupo.add(proximo);
+                fila.drainTo(grupo, linhasPorCommit - grupo.size());
+            }
+        }
+    }
+
+    private void gravar(List<Pendente> grupo) {
+        List<ClienteEntity> clientes = grupo.stream().map(Pendente::cliente).toList();
+        Set<Long> inseridos;
+        try {
+            inseridos = transactionTemplate.execute(status -> criarClientesAgrupadosUseCase.execute(clientes));
+        } catch (DataAccessException e) {
+            // Algo além de CPF duplicado derrubou o grupo inteiro: grava um a um para isolar quais
+            // cadastros falham, como na carga em lote.
+            log.warn("Falha ao gravar um grupo de {} cadastros de clientes; gravando individualmente.", grupo.size(), e);
+            grupo.forEach(this::gravarIndividualmente);
+            return;
+        }
+        commits.increment();
+        grupo.forEach(pendente -> concluir(pendente, inseridos.contains(pendente.cliente().getId())));
+    }
+
+    private void gravarIndividualmente(Pendente pendente) {
+        try {
+            Set<Long> inserido = transactionTemplate.execute(
+                    status -> criarClientesAgrupadosUseCase.execute(List.of(pendente.cliente())));
+            commits.increment();
+            concluir(pendente, inserido.contains(pendente.cliente().getId()));
+        } catch (DataAccessException e) {
+            rejeitar(pendente, NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        }
+    }
+
+    private void concluir(Pendente pendente, boolean inserido) {
+        if (inserido) {
+            gravados.increment();
+            pendentes.remove(pendente.cliente().getId());
+        } else {
+            rejeitar(pendente, CPF_CADASTRADO);
+        }
+    }
+
+    private void rejeitar(Pendente pendente, String motivo) {
+        rejeicoes.increment();
+        lockRejeitados.lock();
+        try {
+            rejeitados.put(pendente.cliente().getId(), motivo);
+        } finally {
+            lockRejeitados.unlock();
+        }
+        // Só depois de registrar a rejeição, para a consulta nunca achar o cadastro em lugar nenhum.
+        pendentes.remove(pendente.cliente().getId());
+    }
+
+    /**
+     * Para de aceitar cadastros e espera o escritor gravar o que está na fila.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        encerrado = true;
+        if (escritor != null) {
+            escritor.join(ESPERA_ENCERRAMENTO.toMillis());
+            if (escritor.isAlive()) {
+                log.warn("{} cadastros de clientes ficaram sem gravar no encerramento.", fila.size());
+            }
+        }
+    }
+
+    private record Pendente(ClienteEntity cliente) {
+    }
+
+    public record Estatisticas(int tamanhoFila, int capacidadeFila, long recusados, long gravados, long rejeitados,
+            long commits) {
+    }
+}
@@ -0,0 +1,146 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.services;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.FalhaLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.RelatorioLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClientesEmLoteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Carga de clientes em lote: lê e valida o corpo em streaming, com as mesmas regras do
+ * {@link ClienteInsertDTO}, e grava os registros válidos em blocos, cada bloco na sua transação.
+ * Falhas de uma linha entram no relatório sem interromper a carga.
+ */
+@Service
+public class ClienteLoteService {
+
+    private static final String CPF_CADASTRADO = "CPF já cadastrado.";
+
+    private final CriarClientesEmLoteUseCase criarClientesEmLoteUseCase;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader leitorJson;
+    private final int registrosPorTransacao;
+    private final int maximoFalhasRelatadas;
+
+    public ClienteLoteService(CriarClientesEmLoteUseCase criarClientesEmLoteUseCase, Validator validator,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+            @Value("${techchallenge.lote.registros-por-transacao}") int registrosPorTransacao,
+            @Value("${techchallenge.lote.maximo-falhas-relatadas}") int maximoFalhasRelatadas) {
+        this.criarClientesEmLoteUseCase = criarClientesEmLoteUseCase;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leitorJson = objectMapper.readerFor(ClienteInsertDTO.class);
+        this.registrosPorTransacao = registrosPorTransacao;
+        this.maximoFalhasRelatadas = maximoFalhasRelatadas;
+    }
+
+    public RelatorioLoteDTO importar(Reader corpo, LeitorLoteClientes.Formato formato) {
+        Relatorio relatorio = new Relatorio();
+        List<LeitorLoteClientes.Linha> bloco = new ArrayList<>(registrosPorTransacao);
+
+        LeitorLoteClientes.ler(corpo, formato, leitorJson, linha -> {
+            relatorio.linhasProcessadas++;
+            if (linha.erro() != null) {
+                relatorio.falha(linha.numero(), null, List.of(linha.erro()));
+                return;
+            }
+            Set<ConstraintViolation<ClienteInsertDTO>> violacoes = validator.validate(linha.cliente());
+            if (!violacoes.isEmpty()) {
+                List<String> erros = violacoes.stream().map(ConstraintViolation::getMessage).sorted().toList();
+                relatorio.falha(linha.numero(), linha.cliente().getCpf(), erros);
+                return;
+            }
+            bloco.add(linha);
+            if (bloco.size() == registrosPorTransacao) {
+                gravar(bloco, relatorio);
+                bloco.clear();
+            }
+        });
+        if (!bloco.isEmpty()) {
+            gravar(bloco, relatorio);
+        }
+        return relatorio.toDTO();
+    }
+
+    private void gravar(List<LeitorLoteClientes.Linha> bloco, Relatorio relatorio) {
+        List<ClienteEntity> clientes = bloco.stream()
+                .map(linha -> new ClienteEntity(new Cliente(linha.cliente())))
+                .toList();
+        boolean[] inseridos;
+        try {
+            inseridos = transactionTemplate.execute(status -> criarClientesEmLoteUseCase.execute(clientes));
+        } catch (DataAccessException e) {
+            // Algo além de CPF duplicado derrubou o bloco inteiro: grava linha a linha para
+            // isolar quais registros falham.
+            gravarIndividualmente(bloco, clientes, relatorio);
+            return;
+        }
+        for (int i = 0; i < inseridos.length; i++) {
+            registrarResultado(bloco.get(i), inseridos[i], relatorio);
+        }
+    }
+
+    private void gravarIndividualmente(List<LeitorLoteClientes.Linha> bloco, List<ClienteEntity> clientes,
+            Relatorio relatorio) {
+        for (int i = 0; i < bloco.size(); i++) {
+            ClienteEntity cliente = clientes.get(i);
+            try {
+                boolean[] inserido = transactionTemplate.execute(
+                        status -> criarClientesEmLoteUseCase.execute(List.of(cliente)));
+                registrarResultado(bloco.get(i), inserido[0], relatorio);
+            } catch (DataAccessException e) {
+                relatorio.falha(bloco.get(i).numero(), cliente.getCpf(),
+                        List.of(NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            }
+        }
+    }
+
+    private static void registrarResultado(LeitorLoteClientes.Linha linha, boolean inserido, Relatorio relatorio) {
+        if (inserido) {
+            relatorio.inseridos++;
+        } else {
+            relatorio.falha(linha.numero(), linha.cliente().getCpf(), List.of(CPF_CADASTRADO));
+        }
+    }
+
+    private final class Relatorio {
+
+        private long linhasProcessadas;
+        private long inseridos;
+        private long falhas;
+        private final List<FalhaLoteDTO> detalhes = new ArrayList<>();
+
+        void falha(long linha, String cpf, List<String> erros) {
+            falhas++;
+            if (detalhes.size() < maximoFalhasRelatadas) {
+                detalhes.add(new FalhaLoteDTO(linha, cpf, erros));
+            }
+        }
+
+        RelatorioLoteDTO toDTO() {
+            // Falhas de validação são registradas na leitura e as de gravação só no fim do bloco.
+            detalhes.sort(Comparator.comparingLong(FalhaLoteDTO::getLinha));
+            return new RelatorioLoteDTO(linhasProcessadas, inseridos, falhas, detalhes, falhas > detalhes.size());
+        }
+    }
+}
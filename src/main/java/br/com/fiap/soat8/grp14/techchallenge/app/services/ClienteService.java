@@ -1,16 +1,21 @@
 package br.com.fiap.soat8.grp14.techchallenge.app.services;
 
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.PaginaDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.BuscaClientes;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Pagina;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Paginacao;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.*;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @AllArgsConstructor
@@ -21,37 +26,61 @@ public class ClienteService {
     private final BuscarClienteIdUseCase buscarClienteIdUseCase;
     private final ExcluirClienteUseCase excluirClienteUseCase;
     private final AtualizarClienteUseCase atualizarClienteUseCase;
-
-    private final ModelMapper mapper;
+    private final ExportarClientesUseCase exportarClientesUseCase;
+    private final BuscarClientesUseCase buscarClientesUseCase;
 
     @Transactional
     public CriarClienteUseCase criarCliente(ClienteDTO clienteDTO) {
         return criarClienteUseCase;
     }
 
-    public List<ClienteDTO> listarTodos(){
-        return this.listarClienteUseCase.execute(true).stream().map(cliente -> mapper.map(cliente, ClienteDTO.class)).toList();
+    @Transactional(readOnly = true)
+    public PaginaDTO<ClienteDTO> listarTodos(Long apos, Integer limite){
+        Pagina<Cliente> pagina = this.listarClienteUseCase.execute(new Paginacao(apos, limite));
+        List<ClienteDTO> clientes = pagina.itens().stream().map(Cliente::toClienteDTO).toList();
+        return new PaginaDTO<>(clientes, pagina.proximoCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public PaginaDTO<ClienteDTO> buscarClientes(String nome, String email, Long apos, Integer limite){
+        Pagina<Cliente> pagina = this.buscarClientesUseCase.execute(
+                new BuscaClientes(nome, email, new Paginacao(apos, limite)));
+        List<ClienteDTO> clientes = pagina.itens().stream().map(Cliente::toClienteDTO).toList();
+        return new PaginaDTO<>(clientes, pagina.proximoCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarClientes(Consumer<ClienteDTO> consumidor){
+        return this.exportarClientesUseCase.execute(cliente -> consumidor.accept(cliente.toClienteDTO()));
     }
 
     public ClienteDTO buscarCliente(String cpf){
-        return mapper.map(this.buscarClienteCpfUseCase.execute(cpf), ClienteDTO.class);
+        return this.buscarClienteCpfUseCase.execute(cpf).toClienteDTO();
     }
 
+    @Transactional(readOnly = true)
     public ClienteDTO buscarClienteId(Long id){
-        return mapper.map(this.buscarClienteIdUseCase.execute(id), ClienteDTO.class);
+        return this.buscarClienteIdUseCase.execute(id).toClienteDTO();
     }
 
     @Transactional
     public ClienteDTO salvarCliente(@Valid ClienteInsertDTO clienteInsertDTO){
-        return mapper.map(this.criarClienteUseCase.execute(mapper.map(clienteInsertDTO, ClienteEntity.class)), ClienteDTO.class) ;
+        return this.criarClienteUseCase.execute(new ClienteEntity(new Cliente(clienteInsertDTO))).toClienteDTO();
     }
 
+    @Transactional
     public void excluirCliente(Long id){
         this.excluirClienteUseCase.execute(id);
     }
 
+    /**
+     * @param versaoEsperada versão lida pelo cliente (If-Match); {@code null} atualiza sem conferir
+     */
     @Transactional
-    public ClienteDTO atualizarCliente(Long id, ClienteDTO clienteDTO){
-        return mapper.map(this.atualizarClienteUseCase.execute(mapper.map(clienteDTO, ClienteEntity.class)), ClienteDTO.class);
+    public ClienteDTO atualizarCliente(Long id, ClienteDTO clienteDTO, Long versaoEsperada){
+        Cliente cliente = new Cliente(clienteDTO);
+        cliente.setId(id);
+        cliente.setVersao(versaoEsperada);
+        return this.atualizarClienteUseCase.execute(new ClienteEntity(cliente)).toClienteDTO();
     }
 }
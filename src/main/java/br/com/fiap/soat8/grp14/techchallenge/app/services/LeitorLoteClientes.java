@@ -0,0 +1,165 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+
+/**
+ * Lê o corpo de uma carga de clientes linha a linha, sem materializá-lo, entregando cada
+ * registro ao consumidor. Linhas que não podem ser interpretadas são entregues com o erro
+ * preenchido, para que entrem no relatório sem interromper a carga.
+ * <p>
+ * O CSV deve ter cabeçalho com as colunas {@code email}, {@code nome} e {@code cpf}, em qualquer
+ * ordem; campos entre aspas duplas podem conter vírgulas, mas não quebras de linha.
+ */
+public final class LeitorLoteClientes {
+
+    public enum Formato {
+        NDJSON,
+        CSV
+    }
+
+    public record Linha(long numero, ClienteInsertDTO cliente, String erro) {
+    }
+
+    private static final String CABECALHO_INVALIDO = "O cabeçalho CSV deve conter as colunas email, nome e cpf.";
+
+    private LeitorLoteClientes() {
+    }
+
+    public static void ler(Reader corpo, Formato formato, ObjectReader leitorJson, Consumer<Linha> consumidor) {
+        BufferedReader leitor = corpo instanceof BufferedReader buffered ? buffered : new BufferedReader(corpo);
+        try {
+            if (formato == Formato.CSV) {
+                lerCsv(leitor, consumidor);
+            } else {
+                lerNdjson(leitor, leitorJson, consumidor);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void lerNdjson(BufferedReader leitor, ObjectReader leitorJson, Consumer<Linha> consumidor)
+            throws IOException {
+        long numero = 0;
+        String texto;
+        while ((texto = leitor.readLine()) != null) {
+            numero++;
+            if (texto.isBlank()) {
+                continue;
+            }
+            try (JsonParser parser = leitorJson.createParser(texto)) {
+                // Um registro "null" ou um valor que não é objeto não chega ao validador.
+                JsonToken inicio = parser.nextToken();
+                if (inicio == JsonToken.VALUE_NULL) {
+                    consumidor.accept(new Linha(numero, null, "JSON inválido: registro nulo"));
+                } else if (inicio != JsonToken.START_OBJECT) {
+                    consumidor.accept(new Linha(numero, null, "JSON inválido: o registro deve ser um objeto"));
+                } else {
+                    consumidor.accept(new Linha(numero, leitorJson.readValue(parser), null));
+                }
+            } catch (JsonProcessingException e) {
+                consumidor.accept(new Linha(numero, null, "JSON inválido: " + e.getOriginalMessage()));
+            }
+        }
+    }
+
+    private static void lerCsv(BufferedReader leitor, Consumer<Linha> consumidor) throws IOException {
+        long numero = 0;
+        String texto;
+        int colunaEmail = -1;
+        int colunaNome = -1;
+        int colunaCpf = -1;
+        int colunas = 0;
+        while ((texto = leitor.readLine()) != null) {
+            numero++;
+            if (texto.isBlank()) {
+                continue;
+            }
+            List<String> campos = separarCsv(colunas == 0 ? removerBom(texto) : texto);
+            if (colunas == 0) {
+                if (campos == null) {
+                    throw new DataIntegrityException(CABECALHO_INVALIDO);
+                }
+                for (int i = 0; i < campos.size(); i++) {
+                    switch (campos.get(i).toLowerCase(Locale.ROOT)) {
+                        case "email" -> colunaEmail = i;
+                        case "nome" -> colunaNome = i;
+                        case "cpf" -> colunaCpf = i;
+                        default -> {
+                            // Colunas extras são ignoradas.
+                        }
+                    }
+                }
+                if (colunaEmail < 0 || colunaNome < 0 || colunaCpf < 0) {
+                    throw new DataIntegrityException(CABECALHO_INVALIDO);
+                }
+                colunas = campos.size();
+                continue;
+            }
+            if (campos == null) {
+                consumidor.accept(new Linha(numero, null, "Aspas não fechadas na linha."));
+            } else if (campos.size() != colunas) {
+                consumidor.accept(new Linha(numero, null,
+                        "A linha tem " + campos.size() + " colunas e o cabeçalho tem " + colunas + "."));
+            } else {
+                ClienteInsertDTO cliente = new ClienteInsertDTO(campos.get(colunaEmail), campos.get(colunaNome),
+                        campos.get(colunaCpf));
+                consumidor.accept(new Linha(numero, cliente, null));
+            }
+        }
+    }
+
+    /**
+     * Separa uma linha CSV (RFC 4180) em campos, já sem aspas e espaços nas pontas.
+     * Retorna {@code null} se houver aspas sem fechamento.
+     */
+    static List<String> separarCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else {
+                    entreAspas = false;
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString().strip());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            return null;
+        }
+        campos.add(campo.toString().strip());
+        return campos;
+    }
+
+    private static String removerBom(String texto) {
+        return texto.charAt(0) == '\uFEFF' ? texto.substring(1) : texto;
+    }
+}
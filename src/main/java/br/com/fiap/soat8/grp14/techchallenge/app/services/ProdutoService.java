@@ -1,18 +1,41 @@
 package br.com.fiap.soat8.grp14.techchallenge.app.services;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.AlteracoesCatalogoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.CatalogoSerializadoDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.AlteracoesCatalogo;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.BuscaProdutos;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.AtualizarProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarAlteracoesCatalogoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoCategoriaUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutosPorTextoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarVersaoCatalogoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CompactarHistoricoCatalogoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CriarProdutoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutosEmLoteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExportarProdutosUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ListarProdutosUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
 import lombok.AllArgsConstructor;
@@ -27,30 +50,156 @@ public class ProdutoService {
     private final BuscarProdutoIdUseCase buscarProdutoIdUseCase;
     private final ExcluirProdutoUseCase excluirProdutoUseCase;
     private final AtualizarProdutoUseCase atualizarProdutoUseCase;
+    private final ExportarProdutosUseCase exportarProdutosUseCase;
+    private final ExcluirProdutosEmLoteUseCase excluirProdutosEmLoteUseCase;
+    private final BuscarVersaoCatalogoUseCase buscarVersaoCatalogoUseCase;
+    private final ObjectMapper objectMapper;
+    private final BuscarProdutosPorTextoUseCase buscarProdutosPorTextoUseCase;
+    private final BuscarAlteracoesCatalogoUseCase buscarAlteracoesCatalogoUseCase;
+    private final CompactarHistoricoCatalogoUseCase compactarHistoricoCatalogoUseCase;
+
+    // Inicializados aqui, ficam fora do construtor gerado.
+    private final ReentrantLock serializacao = new ReentrantLock();
+    private final AtomicReference<CatalogoSerializado> serializado = new AtomicReference<>();
 
-    private final ModelMapper mapper;
+    /**
+     * Versão do catálogo servido por {@link #buscarProdutos()} e {@link #buscarPorCategoria}; muda a
+     * cada inclusão, alteração ou exclusão de produto.
+     */
+    public String versaoCatalogo() {
+        return buscarVersaoCatalogoUseCase.execute(true);
+    }
 
     public List<ProdutoDTO> buscarProdutos() {
-        return listarProdutoUseCase.execute(true).stream().map(produto -> mapper.map(produto, ProdutoDTO.class)).toList();
+        return listarProdutoUseCase.execute(true).stream().map(Produto::toProdutoDTO).toList();
+    }
+
+    /**
+     * O mesmo conteúdo de {@link #buscarProdutos()}, já em JSON e gzip. Os bytes só são gerados de
+     * novo quando a versão do catálogo muda.
+     */
+    public CatalogoSerializadoDTO buscarProdutosSerializados() {
+        return catalogoSerializado().todos();
+    }
+
+    /**
+     * O mesmo conteúdo de {@link #buscarPorCategoria}, já em JSON e gzip.
+     */
+    public CatalogoSerializadoDTO buscarPorCategoriaSerializados(CategoriaProduto categoriaProduto) {
+        return catalogoSerializado().porCategoria().get(categoriaProduto);
     }
 
     public ProdutoDTO buscarPorId(Long id) {
-        return mapper.map(buscarProdutoIdUseCase.execute(id), ProdutoDTO.class);
+        return buscarProdutoIdUseCase.execute(id).toProdutoDTO();
     }
 
     public List<ProdutoDTO> buscarPorCategoria(CategoriaProduto categoriaProduto) {
-        return buscarProdutoCategoriaUseCase.execute(categoriaProduto).stream().map(produto -> mapper.map(produto, ProdutoDTO.class)).toList();
+        return buscarProdutoCategoriaUseCase.execute(categoriaProduto).stream().map(Produto::toProdutoDTO).toList();
+    }
+
+    /**
+     * Busca textual no banco, não no catálogo em memória; somente leitura, pode ir à réplica.
+     */
+    @Transactional(readOnly = true)
+    public List<ProdutoDTO> buscarPorTexto(String termos, CategoriaProduto categoria, Integer limite) {
+        return buscarProdutosPorTextoUseCase.execute(new BuscaProdutos(termos, categoria, limite)).stream()
+                .map(Produto::toProdutoDTO)
+                .toList();
+    }
+
+    /**
+     * Produtos incluídos, alterados ou excluídos desde a versão {@code desde} do histórico do
+     * catálogo, ou o catálogo inteiro se {@code desde} for nulo ou já tiver saído do histórico.
+     * Lido do banco, não do catálogo em memória, que não guarda histórico.
+     */
+    @Transactional(readOnly = true)
+    public AlteracoesCatalogoDTO buscarAlteracoes(Long desde) {
+        AlteracoesCatalogo alteracoes = buscarAlteracoesCatalogoUseCase.execute(desde);
+        return new AlteracoesCatalogoDTO(alteracoes.versao(), alteracoes.completo(),
+                alteracoes.produtos().stream().map(Produto::toProdutoDTO).toList(), alteracoes.excluidos());
+    }
+
+    @Transactional
+    public int compactarHistoricoCatalogo(Duration retencao) {
+        return compactarHistoricoCatalogoUseCase.execute(retencao);
     }
 
+    @Transactional(readOnly = true)
+    public long exportarProdutos(Consumer<ProdutoDTO> consumidor) {
+        return exportarProdutosUseCase.execute(produto -> consumidor.accept(produto.toProdutoDTO()));
+    }
+
+    @Transactional
     public ProdutoDTO salvarProduto(ProdutoInsertDTO produtoInsertDTO) {
-        return mapper.map(criarProdutoUseCase.execute(mapper.map(produtoInsertDTO, ProdutoEntity.class)), ProdutoDTO.class);
+        return criarProdutoUseCase.execute(new ProdutoEntity(new Produto(produtoInsertDTO))).toProdutoDTO();
     }
 
-    public ProdutoDTO atualizarProduto(Long id, ProdutoDTO produtoDTO) {
-        return mapper.map(atualizarProdutoUseCase.execute(mapper.map(produtoDTO, ProdutoEntity.class)), ProdutoDTO.class);
+    /**
+     * @param versaoEsperada versão lida pelo cliente (If-Match); {@code null} atualiza sem conferir
+     */
+    @Transactional
+    public ProdutoDTO atualizarProduto(Long id, ProdutoDTO produtoDTO, Long versaoEsperada) {
+        Produto produto = new Produto(produtoDTO);
+        produto.setId(id);
+        produto.setVersao(versaoEsperada);
+        return atualizarProdutoUseCase.execute(new ProdutoEntity(produto)).toProdutoDTO();
     }
 
+    @Transactional
     public void deletarProduto(Long id) {
         excluirProdutoUseCase.execute(id);
     }
+
+    @Transactional
+    public int deletarProdutos(List<Long> ids) {
+        return excluirProdutosEmLoteUseCase.execute(ids);
+    }
+
+    private CatalogoSerializado catalogoSerializado() {
+        CatalogoSerializado atual = serializado.get();
+        String versao = versaoCatalogo();
+        if (atual != null && atual.versao().equals(versao)) {
+            return atual;
+        }
+        // Uma única thread serializa a versão nova; as demais esperam e reaproveitam o resultado.
+        serializacao.lock();
+        try {
+            atual = serializado.get();
+            if (atual == null || !atual.versao().equals(versaoCatalogo())) {
+                atual = serializar();
+                serializado.set(atual);
+            }
+            return atual;
+        } finally {
+            serializacao.unlock();
+        }
+    }
+
+    private CatalogoSerializado serializar() {
+        // A versão é lida antes das listas: se o catálogo mudar no meio, a próxima chamada
+        // encontra uma versão diferente e serializa de novo.
+        String versao = versaoCatalogo();
+        Map<CategoriaProduto, CatalogoSerializadoDTO> porCategoria = new EnumMap<>(CategoriaProduto.class);
+        for (CategoriaProduto categoria : CategoriaProduto.values()) {
+            porCategoria.put(categoria, serializar(versao, buscarPorCategoria(categoria)));
+        }
+        return new CatalogoSerializado(versao, serializar(versao, buscarProdutos()), porCategoria);
+    }
+
+    private CatalogoSerializadoDTO serializar(String versao, List<ProdutoDTO> produtos) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(produtos);
+            ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 32);
+            try (GZIPOutputStream saida = new GZIPOutputStream(gzip)) {
+                saida.write(json);
+            }
+            return new CatalogoSerializadoDTO(versao, json, gzip.toByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record CatalogoSerializado(String versao, CatalogoSerializadoDTO todos,
+            Map<CategoriaProduto, CatalogoSerializadoDTO> porCategoria) {
+    }
 }
@@ -0,0 +1,11 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.entities;
+
+import java.util.List;
+
+/**
+ * Alterações do catálogo até a versão {@code versao}. Com {@code completo}, {@code produtos} é o
+ * catálogo inteiro e substitui o que o cliente tinha; senão, são os produtos incluídos ou alterados
+ * desde a versão pedida, e {@code excluidos} os ids dos produtos excluídos no mesmo intervalo.
+ */
+public record AlteracoesCatalogo(long versao, boolean completo, List<Produto> produtos, List<Long> excluidos) {
+}
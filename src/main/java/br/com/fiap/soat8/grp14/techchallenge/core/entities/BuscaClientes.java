@@ -0,0 +1,15 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.entities;
+
+/**
+ * Parâmetros da busca de clientes por trecho do nome e/ou do e-mail, paginada por cursor como a
+ * listagem. Um filtro nulo ou em branco é ignorado, mas ao menos um precisa ser informado.
+ */
+public record BuscaClientes(String nome, String email, Paginacao paginacao) {
+
+    /**
+     * Menor trecho aceito: abaixo de três caracteres o índice de trigramas não é usado e a busca
+     * percorreria a tabela inteira.
+     */
+    public static final int TAMANHO_MINIMO = 3;
+    public static final int TAMANHO_MAXIMO = 255;
+}
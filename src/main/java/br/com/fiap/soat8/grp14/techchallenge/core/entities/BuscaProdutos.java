@@ -0,0 +1,22 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.entities;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+
+/**
+ * Parâmetros da busca textual de produtos: {@code termos} na sintaxe de busca web do PostgreSQL
+ * (palavras, {@code "frase exata"}, {@code -excluir}, {@code or}), {@code categoria} opcional e
+ * {@code limite} de resultados.
+ */
+public record BuscaProdutos(String termos, CategoriaProduto categoria, Integer limite) {
+
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+    public static final int TAMANHO_MAXIMO_TERMOS = 200;
+
+    public int limiteNormalizado() {
+        if (limite == null || limite <= 0) {
+            return LIMITE_PADRAO;
+        }
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+}
@@ -1,6 +1,7 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.entities;
 
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -16,6 +17,7 @@ public class Cliente {
     private String email;
     private String nome;
     private String cpf;
+    private Long versao;
 
     public Cliente(ClienteDTO clienteDTO) {
 		if(clienteDTO != null) {
@@ -23,11 +25,20 @@ public class Cliente {
 			this.email = clienteDTO.getEmail();
 			this.nome  = clienteDTO.getNome();
 			this.cpf   = clienteDTO.getCpf();
+			this.versao = clienteDTO.getVersao();
+		}
+    }
+
+    public Cliente(ClienteInsertDTO clienteInsertDTO) {
+		if(clienteInsertDTO != null) {
+			this.email = clienteInsertDTO.getEmail();
+			this.nome  = clienteInsertDTO.getNome();
+			this.cpf   = clienteInsertDTO.getCpf();
 		}
     }
 
     public ClienteDTO toClienteDTO() {
-        return new ClienteDTO(this.id, this.email, this.nome, this.cpf);
+        return new ClienteDTO(this.id, this.email, this.nome, this.cpf, this.versao);
     }
 
 }
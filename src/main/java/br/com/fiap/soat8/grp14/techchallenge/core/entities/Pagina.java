@@ -0,0 +1,10 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.entities;
+
+import java.util.List;
+
+/**
+ * Página de resultados de uma consulta por cursor. {@code proximoCursor} é nulo
+ * quando não há mais registros.
+ */
+public record Pagina<T>(List<T> itens, Long proximoCursor) {
+}
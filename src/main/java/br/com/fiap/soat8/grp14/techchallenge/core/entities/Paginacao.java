@@ -0,0 +1,22 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.entities;
+
+/**
+ * Parâmetros de paginação por cursor (keyset): {@code apos} é o último id já
+ * recebido pelo cliente e {@code limite} o tamanho desejado da página.
+ */
+public record Paginacao(Long apos, Integer limite) {
+
+    public static final int LIMITE_PADRAO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    public long aposNormalizado() {
+        return apos == null || apos < 0 ? 0L : apos;
+    }
+
+    public int limiteNormalizado() {
+        if (limite == null || limite <= 0) {
+            return LIMITE_PADRAO;
+        }
+        return Math.min(limite, LIMITE_MAXIMO);
+    }
+}
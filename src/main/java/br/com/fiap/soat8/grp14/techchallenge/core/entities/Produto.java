@@ -1,6 +1,7 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.entities;
 
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoInsertDTO;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -18,17 +19,30 @@ public class Produto {
     private String descricao;
     private Double valor;
     private CategoriaProduto categoriaProduto;
+    private Long versao;
 
     public Produto(ProdutoDTO produtoDTO) {
-        this.id = produtoDTO.getId();
-        this.nome = produtoDTO.getNome();
-        this.descricao = produtoDTO.getDescricao();
-        this.valor = produtoDTO.getValor();
-        this.categoriaProduto = produtoDTO.getCategoriaProduto();
+        if (produtoDTO != null) {
+            this.id = produtoDTO.getId();
+            this.nome = produtoDTO.getNome();
+            this.descricao = produtoDTO.getDescricao();
+            this.valor = produtoDTO.getValor();
+            this.categoriaProduto = produtoDTO.getCategoriaProduto();
+            this.versao = produtoDTO.getVersao();
+        }
+    }
+
+    public Produto(ProdutoInsertDTO produtoInsertDTO) {
+        if (produtoInsertDTO != null) {
+            this.nome = produtoInsertDTO.getNome();
+            this.descricao = produtoInsertDTO.getDescricao();
+            this.valor = produtoInsertDTO.getValor();
+            this.categoriaProduto = produtoInsertDTO.getCategoriaProduto();
+        }
     }
 
     public ProdutoDTO toProdutoDTO() {
-        return new ProdutoDTO(this.id, this.nome, this.descricao, this.valor, this.categoriaProduto);
+        return new ProdutoDTO(this.id, this.nome, this.descricao, this.valor, this.categoriaProduto, this.versao);
     }
 
 }
@@ -1,27 +1,65 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
 
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.VersaoDesatualizadaException;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteJdbcRepository.ClienteAtualizado;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
 
+/**
+ * Atualiza o cliente num único UPDATE condicional. A versão da entidade recebida é a esperada
+ * (a do If-Match); nula, a atualização é incondicional.
+ */
 public class AtualizarClienteUseCase extends AbstractUseCase<ClienteEntity, Cliente> {
 
     private static final String CLIENTE_NAO_ENCONTRADO = "Cliente não encontrado";
+    private static final String VERSAO_DESATUALIZADA = "O cliente foi alterado por outra requisição; consulte-o novamente.";
+    private static final String CPF_CADASTRADO = "CPF já cadastrado.";
 
     private final ClienteRepository repository;
+    private final ClienteCpfCache cpfCache;
+    private final InvalidacaoCaches invalidacao;
 
-    public AtualizarClienteUseCase(ClienteRepository repository) {
+    public AtualizarClienteUseCase(ClienteRepository repository, ClienteCpfCache cpfCache,
+            InvalidacaoCaches invalidacao) {
         this.repository = repository;
+        this.cpfCache = cpfCache;
+        this.invalidacao = invalidacao;
     }
 
     @Override
     public Cliente execute(ClienteEntity clienteEntity) {
-        repository.findById(
-                clienteEntity.getId()).orElseThrow(() -> new EntityNotFoundException(CLIENTE_NAO_ENCONTRADO)
-        );
+        ClienteAtualizado atualizado;
+        try {
+            atualizado = repository.atualizar(clienteEntity, clienteEntity.getVersao())
+                    .orElseThrow(() -> falha(clienteEntity.getId()));
+        } catch (DuplicateKeyException e) {
+            throw new DataIntegrityException(CPF_CADASTRADO);
+        }
+        clienteEntity.setVersao(atualizado.versao());
+
+        Cliente clienteAtualizado = clienteEntity.toCliente();
+        // O CPF pode ter mudado: a entrada antiga sai do cache e a nova é gravada.
+        this.cpfCache.invalidar(atualizado.cpfAnterior());
+        this.cpfCache.registrar(clienteAtualizado);
+        invalidacao.notificarClientes(List.of(atualizado.cpfAnterior(), clienteAtualizado.getCpf()));
+        return clienteAtualizado;
+    }
 
-        return getModelMapper().map(this.repository.save(clienteEntity), Cliente.class);
+    // Só no caminho de erro: distingue id inexistente de versão desatualizada.
+    private RuntimeException falha(Long id) {
+        if (repository.existsById(id)) {
+            return new VersaoDesatualizadaException(VERSAO_DESATUALIZADA);
+        }
+        return new EntityNotFoundException(CLIENTE_NAO_ENCONTRADO);
     }
 }
@@ -1,8 +1,9 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
 
-import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
 
@@ -13,18 +14,21 @@ public class BuscarClienteCpfUseCase extends AbstractUseCase<String, Cliente> {
     private static final String CPF_NAO_ENCONTRADO = "CPF não encontrado.";
 
     private final ClienteRepository repository;
+    private final ClienteCpfCache cpfCache;
 
-    public BuscarClienteCpfUseCase(ClienteRepository repository) {
+    public BuscarClienteCpfUseCase(ClienteRepository repository, ClienteCpfCache cpfCache) {
         this.repository = repository;
+        this.cpfCache = cpfCache;
     }
 
     @Override
     public Cliente execute(String cpf) {
-        Optional<ClienteEntity> clienteEntity =  this.repository.findByCpf(cpf);
-        if (clienteEntity.isEmpty()) {
-            throw new DataIntegrityException(CPF_NAO_ENCONTRADO);
+        Optional<Cliente> cliente = this.cpfCache.buscar(cpf,
+                cpfConsulta -> this.repository.findByCpf(cpfConsulta).map(ClienteEntity::toCliente));
+        if (cliente.isEmpty()) {
+            throw new EntityNotFoundException(CPF_NAO_ENCONTRADO);
         }
 
-        return getModelMapper().map(clienteEntity.get(), Cliente.class);
+        return cliente.get();
     }
 }
@@ -1,6 +1,6 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
 
-import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
@@ -22,9 +22,9 @@ public class BuscarClienteIdUseCase extends AbstractUseCase<Long, Cliente> {
     public Cliente execute(Long id) {
         Optional<ClienteEntity> clienteEntity =  this.repository.findById(id);
         if (clienteEntity.isEmpty()) {
-            throw new DataIntegrityException(ID_NAO_ENCONTRADO);
+            throw new EntityNotFoundException(ID_NAO_ENCONTRADO);
         }
 
-        return getModelMapper().map(clienteEntity.get(), Cliente.class);
+        return clienteEntity.get().toCliente();
     }
 }
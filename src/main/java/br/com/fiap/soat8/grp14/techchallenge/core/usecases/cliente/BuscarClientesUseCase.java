@@ -0,0 +1,58 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
+
+import java.util.List;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.BuscaClientes;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Pagina;
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+
+public class BuscarClientesUseCase extends AbstractUseCase<BuscaClientes, Pagina<Cliente>> {
+
+    private static final String FILTRO_OBRIGATORIO = "Informe o nome ou o e-mail a buscar.";
+    private static final String TAMANHO_FILTRO = "Os filtros da busca devem ter entre "
+            + BuscaClientes.TAMANHO_MINIMO + " e " + BuscaClientes.TAMANHO_MAXIMO + " caracteres.";
+
+    private final ClienteRepository repository;
+
+    public BuscarClientesUseCase(ClienteRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Pagina<Cliente> execute(BuscaClientes busca) {
+        String nome = normalizar(busca.nome());
+        String email = normalizar(busca.email());
+        if (nome == null && email == null) {
+            throw new DataIntegrityException(FILTRO_OBRIGATORIO);
+        }
+        int limite = busca.paginacao().limiteNormalizado();
+
+        // Busca um registro a mais para saber se existe uma próxima página.
+        List<ClienteEntity> encontrados = repository.buscarPorNomeEEmail(nome, email,
+                busca.paginacao().aposNormalizado(), limite + 1);
+
+        boolean temProxima = encontrados.size() > limite;
+        List<Cliente> clientes = encontrados.stream()
+                .limit(limite)
+                .map(ClienteEntity::toCliente)
+                .toList();
+
+        Long proximoCursor = temProxima ? clientes.get(clientes.size() - 1).getId() : null;
+        return new Pagina<>(clientes, proximoCursor);
+    }
+
+    private static String normalizar(String filtro) {
+        if (filtro == null || filtro.isBlank()) {
+            return null;
+        }
+        String trecho = filtro.strip();
+        if (trecho.length() < BuscaClientes.TAMANHO_MINIMO || trecho.length() > BuscaClientes.TAMANHO_MAXIMO) {
+            throw new DataIntegrityException(TAMANHO_FILTRO);
+        }
+        return trecho;
+    }
+}
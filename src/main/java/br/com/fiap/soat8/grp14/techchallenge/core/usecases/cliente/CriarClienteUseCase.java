@@ -1,34 +1,44 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
 
+import java.util.List;
+
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
-import org.springframework.stereotype.Service;
-
-import java.util.Optional;
 
-@Service
 public class CriarClienteUseCase extends AbstractUseCase<ClienteEntity, Cliente> {
 
     private static final String CPF_CADASTRADO = "CPF já cadastrado.";
 
     private final ClienteRepository repository;
+    private final ClienteCpfCache cpfCache;
+    private final InvalidacaoCaches invalidacao;
+    private final ReservarIdClienteUseCase reservarId;
 
-
-    public CriarClienteUseCase(ClienteRepository repository) {
+    public CriarClienteUseCase(ClienteRepository repository, ClienteCpfCache cpfCache,
+            InvalidacaoCaches invalidacao, ReservarIdClienteUseCase reservarId) {
         this.repository = repository;
+        this.cpfCache = cpfCache;
+        this.invalidacao = invalidacao;
+        this.reservarId = reservarId;
     }
 
     @Override
     public Cliente execute(ClienteEntity clienteEntity) {
-        Optional<ClienteEntity> clienteExistente = repository.findByCpf(clienteEntity.getCpf());
-        if (clienteExistente.isPresent()) {
-            throw new DataIntegrityException(CPF_CADASTRADO);
-        }
-
-        ClienteEntity clienteSalvo = repository.save(clienteEntity);
-        return getModelMapper().map(clienteSalvo, Cliente.class);
+        clienteEntity.setId(reservarId.execute(null));
+        Long id = repository.inserirSeCpfLivre(clienteEntity)
+                .orElseThrow(() -> new DataIntegrityException(CPF_CADASTRADO));
+        clienteEntity.setId(id);
+        clienteEntity.setVersao(ClienteEntity.VERSAO_INICIAL);
+
+        Cliente clienteSalvo = clienteEntity.toCliente();
+        cpfCache.registrar(clienteSalvo);
+        // Outras instâncias podem ter o CPF no cache negativo.
+        invalidacao.notificarClientes(List.of(clienteSalvo.getCpf()));
+        return clienteSalvo;
     }
 }
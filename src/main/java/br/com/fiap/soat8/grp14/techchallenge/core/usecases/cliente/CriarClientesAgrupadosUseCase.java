@@ -0,0 +1,50 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+
+/**
+ * Insere, num único comando, um grupo de cadastros aceitos de forma assíncrona, cujos ids já foram
+ * reservados e informados a quem os pediu. Como na carga em lote, CPFs já cadastrados são apenas
+ * ignorados pelo banco. Deve ser executado dentro de uma transação, uma por grupo.
+ *
+ * @return os ids dos clientes inseridos; os demais tinham CPF já cadastrado
+ */
+public class CriarClientesAgrupadosUseCase extends AbstractUseCase<List<ClienteEntity>, Set<Long>> {
+
+    private final ClienteRepository repository;
+    private final ClienteCpfCache cpfCache;
+    private final InvalidacaoCaches invalidacao;
+
+    public CriarClientesAgrupadosUseCase(ClienteRepository repository, ClienteCpfCache cpfCache,
+            InvalidacaoCaches invalidacao) {
+        this.repository = repository;
+        this.cpfCache = cpfCache;
+        this.invalidacao = invalidacao;
+    }
+
+    @Override
+    public Set<Long> execute(List<ClienteEntity> clientes) {
+        Set<Long> inseridos = new HashSet<>(repository.inserirComIdsIgnorandoCpfDuplicado(clientes));
+
+        // Quem se cadastra no totem costuma ser consultado pelo CPF logo em seguida.
+        List<String> cpfsInseridos = new ArrayList<>();
+        for (ClienteEntity cliente : clientes) {
+            if (inseridos.contains(cliente.getId())) {
+                cliente.setVersao(ClienteEntity.VERSAO_INICIAL);
+                cpfCache.registrar(cliente.toCliente());
+                cpfsInseridos.add(cliente.getCpf());
+            }
+        }
+        invalidacao.notificarClientes(cpfsInseridos);
+        return inseridos;
+    }
+}
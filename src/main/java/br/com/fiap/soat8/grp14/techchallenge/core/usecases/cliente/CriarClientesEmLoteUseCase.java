@@ -0,0 +1,55 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+
+/**
+ * Insere um bloco de clientes em batches JDBC, sem a consulta prévia por CPF que o cadastro
+ * unitário faz: CPFs já cadastrados são apenas ignorados pelo banco. Deve ser executado dentro
+ * de uma transação, uma por bloco.
+ *
+ * @return para cada cliente do bloco, {@code true} se foi inserido e {@code false} se o CPF já existia
+ */
+public class CriarClientesEmLoteUseCase extends AbstractUseCase<List<ClienteEntity>, boolean[]> {
+
+    private final ClienteRepository repository;
+    private final ClienteCpfCache cpfCache;
+    private final InvalidacaoCaches invalidacao;
+    private final ReservarIdClienteUseCase reservarId;
+    private final int tamanhoBatch;
+
+    public CriarClientesEmLoteUseCase(ClienteRepository repository, ClienteCpfCache cpfCache,
+            InvalidacaoCaches invalidacao, ReservarIdClienteUseCase reservarId, int tamanhoBatch) {
+        this.repository = repository;
+        this.cpfCache = cpfCache;
+        this.invalidacao = invalidacao;
+        this.reservarId = reservarId;
+        this.tamanhoBatch = tamanhoBatch;
+    }
+
+    @Override
+    public boolean[] execute(List<ClienteEntity> clientes) {
+        // Um nextval a cada bloco de ids; o id de um CPF já cadastrado fica sem uso.
+        clientes.forEach(cliente -> cliente.setId(reservarId.execute(null)));
+        boolean[] inseridos = repository.inserirIgnorandoCpfDuplicado(clientes, tamanhoBatch);
+
+        // Descarta as buscas negativas desses CPFs; a carga não grava no cache para não despejar
+        // os clientes que estão de fato sendo consultados.
+        List<String> cpfsInseridos = new ArrayList<>();
+        for (int i = 0; i < inseridos.length; i++) {
+            if (inseridos[i]) {
+                cpfsInseridos.add(clientes.get(i).getCpf());
+            }
+        }
+        cpfCache.invalidar(cpfsInseridos);
+        // Um bloco grande não cabe num aviso; as outras instâncias esvaziam o cache de CPFs.
+        invalidacao.notificarClientes(cpfsInseridos);
+        return inseridos;
+    }
+}
@@ -1,26 +1,34 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
 
-import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import java.util.List;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
-import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
-import org.springframework.stereotype.Service;
 
-@Service
 public class ExcluirClienteUseCase extends AbstractUseCase<Long, Boolean> {
 
+    private static final String CLIENTE_NAO_ENCONTRADO = "Cliente não encontrado";
+
     private final ClienteRepository repository;
-    private final BuscarClienteIdUseCase buscarClienteIdUseCase;
+    private final ClienteCpfCache cpfCache;
+    private final InvalidacaoCaches invalidacao;
 
-    public ExcluirClienteUseCase(ClienteRepository repository, BuscarClienteIdUseCase buscarClienteIdUseCase) {
+    public ExcluirClienteUseCase(ClienteRepository repository, ClienteCpfCache cpfCache,
+            InvalidacaoCaches invalidacao) {
         this.repository = repository;
-        this.buscarClienteIdUseCase = buscarClienteIdUseCase;
+        this.cpfCache = cpfCache;
+        this.invalidacao = invalidacao;
     }
 
     @Override
     public Boolean execute(Long id) {
-        Cliente cliente = this.buscarClienteIdUseCase.execute(id);
-        repository.delete(getModelMapper().map(cliente, ClienteEntity.class));
+        String cpf = repository.excluirRetornandoCpf(id)
+                .orElseThrow(() -> new EntityNotFoundException(CLIENTE_NAO_ENCONTRADO));
+        this.cpfCache.invalidar(cpf);
+        invalidacao.notificarClientes(List.of(cpf));
         return true;
     }
 }
@@ -0,0 +1,43 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+import jakarta.persistence.EntityManager;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Percorre todos os clientes com cursor no servidor, entregando um a um ao consumidor.
+ * Cada entidade é desanexada do contexto de persistência logo após ser consumida, de
+ * forma que a memória usada não cresce com o tamanho da tabela. Deve ser executado
+ * dentro de uma transação somente leitura.
+ */
+public class ExportarClientesUseCase extends AbstractUseCase<Consumer<Cliente>, Long> {
+
+    private final ClienteRepository repository;
+    private final EntityManager entityManager;
+
+    public ExportarClientesUseCase(ClienteRepository repository, EntityManager entityManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Long execute(Consumer<Cliente> consumidor) {
+        long total = 0;
+        try (Stream<ClienteEntity> clientes = repository.streamAllByOrderByIdAsc()) {
+            Iterator<ClienteEntity> iterator = clientes.iterator();
+            while (iterator.hasNext()) {
+                ClienteEntity clienteEntity = iterator.next();
+                consumidor.accept(clienteEntity.toCliente());
+                entityManager.detach(clienteEntity);
+                total++;
+            }
+        }
+        return total;
+    }
+}
@@ -1,15 +1,16 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
 
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Pagina;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Paginacao;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
-import org.springframework.stereotype.Service;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 
-@Service
-public class ListarClienteUseCase extends AbstractUseCase<Boolean, List<Cliente>> {
+public class ListarClienteUseCase extends AbstractUseCase<Paginacao, Pagina<Cliente>> {
 
     private final ClienteRepository repository;
 
@@ -18,8 +19,20 @@ public class ListarClienteUseCase extends AbstractUseCase<Boolean, List<Cliente>
     }
 
     @Override
-    public List<Cliente> execute(Boolean dummy) {
-        List<ClienteEntity> clientesList = repository.findAll();
-        return clientesList.stream().map(cliente -> getModelMapper().map(cliente, Cliente.class)).toList();
+    public Pagina<Cliente> execute(Paginacao paginacao) {
+        int limite = paginacao.limiteNormalizado();
+
+        // Busca um registro a mais para saber se existe uma próxima página.
+        List<ClienteEntity> clientesList = repository.findByIdGreaterThanOrderByIdAsc(
+                paginacao.aposNormalizado(), Limit.of(limite + 1));
+
+        boolean temProxima = clientesList.size() > limite;
+        List<Cliente> clientes = clientesList.stream()
+                .limit(limite)
+                .map(ClienteEntity::toCliente)
+                .toList();
+
+        Long proximoCursor = temProxima ? clientes.get(clientes.size() - 1).getId() : null;
+        return new Pagina<>(clientes, proximoCursor);
     }
 }
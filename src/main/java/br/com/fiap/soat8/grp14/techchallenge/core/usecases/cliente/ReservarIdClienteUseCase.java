@@ -0,0 +1,46 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+
+/**
+ * Reserva o id de um cliente antes de gravá-lo pelos inserts JDBC: cadastro unitário, carga em
+ * lote e cadastros assíncronos. Os ids vêm de blocos de {@code seq_cliente}, reservados como faz o
+ * Hibernate, então só um a cada {@link #IDS_POR_BLOCO} vai ao banco e nenhum coincide com os
+ * distribuídos pelo Hibernate. Ids reservados e não usados ficam de fora da tabela, como em
+ * qualquer sequence.
+ */
+public class ReservarIdClienteUseCase extends AbstractUseCase<Void, Long> {
+
+    /**
+     * O {@code INCREMENT BY} de {@code seq_cliente}, ajustado na migration V1.0.1.
+     */
+    static final int IDS_POR_BLOCO = 50;
+
+    private final ClienteRepository repository;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long proximo = 1;
+    private long topo;
+
+    public ReservarIdClienteUseCase(ClienteRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Long execute(Void input) {
+        lock.lock();
+        try {
+            if (proximo > topo) {
+                topo = repository.reservarBlocoIds();
+                // O primeiro nextval de uma sequence nova devolve 1; não há ids antes dele.
+                proximo = Math.max(1, topo - IDS_POR_BLOCO + 1);
+            }
+            return proximo++;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,26 +1,56 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
 
+import java.util.List;
+
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.VersaoDesatualizadaException;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
 
+/**
+ * Atualiza o produto num único UPDATE condicional. A versão da entidade recebida é a esperada
+ * (a do If-Match); nula, a atualização é incondicional. A alteração vai para o histórico do
+ * catálogo; deve ser executado dentro de uma transação.
+ */
 public class AtualizarProdutoUseCase extends AbstractUseCase<ProdutoEntity, Produto> {
 
     private static final String ID_NAO_ENCONTRADO = "Produto não encontrado";
+    private static final String VERSAO_DESATUALIZADA = "O produto foi alterado por outra requisição; consulte-o novamente.";
 
     private final ProdutoRepository repository;
+    private final CatalogoProdutosCache catalogo;
+    private final InvalidacaoCaches invalidacao;
 
-    public AtualizarProdutoUseCase(ProdutoRepository repository) {
+    public AtualizarProdutoUseCase(ProdutoRepository repository, CatalogoProdutosCache catalogo,
+            InvalidacaoCaches invalidacao) {
         this.repository = repository;
+        this.catalogo = catalogo;
+        this.invalidacao = invalidacao;
     }
 
     @Override
     public Produto execute(ProdutoEntity produtoEntity) {
-        repository.findById(
-                produtoEntity.getId()).orElseThrow(() -> new EntityNotFoundException(ID_NAO_ENCONTRADO));
-        return getModelMapper().map(this.repository.save(produtoEntity), Produto.class);
+        Long novaVersao = repository.atualizar(produtoEntity, produtoEntity.getVersao())
+                .orElseThrow(() -> falha(produtoEntity.getId()));
+        produtoEntity.setVersao(novaVersao);
+        repository.registrarAlteracao(List.of(produtoEntity.getId()));
+        invalidacao.notificarProdutos(List.of(produtoEntity.getId()));
+
+        Produto produto = produtoEntity.toProduto();
+        catalogo.salvar(produto);
+        return produto;
+    }
+
+    // Só no caminho de erro: distingue id inexistente de versão desatualizada.
+    private RuntimeException falha(Long id) {
+        if (repository.existsById(id)) {
+            return new VersaoDesatualizadaException(VERSAO_DESATUALIZADA);
+        }
+        return new EntityNotFoundException(ID_NAO_ENCONTRADO);
     }
 
 }
@@ -0,0 +1,53 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.AlteracoesCatalogo;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoJdbcRepository.HistoricoCatalogo;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoJdbcRepository.ProdutoAlterado;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+
+/**
+ * Alterações do catálogo desde uma versão, lidas do banco. Sem versão, com uma versão anterior ao
+ * histórico retido ou posterior à atual (de outro banco, por exemplo), devolve o catálogo inteiro.
+ * A versão atual é lida antes dos produtos, então um produto alterado no meio pode vir duas vezes,
+ * nesta resposta e na próxima, mas nunca fica de fora.
+ */
+public class BuscarAlteracoesCatalogoUseCase extends AbstractUseCase<Long, AlteracoesCatalogo> {
+
+    private final ProdutoRepository repository;
+
+    public BuscarAlteracoesCatalogoUseCase(ProdutoRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public AlteracoesCatalogo execute(Long desde) {
+        HistoricoCatalogo historico = repository.historicoCatalogo();
+        if (desde == null || desde < historico.historicoDesde() || desde > historico.versao()) {
+            List<Produto> produtos = repository.findAll().stream()
+                    .map(ProdutoEntity::toProduto)
+                    .sorted(Comparator.comparing(Produto::getId))
+                    .toList();
+            return new AlteracoesCatalogo(historico.versao(), true, produtos, List.of());
+        }
+
+        List<Produto> produtos = new ArrayList<>();
+        List<Long> excluidos = new ArrayList<>();
+        if (desde < historico.versao()) {
+            for (ProdutoAlterado alterado : repository.alteracoesEntre(desde, historico.versao())) {
+                if (alterado.produto() == null) {
+                    excluidos.add(alterado.id());
+                } else {
+                    produtos.add(alterado.produto().toProduto());
+                }
+            }
+        }
+        return new AlteracoesCatalogo(historico.versao(), false, produtos, excluidos);
+    }
+}
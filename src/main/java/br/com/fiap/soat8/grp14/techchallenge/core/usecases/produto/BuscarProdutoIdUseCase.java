@@ -2,31 +2,30 @@ package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
 
 import java.util.Optional;
 
-import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
-import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
-import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
 
 public class BuscarProdutoIdUseCase extends AbstractUseCase<Long, Produto> {
 
     private static final String ID_NAO_ENCONTRADO = "Produto não encontrado";
 
-    private final ProdutoRepository repository;
+    private final CatalogoProdutosCache catalogo;
 
-    public BuscarProdutoIdUseCase(ProdutoRepository repository) {
-        this.repository = repository;
+    public BuscarProdutoIdUseCase(CatalogoProdutosCache catalogo) {
+        this.catalogo = catalogo;
     }
 
     @Override
     public Produto execute(Long id) {
-        Optional<ProdutoEntity> produto = repository.findById(id);
+        Optional<Produto> produto = catalogo.buscarPorId(id);
 
         if (produto.isEmpty()) {
-            throw new DataIntegrityException(ID_NAO_ENCONTRADO);
+            throw new EntityNotFoundException(ID_NAO_ENCONTRADO);
         }
 
-        return getModelMapper().map(produto.get(), Produto.class);
+        return produto.get();
 
     }
 
@@ -0,0 +1,37 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
+
+import java.util.List;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.BuscaProdutos;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+
+public class BuscarProdutosPorTextoUseCase extends AbstractUseCase<BuscaProdutos, List<Produto>> {
+
+    private static final String TERMOS_OBRIGATORIOS = "Informe o texto da busca.";
+    private static final String TERMOS_LONGOS = "O texto da busca deve ter no máximo "
+            + BuscaProdutos.TAMANHO_MAXIMO_TERMOS + " caracteres.";
+
+    private final ProdutoRepository repository;
+
+    public BuscarProdutosPorTextoUseCase(ProdutoRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Produto> execute(BuscaProdutos busca) {
+        if (busca.termos() == null || busca.termos().isBlank()) {
+            throw new DataIntegrityException(TERMOS_OBRIGATORIOS);
+        }
+        if (busca.termos().length() > BuscaProdutos.TAMANHO_MAXIMO_TERMOS) {
+            throw new DataIntegrityException(TERMOS_LONGOS);
+        }
+        return repository.buscarPorTexto(busca.termos().strip(), busca.categoria(), busca.limiteNormalizado())
+                .stream()
+                .map(ProdutoEntity::toProduto)
+                .toList();
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+
+public class BuscarVersaoCatalogoUseCase extends AbstractUseCase<Boolean, String> {
+
+    private final CatalogoProdutosCache catalogo;
+
+    public BuscarVersaoCatalogoUseCase(CatalogoProdutosCache catalogo) {
+        this.catalogo = catalogo;
+    }
+
+    @Override
+    public String execute(Boolean dummy) {
+        return catalogo.versao();
+    }
+
+}
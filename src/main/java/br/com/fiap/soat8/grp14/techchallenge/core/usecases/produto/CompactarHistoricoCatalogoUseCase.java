@@ -0,0 +1,26 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
+
+import java.time.Duration;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+
+/**
+ * Remove do histórico de alterações do catálogo o que for mais antigo que a retenção. Quem pedir
+ * alterações desde uma versão removida recebe o catálogo inteiro.
+ *
+ * @return a quantidade de registros removidos
+ */
+public class CompactarHistoricoCatalogoUseCase extends AbstractUseCase<Duration, Integer> {
+
+    private final ProdutoRepository repository;
+
+    public CompactarHistoricoCatalogoUseCase(ProdutoRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public Integer execute(Duration retencao) {
+        return repository.compactarHistorico(retencao);
+    }
+}
@@ -1,21 +1,38 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
 
+import java.util.List;
+
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
 
+/**
+ * Inclui o produto e registra a inclusão no histórico do catálogo; deve ser executado dentro de uma
+ * transação.
+ */
 public class CriarProdutoUseCase extends AbstractUseCase<ProdutoEntity, Produto> {
 
     private final ProdutoRepository repository;
+    private final CatalogoProdutosCache catalogo;
+    private final InvalidacaoCaches invalidacao;
 
-    public CriarProdutoUseCase(ProdutoRepository repository) {
+    public CriarProdutoUseCase(ProdutoRepository repository, CatalogoProdutosCache catalogo,
+            InvalidacaoCaches invalidacao) {
         this.repository = repository;
+        this.catalogo = catalogo;
+        this.invalidacao = invalidacao;
     }
 
     @Override
     public Produto execute(ProdutoEntity produtoEntity) {
-        return getModelMapper().map(repository.save(produtoEntity), Produto.class);
+        Produto produto = repository.save(produtoEntity).toProduto();
+        repository.registrarAlteracao(List.of(produto.getId()));
+        invalidacao.notificarProdutos(List.of(produto.getId()));
+        catalogo.salvar(produto);
+        return produto;
     }
 
 }
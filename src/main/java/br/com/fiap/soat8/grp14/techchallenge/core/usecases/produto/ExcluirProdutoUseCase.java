@@ -1,24 +1,40 @@
 package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
 
-import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
+import java.util.List;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
-import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
 
+/**
+ * Exclui o produto e registra a exclusão no histórico do catálogo; deve ser executado dentro de uma
+ * transação.
+ */
 public class ExcluirProdutoUseCase extends AbstractUseCase<Long, Boolean> {
 
+    private static final String ID_NAO_ENCONTRADO = "Produto não encontrado";
+
     private final ProdutoRepository repository;
-    private final BuscarProdutoIdUseCase buscarProdutoIdUseCase;
+    private final CatalogoProdutosCache catalogo;
+    private final InvalidacaoCaches invalidacao;
 
-    public ExcluirProdutoUseCase(ProdutoRepository repository, BuscarProdutoIdUseCase buscarProdutoIdUseCase) {
+    public ExcluirProdutoUseCase(ProdutoRepository repository, CatalogoProdutosCache catalogo,
+            InvalidacaoCaches invalidacao) {
         this.repository = repository;
-        this.buscarProdutoIdUseCase = buscarProdutoIdUseCase;
+        this.catalogo = catalogo;
+        this.invalidacao = invalidacao;
     }
 
     @Override
     public Boolean execute(Long id) {
-        Produto produto = buscarProdutoIdUseCase.execute(id);
-        repository.delete(getModelMapper().map(produto, ProdutoEntity.class));
+        if (!repository.excluirPorId(id)) {
+            throw new EntityNotFoundException(ID_NAO_ENCONTRADO);
+        }
+        repository.registrarAlteracao(List.of(id));
+        invalidacao.notificarProdutos(List.of(id));
+        catalogo.remover(id);
         return true;
     }
 
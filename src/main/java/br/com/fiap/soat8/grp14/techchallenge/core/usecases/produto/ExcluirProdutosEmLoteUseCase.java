@@ -0,0 +1,58 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+
+/**
+ * Exclui vários produtos num único DELETE, para limpezas do cardápio. Se algum id não existir,
+ * lança {@link EntityNotFoundException} depois do DELETE; deve ser executado dentro de uma
+ * transação para que nada seja excluído nesse caso.
+ *
+ * @return a quantidade de produtos excluídos
+ */
+public class ExcluirProdutosEmLoteUseCase extends AbstractUseCase<List<Long>, Integer> {
+
+    public static final int MAXIMO_IDS = 500;
+
+    private final ProdutoRepository repository;
+    private final CatalogoProdutosCache catalogo;
+    private final InvalidacaoCaches invalidacao;
+
+    public ExcluirProdutosEmLoteUseCase(ProdutoRepository repository, CatalogoProdutosCache catalogo,
+            InvalidacaoCaches invalidacao) {
+        this.repository = repository;
+        this.catalogo = catalogo;
+        this.invalidacao = invalidacao;
+    }
+
+    @Override
+    public Integer execute(List<Long> ids) {
+        Set<Long> solicitados = new LinkedHashSet<>(ids);
+        if (solicitados.isEmpty() || solicitados.contains(null)) {
+            throw new DataIntegrityException("Informe os ids dos produtos a excluir.");
+        }
+        if (solicitados.size() > MAXIMO_IDS) {
+            throw new DataIntegrityException("Informe no máximo " + MAXIMO_IDS + " ids por exclusão.");
+        }
+
+        List<Long> excluidos = repository.excluirPorIds(solicitados);
+        if (excluidos.size() < solicitados.size()) {
+            List<Long> naoEncontrados = new ArrayList<>(solicitados);
+            naoEncontrados.removeAll(excluidos);
+            throw new EntityNotFoundException("Produtos não encontrados: " + naoEncontrados);
+        }
+        repository.registrarAlteracao(excluidos);
+        invalidacao.notificarProdutos(excluidos);
+        catalogo.remover(excluidos);
+        return excluidos.size();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Percorre todos os produtos com cursor no servidor, desanexando cada entidade após
+ * entregá-la ao consumidor. Deve ser executado dentro de uma transação somente leitura.
+ */
+public class ExportarProdutosUseCase extends AbstractUseCase<Consumer<Produto>, Long> {
+
+    private final ProdutoRepository repository;
+    private final EntityManager entityManager;
+
+    public ExportarProdutosUseCase(ProdutoRepository repository, EntityManager entityManager) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Long execute(Consumer<Produto> consumidor) {
+        long total = 0;
+        try (Stream<ProdutoEntity> produtos = repository.streamAllByOrderByIdAsc()) {
+            Iterator<ProdutoEntity> iterator = produtos.iterator();
+            while (iterator.hasNext()) {
+                ProdutoEntity produtoEntity = iterator.next();
+                consumidor.accept(produtoEntity.toProduto());
+                entityManager.detach(produtoEntity);
+                total++;
+            }
+        }
+        return total;
+    }
+
+}
@@ -4,21 +4,19 @@ import java.util.List;
 
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
 import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
-import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
-import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
 
 public class ListarProdutosUseCase extends AbstractUseCase<Boolean, List<Produto>> {
 
-    private final ProdutoRepository repository;
+    private final CatalogoProdutosCache catalogo;
 
-    public ListarProdutosUseCase(ProdutoRepository repository) {
-        this.repository = repository;
+    public ListarProdutosUseCase(CatalogoProdutosCache catalogo) {
+        this.catalogo = catalogo;
     }
 
     @Override
     public List<Produto> execute(Boolean dummy) {
-        List<ProdutoEntity> produtosList = repository.findAll();
-        return produtosList.stream().map(produto -> getModelMapper().map(produto, Produto.class)).toList();
+        return catalogo.listar();
     }
 
 }
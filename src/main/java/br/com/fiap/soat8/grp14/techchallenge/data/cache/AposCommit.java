@@ -0,0 +1,27 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia ações sobre caches para depois do commit da transação corrente, para que uma escrita
+ * desfeita por rollback não fique visível. Sem transação ativa a ação é executada na hora.
+ */
+final class AposCommit {
+
+    private AposCommit() {
+    }
+
+    static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
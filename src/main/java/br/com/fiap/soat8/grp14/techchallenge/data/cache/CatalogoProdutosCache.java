@@ -0,0 +1,220 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.cache;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+import br.com.fiap.soat8.grp14.techchallenge.infra.datasource.RoteamentoDataSource;
+
+/**
+ * Catálogo de produtos em memória, servido a partir de um snapshot imutável indexado por id e
+ * por categoria. Leituras apenas leem a referência volátil do snapshot atual, sem lock e sem
+ * banco; escritas montam um novo snapshot a partir do anterior (copy-on-write) e o publicam
+ * após o commit da transação corrente, se houver uma.
+ * <p>
+ * O snapshot é carregado do banco no primeiro acesso, sempre do primário: depois de uma
+ * invalidação a carga segue um commit, e uma réplica atrasada seria servida como atual até a
+ * próxima escrita. Os {@link Produto} publicados são compartilhados entre requisições e não devem
+ * ser alterados por quem os recebe.
+ * <p>
+ * Cada snapshot publicado, inclusive o de uma recarga, recebe uma versão maior que a anterior.
+ * A versão é prefixada por uma época aleatória desta instância, para que o contador, que recomeça
+ * a cada inicialização, não repita a versão de um catálogo diferente.
+ */
+public class CatalogoProdutosCache {
+
+    private static final Comparator<Produto> POR_ID = Comparator.comparing(Produto::getId);
+
+    private final ProdutoRepository repository;
+    private final ReentrantLock escrita = new ReentrantLock();
+    private final String epoca = Long.toHexString(new SecureRandom().nextLong());
+
+    private volatile Snapshot snapshot;
+    // Alterado apenas sob o lock de escrita.
+    private long ultimaVersao;
+
+    private final LongAdder leituras = new LongAdder();
+    private final LongAdder carregamentos = new LongAdder();
+
+    public CatalogoProdutosCache(ProdutoRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Versão do catálogo atual, que muda a cada inclusão, alteração ou exclusão de produto. Quem a
+     * lê antes do conteúdo pode no máximo associar um conteúdo novo a uma versão antiga, nunca o
+     * contrário.
+     */
+    public String versao() {
+        return epoca + "-" + snapshot().versao();
+    }
+
+    public List<Produto> listar() {
+        return snapshot().todos();
+    }
+
+    public List<Produto> listarPorCategoria(CategoriaProduto categoria) {
+        return snapshot().porCategoria().getOrDefault(categoria, List.of());
+    }
+
+    public Optional<Produto> buscarPorId(Long id) {
+        return Optional.ofNullable(snapshot().porId().get(id));
+    }
+
+    /**
+     * Inclui ou substitui o produto no catálogo.
+     */
+    public void salvar(Produto produto) {
+        aoConfirmar(atual -> {
+            Map<Long, Produto> produtos = new HashMap<>(atual.porId());
+            produtos.put(produto.getId(), produto);
+            return produtos.values();
+        });
+    }
+
+    public void remover(Long id) {
+        remover(List.of(id));
+    }
+
+    /**
+     * Remove os produtos com uma única cópia do snapshot.
+     */
+    public void remover(Collection<Long> ids) {
+        aoConfirmar(atual -> {
+            Map<Long, Produto> produtos = new HashMap<>(atual.porId());
+            if (!produtos.keySet().removeAll(ids)) {
+                return null;
+            }
+            return produtos.values();
+        });
+    }
+
+    /**
+     * Relê do banco os produtos que outra instância alterou e os aplica ao snapshot atual, na hora,
+     * sem transação: os encontrados substituem os do catálogo, a menos que o do catálogo já seja de
+     * uma versão mais nova, e os que não existem mais saem dele.
+     */
+    public void recarregar(Collection<Long> ids) {
+        if (snapshot == null) {
+            return;
+        }
+        Map<Long, Produto> lidos = new HashMap<>();
+        repository.findAllById(ids).forEach(entidade -> lidos.put(entidade.getId(), entidade.toProduto()));
+        aplicar(atual -> {
+            Map<Long, Produto> produtos = new HashMap<>(atual.porId());
+            for (Long id : ids) {
+                Produto lido = lidos.get(id);
+                Produto anterior = produtos.get(id);
+                if (lido == null) {
+                    produtos.remove(id);
+                } else if (anterior == null || anterior.getVersao() == null || lido.getVersao() == null
+                        || lido.getVersao() >= anterior.getVersao()) {
+                    produtos.put(id, lido);
+                }
+            }
+            return produtos.values();
+        });
+    }
+
+    /**
+     * Descarta o snapshot atual; o próximo acesso recarrega o catálogo do banco.
+     */
+    public void invalidar() {
+        escrita.lock();
+        try {
+            snapshot = null;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        Snapshot atual = snapshot;
+        return new Estatisticas(leituras.sum(), carregamentos.sum(), atual == null ? 0 : atual.todos().size());
+    }
+
+    private Snapshot snapshot() {
+        leituras.increment();
+        Snapshot atual = snapshot;
+        if (atual != null) {
+            return atual;
+        }
+        escrita.lock();
+        try {
+            if (snapshot == null) {
+                carregamentos.increment();
+                List<ProdutoEntity> produtos = RoteamentoDataSource.lerDoPrimario(repository::findAll);
+                snapshot = Snapshot.de(produtos.stream().map(ProdutoEntity::toProduto).toList(), ++ultimaVersao);
+            }
+            return snapshot;
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    /**
+     * @param alteracao recebe o snapshot atual e devolve os produtos do novo, ou {@code null} se
+     * nada mudou
+     */
+    private void aoConfirmar(Function<Snapshot, Collection<Produto>> alteracao) {
+        AposCommit.executar(() -> aplicar(alteracao));
+    }
+
+    private void aplicar(Function<Snapshot, Collection<Produto>> alteracao) {
+        escrita.lock();
+        try {
+            // Sem snapshot carregado não há o que atualizar: a próxima leitura já busca o estado novo.
+            if (snapshot != null) {
+                Collection<Produto> produtos = alteracao.apply(snapshot);
+                if (produtos != null) {
+                    snapshot = Snapshot.de(produtos, ++ultimaVersao);
+                }
+            }
+        } finally {
+            escrita.unlock();
+        }
+    }
+
+    private record Snapshot(List<Produto> todos, Map<Long, Produto> porId,
+            Map<CategoriaProduto, List<Produto>> porCategoria, long versao) {
+
+        static Snapshot de(Collection<Produto> produtos, long versao) {
+            List<Produto> todos = new ArrayList<>(produtos);
+            todos.sort(POR_ID);
+
+            Map<Long, Produto> porId = new HashMap<>(todos.size() * 2);
+            Map<CategoriaProduto, List<Produto>> porCategoria = new EnumMap<>(CategoriaProduto.class);
+            for (Produto produto : todos) {
+                porId.put(produto.getId(), produto);
+                if (produto.getCategoriaProduto() != null) {
+                    porCategoria.computeIfAbsent(produto.getCategoriaProduto(), categoria -> new ArrayList<>())
+                            .add(produto);
+                }
+            }
+            porCategoria.replaceAll((categoria, lista) -> List.copyOf(lista));
+
+            return new Snapshot(List.copyOf(todos), Collections.unmodifiableMap(porId),
+                    Collections.unmodifiableMap(porCategoria), versao);
+        }
+    }
+
+    /**
+     * Contadores acumulados desde a inicialização; cada carregamento também conta como leitura.
+     */
+    public record Estatisticas(long leituras, long carregamentos, int tamanho) {
+    }
+}
@@ -0,0 +1,247 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+
+/**
+ * Cache LRU limitado, com expiração, das buscas de cliente por CPF. Guarda também as buscas sem
+ * resultado (cache negativo), com um TTL próprio e mais curto, já que um cliente pode se cadastrar
+ * por outra instância da aplicação.
+ * <p>
+ * A chave é o CPF normalizado (apenas os 11 dígitos); a consulta ao banco usa sempre o formato
+ * {@code XXX.XXX.XXX-XX}, o mesmo gravado na tabela. Entradas inválidas (que não têm 11 dígitos)
+ * não passam pelo cache.
+ */
+public class ClienteCpfCache {
+
+    private final int capacidade;
+    private final long ttlNanos;
+    private final long ttlNegativoNanos;
+    private final LongSupplier relogio;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, Entrada> entradas;
+    // Incrementada a cada escrita; impede que uma consulta iniciada antes dela grave um valor antigo.
+    private long geracao;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder acertosNegativos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder despejos = new LongAdder();
+
+    public ClienteCpfCache(int capacidade, Duration ttl, Duration ttlNegativo) {
+        this(capacidade, ttl, ttlNegativo, System::nanoTime);
+    }
+
+    ClienteCpfCache(int capacidade, Duration ttl, Duration ttlNegativo, LongSupplier relogio) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("A capacidade do cache de CPF deve ser positiva.");
+        }
+        this.capacidade = capacidade;
+        this.ttlNanos = ttl.toNanos();
+        this.ttlNegativoNanos = ttlNegativo.toNanos();
+        this.relogio = relogio;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entrada> maisAntiga) {
+                boolean excedeu = size() > ClienteCpfCache.this.capacidade;
+                if (excedeu) {
+                    despejos.increment();
+                }
+                return excedeu;
+            }
+        };
+    }
+
+    /**
+     * Busca o cliente pelo CPF, consultando {@code origem} (com o CPF formatado) apenas quando não
+     * há entrada válida no cache.
+     */
+    public Optional<Cliente> buscar(String cpf, Function<String, Optional<Cliente>> origem) {
+        String chave = normalizar(cpf);
+        if (chave == null) {
+            return origem.apply(cpf);
+        }
+
+        long geracaoConsulta;
+        lock.lock();
+        try {
+            Entrada entrada = entradas.get(chave);
+            if (entrada != null && entrada.expiraEm() - relogio.getAsLong() > 0) {
+                acertos.increment();
+                if (entrada.cliente() == null) {
+                    acertosNegativos.increment();
+                }
+                return Optional.ofNullable(entrada.cliente());
+            }
+            if (entrada != null) {
+                entradas.remove(chave);
+            }
+            geracaoConsulta = geracao;
+        } finally {
+            lock.unlock();
+        }
+
+        falhas.increment();
+        Optional<Cliente> cliente = origem.apply(formatar(chave));
+
+        lock.lock();
+        try {
+            if (geracao == geracaoConsulta) {
+                guardar(chave, cliente.orElse(null));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return cliente;
+    }
+
+    /**
+     * Grava o cliente no cache após o commit, para que um cadastro recém-feito seja encontrado
+     * na próxima busca.
+     */
+    public void registrar(Cliente cliente) {
+        String chave = normalizar(cliente.getCpf());
+        if (chave == null) {
+            return;
+        }
+        AposCommit.executar(() -> {
+            lock.lock();
+            try {
+                geracao++;
+                guardar(chave, cliente);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * Remove o CPF do cache imediatamente e de novo após o commit, descartando o que uma busca
+     * concorrente tenha gravado enquanto a transação estava aberta.
+     */
+    public void invalidar(String cpf) {
+        invalidar(Collections.singletonList(cpf));
+    }
+
+    /**
+     * Variante de {@link #invalidar(String)} para cargas em lote, com uma única sincronização
+     * de transação para todos os CPFs.
+     */
+    public void invalidar(Collection<String> cpfs) {
+        List<String> chaves = cpfs.stream().map(ClienteCpfCache::normalizar).filter(Objects::nonNull).toList();
+        if (chaves.isEmpty()) {
+            return;
+        }
+        Runnable remover = () -> {
+            lock.lock();
+            try {
+                geracao++;
+                chaves.forEach(entradas::remove);
+            } finally {
+                lock.unlock();
+            }
+        };
+        remover.run();
+        AposCommit.executar(remover);
+    }
+
+    /**
+     * Relê de {@code origem} os CPFs que outra instância alterou e grava o resultado, positivo ou
+     * negativo, descartando as buscas concorrentes iniciadas antes. Apenas remover as entradas
+     * deixaria a próxima busca ler uma réplica ainda atrasada e guardar o valor antigo.
+     */
+    public void recarregar(Collection<String> cpfs, Function<String, Optional<Cliente>> origem) {
+        Map<String, Cliente> lidos = new LinkedHashMap<>();
+        for (String cpf : cpfs) {
+            String chave = normalizar(cpf);
+            if (chave != null && !lidos.containsKey(chave)) {
+                lidos.put(chave, origem.apply(formatar(chave)).orElse(null));
+            }
+        }
+        if (lidos.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            geracao++;
+            lidos.forEach(this::guardar);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void limpar() {
+        lock.lock();
+        try {
+            geracao++;
+            entradas.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Estatisticas estatisticas() {
+        int tamanho;
+        lock.lock();
+        try {
+            tamanho = entradas.size();
+        } finally {
+            lock.unlock();
+        }
+        return new Estatisticas(acertos.sum(), acertosNegativos.sum(), falhas.sum(), despejos.sum(), tamanho,
+                capacidade);
+    }
+
+    private void guardar(String chave, Cliente cliente) {
+        long ttl = cliente == null ? ttlNegativoNanos : ttlNanos;
+        entradas.put(chave, new Entrada(cliente, relogio.getAsLong() + ttl));
+    }
+
+    /**
+     * Retorna os 11 dígitos do CPF, ou {@code null} se o valor não tiver 11 dígitos.
+     */
+    static String normalizar(String cpf) {
+        if (cpf == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(11);
+        for (int i = 0; i < cpf.length(); i++) {
+            char c = cpf.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            } else if (c != '.' && c != '-' && c != ' ') {
+                return null;
+            }
+        }
+        return digitos.length() == 11 ? digitos.toString() : null;
+    }
+
+    static String formatar(String digitos) {
+        return digitos.substring(0, 3) + "." + digitos.substring(3, 6) + "." + digitos.substring(6, 9) + "-"
+                + digitos.substring(9);
+    }
+
+    private record Entrada(Cliente cliente, long expiraEm) {
+    }
+
+    /**
+     * Contadores acumulados desde a inicialização; {@code acertosNegativos} é um subconjunto de
+     * {@code acertos}.
+     */
+    public record Estatisticas(long acertos, long acertosNegativos, long falhas, long despejos, int tamanho,
+            int capacidade) {
+    }
+}
@@ -0,0 +1,135 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+/**
+ * Avisa as demais instâncias da aplicação, por NOTIFY no PostgreSQL, de quais produtos e CPFs
+ * mudaram, para que tirem as entradas dos seus caches ({@link OuvinteInvalidacaoCaches}). O NOTIFY
+ * vai na transação corrente e o banco só o entrega no commit: uma escrita desfeita não avisa
+ * ninguém, e quem recebe o aviso já enxerga a escrita.
+ * <p>
+ * O aviso é o texto {@code origem;tipo;chaves}, com as chaves separadas por vírgula, ou {@code *}
+ * quando não cabem no limite de 8000 bytes do NOTIFY; nesse caso o cache inteiro daquele tipo é
+ * descartado. A origem identifica esta instância, que ignora os próprios avisos.
+ */
+public class InvalidacaoCaches {
+
+    public static final String CANAL = "techchallenge_caches";
+
+    static final String TODAS = "*";
+    // O limite do PostgreSQL é 8000 bytes; a folga cobre a origem e o tipo.
+    static final int TAMANHO_MAXIMO_CHAVES = 7900;
+
+    private static final String NOTIFICAR = "SELECT pg_notify(?, ?)";
+    private static final ResultSetExtractor<Void> IGNORAR = rs -> null;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean habilitada;
+    private final String origem = Long.toHexString(new SecureRandom().nextLong());
+
+    private final LongAdder enviados = new LongAdder();
+
+    public InvalidacaoCaches(JdbcTemplate jdbcTemplate, boolean habilitada) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.habilitada = habilitada;
+    }
+
+    /**
+     * Sem banco: os use cases rodam sem avisar ninguém, como nos benchmarks.
+     */
+    public static InvalidacaoCaches desabilitada() {
+        return new InvalidacaoCaches(null, false);
+    }
+
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    public String origem() {
+        return origem;
+    }
+
+    /**
+     * Produtos incluídos, alterados ou excluídos na transação corrente.
+     */
+    public void notificarProdutos(Collection<Long> ids) {
+        notificar(Tipo.PRODUTO, ids);
+    }
+
+    /**
+     * CPFs de clientes incluídos, alterados ou excluídos na transação corrente; numa alteração de
+     * CPF, o anterior e o novo.
+     */
+    public void notificarClientes(Collection<String> cpfs) {
+        notificar(Tipo.CLIENTE, cpfs);
+    }
+
+    public long enviados() {
+        return enviados.sum();
+    }
+
+    private void notificar(Tipo tipo, Collection<?> chaves) {
+        if (!habilitada || chaves.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.query(NOTIFICAR, IGNORAR, CANAL, formatar(origem, tipo, chaves));
+        enviados.increment();
+    }
+
+    static String formatar(String origem, Tipo tipo, Collection<?> chaves) {
+        String lista = chaves.stream().filter(Objects::nonNull).map(String::valueOf).distinct()
+                .collect(Collectors.joining(","));
+        if (lista.getBytes(StandardCharsets.UTF_8).length > TAMANHO_MAXIMO_CHAVES) {
+            lista = TODAS;
+        }
+        return origem + ";" + tipo.nome + ";" + lista;
+    }
+
+    /**
+     * Lê um aviso recebido; {@code null} se o texto não estiver no formato esperado.
+     */
+    static Aviso ler(String payload) {
+        String[] partes = payload == null ? new String[0] : payload.split(";", -1);
+        if (partes.length != 3 || partes[0].isEmpty()) {
+            return null;
+        }
+        Tipo tipo = Arrays.stream(Tipo.values()).filter(t -> t.nome.equals(partes[1])).findFirst().orElse(null);
+        if (tipo == null) {
+            return null;
+        }
+        if (partes[2].equals(TODAS)) {
+            return new Aviso(partes[0], tipo, null);
+        }
+        return new Aviso(partes[0], tipo, List.of(partes[2].split(",")));
+    }
+
+    enum Tipo {
+        PRODUTO("produto"), CLIENTE("cliente");
+
+        private final String nome;
+
+        Tipo(String nome) {
+            this.nome = nome;
+        }
+    }
+
+    /**
+     * @param chaves ids de produto ou CPFs; {@code null} para todas as entradas do cache
+     */
+    record Aviso(String origem, Tipo tipo, List<String> chaves) {
+
+        boolean todas() {
+            return chaves == null;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches.Aviso;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+import br.com.fiap.soat8.grp14.techchallenge.infra.datasource.RoteamentoDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Mantém uma conexão própria, fora do pool, em LISTEN no canal de {@link InvalidacaoCaches} e
+ * aplica os avisos das outras instâncias: produtos e CPFs alterados são relidos do banco para o
+ * catálogo e para o cache de clientes. As releituras vão sempre ao primário; o aviso chega no
+ * commit dele, antes que uma réplica atrasada tenha a escrita, e não é entregue de novo.
+ * <p>
+ * Avisos emitidos enquanto não há conexão se perdem. Por isso, a cada conexão, inclusive a
+ * primeira, os dois caches são esvaziados logo depois do LISTEN; a próxima leitura busca o estado
+ * atual no banco. Sem avisos, a conexão é testada com um {@code SELECT 1} a cada
+ * {@code intervaloVerificacao}, para que uma conexão morta seja trocada mesmo sem tráfego.
+ */
+@Slf4j
+public class OuvinteInvalidacaoCaches implements AutoCloseable {
+
+    // Tempo máximo de cada espera por avisos, para que o encerramento seja percebido.
+    private static final int ESPERA_AVISOS_MILLIS = 500;
+    private static final Duration ESPERA_RECONEXAO_MAXIMA = Duration.ofSeconds(30);
+
+    private final DataSource dataSource;
+    private final String origem;
+    private final CatalogoProdutosCache catalogo;
+    private final ClienteCpfCache cpfCache;
+    private final ClienteRepository clienteRepository;
+    private final long intervaloVerificacaoNanos;
+    private final Duration esperaReconexao;
+    private final Thread ouvinte;
+
+    private volatile boolean encerrado;
+    private volatile boolean conectado;
+
+    private final LongAdder aplicados = new LongAdder();
+    private final LongAdder proprios = new LongAdder();
+    private final LongAdder invalidos = new LongAdder();
+    private final LongAdder conexoes = new LongAdder();
+
+    /**
+     * @param dataSource conexões diretas ao primário, sem pool; cada uma fica aberta até cair
+     */
+    public OuvinteInvalidacaoCaches(DataSource dataSource, InvalidacaoCaches invalidacao,
+            CatalogoProdutosCache catalogo, ClienteCpfCache cpfCache, ClienteRepository clienteRepository,
+            Duration intervaloVerificacao, Duration esperaReconexao) {
+        this.dataSource = dataSource;
+        this.origem = invalidacao.origem();
+        this.catalogo = catalogo;
+        this.cpfCache = cpfCache;
+        this.clienteRepository = clienteRepository;
+        this.intervaloVerificacaoNanos = intervaloVerificacao.toNanos();
+        this.esperaReconexao = esperaReconexao;
+        if (invalidacao.isHabilitada()) {
+            this.ouvinte = new Thread(this::ouvirContinuamente, "invalidacao-caches");
+            this.ouvinte.setDaemon(true);
+            this.ouvinte.start();
+        } else {
+            this.ouvinte = null;
+        }
+    }
+
+    public boolean isConectado() {
+        return conectado;
+    }
+
+    public Estatisticas estatisticas() {
+        return new Estatisticas(conectado, conexoes.sum(), aplicados.sum(), proprios.sum(), invalidos.sum());
+    }
+
+    private void ouvirContinuamente() {
+        Duration espera = esperaReconexao;
+        while (!encerrado) {
+            long conexoesAntes = conexoes.sum();
+            try (Connection conexao = dataSource.getConnection()) {
+                ouvir(conexao);
+            } catch (SQLException | RuntimeException e) {
+                if (encerrado) {
+                    break;
+                }
+                log.warn("Conexão de invalidação de caches indisponível; nova tentativa em {} ms: {}",
+                        espera.toMillis(), e.getMessage());
+            } finally {
+                conectado = false;
+            }
+            if (!encerrado) {
+                // Uma conexão que chegou a funcionar tenta de novo logo; falhas seguidas esperam mais.
+                espera = conexoes.sum() > conexoesAntes ? esperaReconexao : espera;
+                dormir(espera);
+                espera = espera.multipliedBy(2).compareTo(ESPERA_RECONEXAO_MAXIMA) > 0
+                        ? ESPERA_RECONEXAO_MAXIMA : espera.multipliedBy(2);
+            }
+        }
+    }
+
+    private void ouvir(Connection conexao) throws SQLException {
+        PGConnection pg = conexao.unwrap(PGConnection.class);
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute("LISTEN " + InvalidacaoCaches.CANAL);
+        }
+        // O que mudou enquanto não havia LISTEN não vai chegar: tudo sai dos caches.
+        catalogo.invalidar();
+        cpfCache.limpar();
+        conexoes.increment();
+        conectado = true;
+        if (conexoes.sum() > 1) {
+            log.info("Conexão de invalidação de caches restabelecida; caches esvaziados.");
+        }
+
+        long ultimaVerificacao = System.nanoTime();
+        while (!encerrado) {
+            PGNotification[] avisos = pg.getNotifications(ESPERA_AVISOS_MILLIS);
+            if (avisos != null && avisos.length > 0) {
+                for (PGNotification aviso : avisos) {
+                    aplicar(aviso.getParameter());
+                }
+                ultimaVerificacao = System.nanoTime();
+            } else if (System.nanoTime() - ultimaVerificacao >= intervaloVerificacaoNanos) {
+                try (Statement statement = conexao.createStatement()) {
+                    statement.execute("SELECT 1");
+                }
+                ultimaVerificacao = System.nanoTime();
+            }
+        }
+    }
+
+    void aplicar(String payload) {
+        Aviso aviso = InvalidacaoCaches.ler(payload);
+        if (aviso == null) {
+            invalidos.increment();
+            log.warn("Aviso de invalidação de caches ignorado, fora do formato: {}", payload);
+            return;
+        }
+        if (aviso.origem().equals(origem)) {
+            proprios.increment();
+            return;
+        }
+        RoteamentoDataSource.lerDoPrimario(() -> {
+            aplicarAviso(aviso);
+            return null;
+        });
+        aplicados.increment();
+    }
+
+    private void aplicarAviso(Aviso aviso) {
+        switch (aviso.tipo()) {
+            case PRODUTO -> {
+                if (aviso.todas()) {
+                    catalogo.invalidar();
+                } else {
+                    catalogo.recarregar(aviso.chaves().stream().map(Long::valueOf).toList());
+                }
+            }
+            case CLIENTE -> {
+                // Só a carga em lote, que apenas inclui clientes, passa do limite do aviso; sem as
+                // chaves, o pior caso é uma busca negativa lida da réplica, limitada ao TTL negativo.
+                if (aviso.todas()) {
+                    cpfCache.limpar();
+                } else {
+                    cpfCache.recarregar(aviso.chaves(),
+                            cpf -> clienteRepository.findByCpf(cpf).map(ClienteEntity::toCliente));
+                }
+            }
+        }
+    }
+
+    private static void dormir(Duration espera) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(espera.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        encerrado = true;
+        if (ouvinte != null) {
+            ouvinte.interrupt();
+            ouvinte.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /**
+     * Contadores acumulados desde a inicialização. {@code conexoes} acima de 1 indica reconexões,
+     * cada uma com os caches esvaziados; {@code proprios} são os avisos desta instância, ignorados.
+     */
+    public record Estatisticas(boolean conectado, long conexoes, long aplicados, long proprios, long invalidos) {
+    }
+}
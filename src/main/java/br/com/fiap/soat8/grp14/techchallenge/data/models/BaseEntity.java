@@ -17,13 +17,33 @@ import java.util.Objects;
 @MappedSuperclass
 public abstract class BaseEntity implements Serializable {
 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    @Id
-    @Column(name = "id", nullable = false)
-    public Long id;
+    /**
+     * Ids reservados por ida ao banco (otimizador pooled). Deve ser igual ao {@code INCREMENT BY}
+     * das sequences, ajustado na migration V1.0.1.
+     */
+    protected static final int IDS_POR_ALOCACAO = 50;
+
+    /**
+     * Versão de uma linha recém-inserida, o DEFAULT da coluna na migration V1.0.2.
+     */
+    public static final long VERSAO_INICIAL = 0L;
+
+    /**
+     * Incrementada a cada UPDATE; atualizações condicionais comparam com a versão lida pelo cliente.
+     */
+    @Version
+    @Column(name = "versao", nullable = false)
+    protected Long versao;
+
+    /**
+     * Id mapeado em cada entidade, com um gerador próprio: nomes de gerador são globais no JPA.
+     */
+    public abstract Long getId();
+
+    public abstract void setId(Long id);
 
     public boolean isNew() {
-        return this.id == null;
+        return getId() == null;
     }
 
     @Override
@@ -31,12 +51,12 @@ public abstract class BaseEntity implements Serializable {
         if (this == o) return true;
         if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
         BaseEntity that = (BaseEntity) o;
-        return Objects.equals(id, that.id);
+        return Objects.equals(getId(), that.getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return Objects.hash(getId());
     }
 }
 
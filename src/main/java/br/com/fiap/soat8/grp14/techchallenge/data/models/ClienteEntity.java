@@ -2,6 +2,10 @@ package br.com.fiap.soat8.grp14.techchallenge.data.models;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -11,7 +15,6 @@ import java.io.Serial;
 
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
 
-@AllArgsConstructor
 @NoArgsConstructor
 @Getter
 @Setter
@@ -23,6 +26,12 @@ public class ClienteEntity extends BaseEntity {
     @Serial
     private static final long serialVersionUID = 6898207819633242925L;
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gerador_id_cliente")
+    @SequenceGenerator(name = "gerador_id_cliente", sequenceName = "seq_cliente", allocationSize = BaseEntity.IDS_POR_ALOCACAO)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
     @Size(max = 255)
     @NotNull
     @Column(name = "email", nullable = false)
@@ -38,15 +47,22 @@ public class ClienteEntity extends BaseEntity {
     @Column(name = "cpf", nullable = false, length = 14)
     private String cpf;
     
+    public ClienteEntity(String email, String nome, String cpf) {
+    	this.email = email;
+    	this.nome = nome;
+    	this.cpf = cpf;
+    }
+
     public ClienteEntity(Cliente cliente) {
     	this.id = cliente.getId();
     	this.nome = cliente.getNome();
     	this.email = cliente.getEmail();
 		this.cpf = cliente.getCpf();
+		this.versao = cliente.getVersao();
     }
 
     public Cliente toCliente() {
-    	return new Cliente(this.id, this.email, this.nome, this.cpf);
+    	return new Cliente(this.id, this.email, this.nome, this.cpf, this.versao);
     }
     
 }
@@ -6,10 +6,13 @@ import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -18,7 +21,6 @@ import lombok.ToString;
 @Setter
 @Getter
 @NoArgsConstructor
-@AllArgsConstructor
 @ToString
 @Table(name = "produto")
 @Entity
@@ -27,6 +29,12 @@ public class ProdutoEntity extends BaseEntity {
     @Serial
     private static final long serialVersionUID = -664752348563504951L;
 
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "gerador_id_produto")
+    @SequenceGenerator(name = "gerador_id_produto", sequenceName = "seq_produto", allocationSize = BaseEntity.IDS_POR_ALOCACAO)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
     @Size(max = 255)
     @NotNull
     @Column(name = "nome", nullable = false)
@@ -45,16 +53,24 @@ public class ProdutoEntity extends BaseEntity {
     @Column(name = "categoria", nullable = false)
     private CategoriaProduto categoriaProduto;
 
+    public ProdutoEntity(String nome, String descricao, Double valor, CategoriaProduto categoriaProduto) {
+        this.nome = nome;
+        this.descricao = descricao;
+        this.valor = valor;
+        this.categoriaProduto = categoriaProduto;
+    }
+
     public ProdutoEntity(Produto produto) {
         this.id = produto.getId();
         this.nome = produto.getNome();
         this.descricao = produto.getDescricao();
         this.valor = produto.getValor();
         this.categoriaProduto = produto.getCategoriaProduto();
+        this.versao = produto.getVersao();
     }
 
     public Produto toProduto() {
-        return new Produto(this.id, this.nome, this.descricao, this.valor, this.categoriaProduto);
+        return new Produto(this.id, this.nome, this.descricao, this.valor, this.categoriaProduto, this.versao);
     }
 
 }
\ No newline at end of file
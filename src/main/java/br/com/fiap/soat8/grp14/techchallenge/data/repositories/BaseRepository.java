@@ -2,9 +2,18 @@ package br.com.fiap.soat8.grp14.techchallenge.data.repositories;
 
 import br.com.fiap.soat8.grp14.techchallenge.data.models.BaseEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
 
 import java.util.Optional;
 
+@NoRepositoryBean
 public interface BaseRepository<E extends BaseEntity> extends JpaRepository<E, Long> {
+
+    /**
+     * Quantidade de linhas trazidas por ida ao banco nas consultas em stream,
+     * para que o driver use cursor no servidor em vez de materializar o resultado.
+     */
+    String TAMANHO_FETCH_STREAM = "500";
+
     Optional<E> findById(Long id);
 }
@@ -0,0 +1,78 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.repositories;
+
+import java.util.List;
+import java.util.Optional;
+
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+
+/**
+ * Operações de cliente feitas direto em JDBC, onde o caminho do JPA custa idas ao banco
+ * que não são necessárias. Implementado por {@link ClienteJdbcRepositoryImpl} e exposto
+ * como fragmento de {@link ClienteRepository}.
+ */
+public interface ClienteJdbcRepository {
+
+    /**
+     * Insere o cliente num único comando, contando com a constraint de unicidade do CPF em vez de
+     * uma consulta prévia; dois cadastros concorrentes do mesmo CPF não chegam a violar a constraint.
+     * O id já vem definido, reservado com {@link #reservarBlocoIds()}.
+     *
+     * @return o id do cliente inserido, ou vazio se o CPF já estava cadastrado
+     */
+    Optional<Long> inserirSeCpfLivre(ClienteEntity cliente);
+
+    /**
+     * Atualiza o cliente num único UPDATE, incrementando a versão. Se {@code versaoEsperada} não for
+     * nula, só altera a linha que ainda estiver nessa versão.
+     *
+     * @return a nova versão e o CPF anterior à alteração, ou vazio se o id não existe ou a versão
+     * não confere
+     */
+    Optional<ClienteAtualizado> atualizar(ClienteEntity cliente, Long versaoEsperada);
+
+    /**
+     * Exclui o cliente num único DELETE, sem carregá-lo antes.
+     *
+     * @return o CPF do cliente excluído, para invalidar o cache, ou vazio se o id não existe
+     */
+    Optional<String> excluirRetornandoCpf(Long id);
+
+    /**
+     * Insere os clientes, com os ids já definidos, em batches JDBC de até {@code tamanhoBatch}
+     * linhas, ignorando os que têm CPF já cadastrado (inclusive repetidos dentro da própria
+     * lista). Deve rodar dentro de uma transação.
+     *
+     * @return para cada cliente, na mesma ordem, {@code true} se foi inserido e {@code false}
+     * se o CPF já existia
+     */
+    boolean[] inserirIgnorandoCpfDuplicado(List<ClienteEntity> clientes, int tamanhoBatch);
+
+    /**
+     * Reserva um bloco de ids de {@code seq_cliente} com um único nextval, do mesmo jeito que o
+     * otimizador pooled do Hibernate: os ids do bloco são os 49 anteriores ao valor retornado e ele próprio.
+     *
+     * @return o topo do bloco reservado
+     */
+    long reservarBlocoIds();
+
+    /**
+     * Insere os clientes, com os ids já definidos, num único INSERT de várias linhas, ignorando os
+     * que têm CPF já cadastrado (inclusive repetidos dentro da própria lista). Deve rodar dentro de
+     * uma transação.
+     *
+     * @return os ids dos clientes efetivamente inseridos
+     */
+    List<Long> inserirComIdsIgnorandoCpfDuplicado(List<ClienteEntity> clientes);
+
+    /**
+     * Clientes com id maior que {@code apos} cujo nome e/ou e-mail contêm o trecho informado, sem
+     * diferenciar maiúsculas nem acentos, em ordem de id. Usa os índices de trigramas da V1.0.4.
+     *
+     * @param nome trecho do nome, ou {@code null} para não filtrar por nome
+     * @param email trecho do e-mail, ou {@code null} para não filtrar por e-mail
+     */
+    List<ClienteEntity> buscarPorNomeEEmail(String nome, String email, long apos, int limite);
+
+    record ClienteAtualizado(long versao, String cpfAnterior) {
+    }
+}
@@ -0,0 +1,159 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.repositories;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+
+public class ClienteJdbcRepositoryImpl implements ClienteJdbcRepository {
+
+    // A constraint uq_email é a unicidade do CPF; conflitos viram update count 0 em vez de erro,
+    // o que mantém o batch e a transação de pé. O id vem preenchido, reservado de um bloco de
+    // seq_cliente (ReservarIdClienteUseCase): um nextval por linha descartaria 49 ids a cada uma,
+    // já que a sequence avança de 50 em 50 (V1.0.1).
+    private static final String INSERIR_IGNORANDO_CPF_DUPLICADO = """
+            INSERT INTO cliente (id, nome, email, cpf)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (cpf) DO NOTHING
+            """;
+
+    // Sem linha no RETURNING quando o CPF já existe.
+    private static final String INSERIR_SE_CPF_LIVRE = INSERIR_IGNORANDO_CPF_DUPLICADO + "RETURNING id";
+
+    private static final String RESERVAR_BLOCO_IDS = "SELECT nextval('seq_cliente')";
+
+    // As colunas vão em arrays paralelos, então o SQL é o mesmo para qualquer quantidade de linhas.
+    private static final String INSERIR_COM_IDS_IGNORANDO_CPF_DUPLICADO = """
+            INSERT INTO cliente (id, nome, email, cpf)
+            SELECT * FROM unnest(?::bigint[], ?::text[], ?::text[], ?::text[])
+            ON CONFLICT (cpf) DO NOTHING
+            RETURNING id
+            """;
+
+    // A subconsulta trava a linha e devolve o CPF de antes do UPDATE, que o RETURNING sozinho não vê.
+    private static final String ATUALIZAR = """
+            UPDATE cliente c
+            SET nome = ?, email = ?, cpf = ?, versao = c.versao + 1
+            FROM (SELECT id, cpf FROM cliente WHERE id = ? FOR UPDATE) anterior
+            WHERE c.id = anterior.id
+            RETURNING c.versao, anterior.cpf
+            """;
+
+    private static final String ATUALIZAR_NA_VERSAO = """
+            UPDATE cliente c
+            SET nome = ?, email = ?, cpf = ?, versao = c.versao + 1
+            FROM (SELECT id, cpf FROM cliente WHERE id = ? FOR UPDATE) anterior
+            WHERE c.id = anterior.id AND c.versao = ?
+            RETURNING c.versao, anterior.cpf
+            """;
+
+    private static final String EXCLUIR_RETORNANDO_CPF = "DELETE FROM cliente WHERE id = ? RETURNING cpf";
+
+    // A expressão do lado da coluna é a mesma dos índices; o trecho passa pela mesma normalização.
+    private static final String CONTEM = "public.normalizar_busca(%s) LIKE '%%' || public.normalizar_busca(?) || '%%'";
+
+    private static final String BUSCAR = "SELECT id, nome, email, cpf, versao FROM cliente WHERE id > ? AND %s"
+            + " ORDER BY id LIMIT ?";
+
+    private static final String BUSCAR_POR_NOME = BUSCAR.formatted(CONTEM.formatted("nome"));
+    private static final String BUSCAR_POR_EMAIL = BUSCAR.formatted(CONTEM.formatted("email"));
+    private static final String BUSCAR_POR_NOME_E_EMAIL = BUSCAR.formatted(
+            CONTEM.formatted("nome") + " AND " + CONTEM.formatted("email"));
+
+    private static final RowMapper<ClienteEntity> CLIENTE = (rs, linha) -> {
+        ClienteEntity cliente = new ClienteEntity(rs.getString("email"), rs.getString("nome"), rs.getString("cpf"));
+        cliente.setId(rs.getLong("id"));
+        cliente.setVersao(rs.getLong("versao"));
+        return cliente;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ClienteJdbcRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Long> inserirSeCpfLivre(ClienteEntity cliente) {
+        return jdbcTemplate.queryForList(INSERIR_SE_CPF_LIVRE, Long.class,
+                        cliente.getId(), cliente.getNome(), cliente.getEmail(), cliente.getCpf())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<ClienteAtualizado> atualizar(ClienteEntity cliente, Long versaoEsperada) {
+        RowMapper<ClienteAtualizado> mapper = (rs, linha) -> new ClienteAtualizado(rs.getLong(1), rs.getString(2));
+        List<ClienteAtualizado> atualizados = versaoEsperada == null
+                ? jdbcTemplate.query(ATUALIZAR, mapper, cliente.getNome(), cliente.getEmail(), cliente.getCpf(),
+                        cliente.getId())
+                : jdbcTemplate.query(ATUALIZAR_NA_VERSAO, mapper, cliente.getNome(), cliente.getEmail(),
+                        cliente.getCpf(), cliente.getId(), versaoEsperada);
+        return atualizados.stream().findFirst();
+    }
+
+    @Override
+    public Optional<String> excluirRetornandoCpf(Long id) {
+        return jdbcTemplate.queryForList(EXCLUIR_RETORNANDO_CPF, String.class, id).stream().findFirst();
+    }
+
+    @Override
+    public boolean[] inserirIgnorandoCpfDuplicado(List<ClienteEntity> clientes, int tamanhoBatch) {
+        int[][] contagens = jdbcTemplate.batchUpdate(INSERIR_IGNORANDO_CPF_DUPLICADO, clientes, tamanhoBatch,
+                (ps, cliente) -> {
+                    ps.setLong(1, cliente.getId());
+                    ps.setString(2, cliente.getNome());
+                    ps.setString(3, cliente.getEmail());
+                    ps.setString(4, cliente.getCpf());
+                });
+
+        boolean[] inseridos = new boolean[clientes.size()];
+        int i = 0;
+        for (int[] batch : contagens) {
+            for (int contagem : batch) {
+                inseridos[i++] = contagem > 0;
+            }
+        }
+        return inseridos;
+    }
+
+    @Override
+    public long reservarBlocoIds() {
+        return jdbcTemplate.queryForObject(RESERVAR_BLOCO_IDS, Long.class);
+    }
+
+    @Override
+    public List<Long> inserirComIdsIgnorandoCpfDuplicado(List<ClienteEntity> clientes) {
+        return jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(INSERIR_COM_IDS_IGNORANDO_CPF_DUPLICADO);
+            ps.setArray(1, conexao.createArrayOf("bigint", clientes.stream().map(ClienteEntity::getId).toArray()));
+            ps.setArray(2, conexao.createArrayOf("text", clientes.stream().map(ClienteEntity::getNome).toArray()));
+            ps.setArray(3, conexao.createArrayOf("text", clientes.stream().map(ClienteEntity::getEmail).toArray()));
+            ps.setArray(4, conexao.createArrayOf("text", clientes.stream().map(ClienteEntity::getCpf).toArray()));
+            return ps;
+        }, (rs, linha) -> rs.getLong(1));
+    }
+
+    @Override
+    public List<ClienteEntity> buscarPorNomeEEmail(String nome, String email, long apos, int limite) {
+        if (email == null) {
+            return jdbcTemplate.query(BUSCAR_POR_NOME, CLIENTE, apos, escaparLike(nome), limite);
+        }
+        if (nome == null) {
+            return jdbcTemplate.query(BUSCAR_POR_EMAIL, CLIENTE, apos, escaparLike(email), limite);
+        }
+        return jdbcTemplate.query(BUSCAR_POR_NOME_E_EMAIL, CLIENTE, apos, escaparLike(nome), escaparLike(email),
+                limite);
+    }
+
+    /**
+     * Faz {@code %} e {@code _} digitados valerem como texto, com o escape padrão do LIKE ({@code \}).
+     */
+    static String escaparLike(String trecho) {
+        return trecho.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
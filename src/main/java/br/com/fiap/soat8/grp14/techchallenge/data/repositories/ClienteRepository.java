@@ -1,11 +1,28 @@
 package br.com.fiap.soat8.grp14.techchallenge.data.repositories;
 
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ClienteRepository extends BaseRepository<ClienteEntity> {
+public interface ClienteRepository extends BaseRepository<ClienteEntity>, ClienteJdbcRepository {
+	// Transação própria só nesta consulta: a busca por CPF costuma sair do cache, sem tocar no banco.
+	@Transactional(readOnly = true)
 	Optional<ClienteEntity> findByCpf(String cpf);
+
+	List<ClienteEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_FETCH_STREAM),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<ClienteEntity> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,84 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.repositories;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+
+/**
+ * Operações de produto feitas direto em JDBC. Implementado por {@link ProdutoJdbcRepositoryImpl}
+ * e exposto como fragmento de {@link ProdutoRepository}.
+ */
+public interface ProdutoJdbcRepository {
+
+    /**
+     * Atualiza o produto num único UPDATE, incrementando a versão. Se {@code versaoEsperada} não for
+     * nula, só altera a linha que ainda estiver nessa versão.
+     *
+     * @return a nova versão, ou vazio se o id não existe ou a versão não confere
+     */
+    Optional<Long> atualizar(ProdutoEntity produto, Long versaoEsperada);
+
+    /**
+     * Exclui o produto num único DELETE, sem carregá-lo antes.
+     *
+     * @return {@code false} se o id não existe
+     */
+    boolean excluirPorId(Long id);
+
+    /**
+     * Exclui os produtos num único DELETE.
+     *
+     * @return os ids que de fato foram excluídos
+     */
+    List<Long> excluirPorIds(Collection<Long> ids);
+
+    /**
+     * Busca textual pela coluna {@code busca} (V1.0.3), sem diferenciar acentos, com os resultados
+     * mais relevantes primeiro. {@code termos} segue a sintaxe do {@code websearch_to_tsquery}, que
+     * não falha com entrada malformada.
+     *
+     * @param categoria {@code null} busca em todas as categorias
+     */
+    List<ProdutoEntity> buscarPorTexto(String termos, CategoriaProduto categoria, int limite);
+
+    /**
+     * Registra uma nova versão do catálogo com os produtos incluídos, alterados ou excluídos na
+     * transação corrente. Trava a versão do catálogo até o commit, então deve ser a última escrita
+     * da transação, que deve existir.
+     *
+     * @return a nova versão do catálogo
+     */
+    long registrarAlteracao(Collection<Long> ids);
+
+    /**
+     * A versão atual do catálogo e a menor versão a partir da qual o histórico está completo.
+     */
+    HistoricoCatalogo historicoCatalogo();
+
+    /**
+     * Produtos alterados depois da versão {@code desde} até a versão {@code ate}, cada um uma única
+     * vez, com o estado atual. Produtos excluídos vêm sem entidade.
+     */
+    List<ProdutoAlterado> alteracoesEntre(long desde, long ate);
+
+    /**
+     * Remove do histórico as alterações mais antigas que {@code retencao}. Versões anteriores à
+     * última removida passam a receber o catálogo inteiro.
+     *
+     * @return a quantidade de registros removidos
+     */
+    int compactarHistorico(Duration retencao);
+
+    record HistoricoCatalogo(long versao, long historicoDesde) {
+    }
+
+    /**
+     * @param produto o estado atual, ou {@code null} se o produto foi excluído
+     */
+    record ProdutoAlterado(long id, ProdutoEntity produto) {
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.repositories;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+
+public class ProdutoJdbcRepositoryImpl implements ProdutoJdbcRepository {
+
+    private static final String ATUALIZAR = """
+            UPDATE produto
+            SET nome = ?, descricao = ?, valor = ?, categoria = ?, versao = versao + 1
+            WHERE id = ?
+            RETURNING versao
+            """;
+
+    private static final String ATUALIZAR_NA_VERSAO = """
+            UPDATE produto
+            SET nome = ?, descricao = ?, valor = ?, categoria = ?, versao = versao + 1
+            WHERE id = ? AND versao = ?
+            RETURNING versao
+            """;
+
+    private static final String EXCLUIR_POR_ID = "DELETE FROM produto WHERE id = ?";
+
+    // Os ids vão num único parâmetro do tipo array, então o SQL não varia com a quantidade.
+    private static final String EXCLUIR_POR_IDS = "DELETE FROM produto WHERE id = ANY (?) RETURNING id";
+
+    // O ranking lê o tsvector de cada linha encontrada, então termos muito comuns num cardápio
+    // grande custariam proporcionalmente. O índice GIN entrega no máximo CANDIDATOS_BUSCA linhas,
+    // e só elas são ordenadas; acima disso o resultado é o melhor entre esses candidatos.
+    private static final int CANDIDATOS_BUSCA = 2000;
+
+    private static final String BUSCAR_POR_TEXTO = """
+            SELECT id, nome, descricao, valor, categoria, versao
+            FROM (
+                SELECT p.*, ts_rank_cd(p.busca, consulta) AS relevancia
+                FROM produto p, websearch_to_tsquery('public.portugues_sem_acento', ?) consulta
+                WHERE p.busca @@ consulta %s
+                LIMIT %d
+            ) candidatos
+            ORDER BY relevancia DESC, id
+            LIMIT ?
+            """;
+
+    private static final String BUSCAR_EM_TODAS = BUSCAR_POR_TEXTO.formatted("", CANDIDATOS_BUSCA);
+
+    private static final String BUSCAR_NA_CATEGORIA = BUSCAR_POR_TEXTO.formatted("AND p.categoria = ?",
+            CANDIDATOS_BUSCA);
+
+    private static final String INCREMENTAR_VERSAO_CATALOGO =
+            "UPDATE catalogo_versao SET versao = versao + 1 RETURNING versao";
+
+    private static final String REGISTRAR_ALTERACAO = """
+            INSERT INTO produto_alteracao (versao, produto_id)
+            SELECT ?, id FROM unnest(?::bigint[]) id
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String HISTORICO_CATALOGO = "SELECT versao, historico_desde FROM catalogo_versao";
+
+    private static final String ALTERACOES_ENTRE = """
+            SELECT a.produto_id, p.id, p.nome, p.descricao, p.valor, p.categoria, p.versao
+            FROM (SELECT DISTINCT produto_id FROM produto_alteracao WHERE versao > ? AND versao <= ?) a
+            LEFT JOIN produto p ON p.id = a.produto_id
+            ORDER BY a.produto_id
+            """;
+
+    // historico_desde passa a ser a maior versão removida: a partir dela, tudo o que veio depois
+    // ainda está no histórico.
+    private static final String COMPACTAR_HISTORICO = """
+            WITH removidas AS (
+                DELETE FROM produto_alteracao
+                WHERE alterado_em < now() - make_interval(secs => ?)
+                RETURNING versao
+            ), atualizacao AS (
+                UPDATE catalogo_versao
+                SET historico_desde = GREATEST(historico_desde, (SELECT max(versao) FROM removidas))
+                WHERE EXISTS (SELECT 1 FROM removidas)
+            )
+            SELECT count(*) FROM removidas
+            """;
+
+    private static final RowMapper<ProdutoEntity> PRODUTO = (rs, linha) -> {
+        ProdutoEntity produto = new ProdutoEntity(rs.getString("nome"), rs.getString("descricao"),
+                rs.getDouble("valor"), CategoriaProduto.values()[rs.getInt("categoria")]);
+        produto.setId(rs.getLong("id"));
+        produto.setVersao(rs.getLong("versao"));
+        return produto;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProdutoJdbcRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Optional<Long> atualizar(ProdutoEntity produto, Long versaoEsperada) {
+        // A categoria é gravada pelo ordinal, como no mapeamento JPA da entidade.
+        List<Long> versoes = versaoEsperada == null
+                ? jdbcTemplate.queryForList(ATUALIZAR, Long.class, produto.getNome(), produto.getDescricao(),
+                        produto.getValor(), produto.getCategoriaProduto().ordinal(), produto.getId())
+                : jdbcTemplate.queryForList(ATUALIZAR_NA_VERSAO, Long.class, produto.getNome(), produto.getDescricao(),
+                        produto.getValor(), produto.getCategoriaProduto().ordinal(), produto.getId(), versaoEsperada);
+        return versoes.stream().findFirst();
+    }
+
+    @Override
+    public boolean excluirPorId(Long id) {
+        return jdbcTemplate.update(EXCLUIR_POR_ID, id) > 0;
+    }
+
+    @Override
+    public List<Long> excluirPorIds(Collection<Long> ids) {
+        return jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(EXCLUIR_POR_IDS);
+            ps.setArray(1, conexao.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        }, (rs, linha) -> rs.getLong(1));
+    }
+
+    @Override
+    public long registrarAlteracao(Collection<Long> ids) {
+        long versao = jdbcTemplate.queryForObject(INCREMENTAR_VERSAO_CATALOGO, Long.class);
+        jdbcTemplate.update(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(REGISTRAR_ALTERACAO);
+            ps.setLong(1, versao);
+            ps.setArray(2, conexao.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        });
+        return versao;
+    }
+
+    @Override
+    public HistoricoCatalogo historicoCatalogo() {
+        return jdbcTemplate.queryForObject(HISTORICO_CATALOGO,
+                (rs, linha) -> new HistoricoCatalogo(rs.getLong("versao"), rs.getLong("historico_desde")));
+    }
+
+    @Override
+    public List<ProdutoAlterado> alteracoesEntre(long desde, long ate) {
+        return jdbcTemplate.query(ALTERACOES_ENTRE, (rs, linha) -> {
+            rs.getLong("id");
+            ProdutoEntity produto = rs.wasNull() ? null : PRODUTO.mapRow(rs, linha);
+            return new ProdutoAlterado(rs.getLong("produto_id"), produto);
+        }, desde, ate);
+    }
+
+    @Override
+    public int compactarHistorico(Duration retencao) {
+        return jdbcTemplate.queryForObject(COMPACTAR_HISTORICO, Integer.class, (double) retencao.toSeconds());
+    }
+
+    @Override
+    public List<ProdutoEntity> buscarPorTexto(String termos, CategoriaProduto categoria, int limite) {
+        return categoria == null
+                ? jdbcTemplate.query(BUSCAR_EM_TODAS, PRODUTO, termos, limite)
+                : jdbcTemplate.query(BUSCAR_NA_CATEGORIA, PRODUTO, termos, categoria.ordinal(), limite);
+    }
+}
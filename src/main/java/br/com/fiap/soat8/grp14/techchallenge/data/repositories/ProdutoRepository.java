@@ -2,11 +2,21 @@ package br.com.fiap.soat8.grp14.techchallenge.data.repositories;
 
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProdutoRepository extends BaseRepository<ProdutoEntity> {
+public interface ProdutoRepository extends BaseRepository<ProdutoEntity>, ProdutoJdbcRepository {
     List<ProdutoEntity> findByCategoriaProduto(CategoriaProduto categoriaProduto);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TAMANHO_FETCH_STREAM),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProdutoEntity> streamAllByOrderByIdAsc();
 }
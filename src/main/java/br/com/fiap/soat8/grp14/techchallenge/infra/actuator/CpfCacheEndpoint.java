@@ -0,0 +1,26 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.actuator;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+
+/**
+ * Expõe em {@code /actuator/cpfcache} os contadores do cache de busca por CPF.
+ */
+@Component
+@Endpoint(id = "cpfcache")
+public class CpfCacheEndpoint {
+
+    private final ClienteCpfCache clienteCpfCache;
+
+    public CpfCacheEndpoint(ClienteCpfCache clienteCpfCache) {
+        this.clienteCpfCache = clienteCpfCache;
+    }
+
+    @ReadOperation
+    public ClienteCpfCache.Estatisticas estatisticas() {
+        return clienteCpfCache.estatisticas();
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.actuator;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Expõe em {@code /actuator/inicializacao} os passos mais lentos da subida da aplicação, ordenados
+ * pelo tempo próprio de cada um (a duração menos a dos passos filhos), que aponta o bean ou a
+ * configuração responsável em vez de {@code spring.context.refresh}. Só há passos quando a
+ * aplicação sobe com o {@link BufferingApplicationStartup} do método main.
+ */
+@Component
+@Endpoint(id = "inicializacao")
+public class InicializacaoEndpoint {
+
+    static final int LIMITE_PADRAO = 20;
+
+    private final ApplicationStartup applicationStartup;
+
+    public InicializacaoEndpoint(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @ReadOperation
+    public Inicializacao passosMaisLentos(@Nullable Integer limite) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return new Inicializacao(0, List.of());
+        }
+        return resumir(buffering.getBufferedTimeline(), limite == null || limite < 1 ? LIMITE_PADRAO : limite);
+    }
+
+    static Inicializacao resumir(StartupTimeline timeline, int limite) {
+        List<StartupTimeline.TimelineEvent> eventos = timeline.getEvents();
+        Map<Long, Duration> duracaoFilhos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent evento : eventos) {
+            Long pai = evento.getStartupStep().getParentId();
+            if (pai != null) {
+                duracaoFilhos.merge(pai, evento.getDuration(), Duration::plus);
+            }
+        }
+        List<Passo> passos = eventos.stream()
+                .map(evento -> Passo.de(evento,
+                        duracaoFilhos.getOrDefault(evento.getStartupStep().getId(), Duration.ZERO)))
+                .sorted(Comparator.comparingLong(Passo::duracaoPropriaMillis).reversed())
+                .limit(limite)
+                .toList();
+        return new Inicializacao(eventos.size(), passos);
+    }
+
+    public record Inicializacao(int passosRegistrados, List<Passo> maisLentos) {
+    }
+
+    public record Passo(String nome, Map<String, String> tags, long duracaoMillis, long duracaoPropriaMillis) {
+
+        static Passo de(StartupTimeline.TimelineEvent evento, Duration duracaoFilhos) {
+            Map<String, String> tags = new LinkedHashMap<>();
+            for (StartupStep.Tag tag : evento.getStartupStep().getTags()) {
+                tags.put(tag.getKey(), tag.getValue());
+            }
+            Duration duracao = evento.getDuration();
+            // Passos filhos que rodam em paralelo somam mais que o pai; o tempo próprio não fica negativo.
+            long propria = Math.max(0, duracao.minus(duracaoFilhos).toMillis());
+            return new Passo(evento.getStartupStep().getName(), tags, duracao.toMillis(), propria);
+        }
+    }
+}
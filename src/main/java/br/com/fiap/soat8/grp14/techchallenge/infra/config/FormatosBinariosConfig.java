@@ -0,0 +1,32 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Respostas em CBOR ({@code application/cbor}) e Smile ({@code application/x-jackson-smile}) para
+ * quem pede pelo Accept; o JSON continua sendo o padrão. O Spring MVC já registraria os dois
+ * conversores por estarem no classpath, mas com um ObjectMapper próprio: aqui eles usam o builder
+ * do Spring Boot, com as mesmas configurações e módulos do conversor JSON.
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(
+                builder.createXmlMapper(false).factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.config;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.services.ProdutoService;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compacta periodicamente o histórico de alterações do catálogo, que serve
+ * {@code GET /api/produtos/alteracoes}. Com várias instâncias, todas compactam; o DELETE de uma
+ * deixa pouco ou nada para as outras. Registrada aqui, e não com {@code @Scheduled}, para que o
+ * intervalo aceite o mesmo formato ({@code 1h}) das demais durações do application.yml.
+ */
+@Configuration
+@EnableScheduling
+@Slf4j
+public class HistoricoCatalogoConfig implements SchedulingConfigurer {
+
+    private final ProdutoService produtoService;
+    private final Duration retencao;
+    private final Duration intervaloCompactacao;
+
+    public HistoricoCatalogoConfig(ProdutoService produtoService,
+            @Value("${techchallenge.catalogo.historico.retencao}") Duration retencao,
+            @Value("${techchallenge.catalogo.historico.intervalo-compactacao}") Duration intervaloCompactacao) {
+        this.produtoService = produtoService;
+        this.retencao = retencao;
+        this.intervaloCompactacao = intervaloCompactacao;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::compactar, intervaloCompactacao, intervaloCompactacao));
+    }
+
+    void compactar() {
+        Instant inicio = Instant.now();
+        int removidos = produtoService.compactarHistoricoCatalogo(retencao);
+        if (removidos > 0) {
+            log.info("Histórico do catálogo compactado: {} alterações anteriores a {} removidas em {} ms.", removidos,
+                    retencao, Duration.between(inicio, Instant.now()).toMillis());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.config;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.PaginaDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.FalhaLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.RelatorioLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util.StandardError;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+
+/**
+ * O que o processamento AOT do Spring não descobre sozinho para a imagem nativa (profile Maven
+ * {@code native}). Os use cases dos {@code @Bean} e os repositórios já viram código gerado no
+ * build; Flyway ({@code db/migration}) e springdoc trazem as próprias hints.
+ * <p>
+ * Ficam aqui os DTOs que o Jackson serializa fora do retorno tipado de um controller (catálogo
+ * pré-serializado, respostas {@code ResponseEntity<?>}, NDJSON e leitura de lotes) e os proxies JDK
+ * que o datasource-proxy cria para o log de SQL, que repassam cada chamada ao driver por reflexão.
+ */
+@Configuration
+@ImportRuntimeHints(ImagemNativaConfig.Hints.class)
+@RegisterReflectionForBinding({ProdutoDTO.class, ClienteDTO.class, ClienteInsertDTO.class, PaginaDTO.class,
+        FalhaLoteDTO.class, RelatorioLoteDTO.class, StandardError.class})
+public class ImagemNativaConfig {
+
+    static class Hints implements RuntimeHintsRegistrar {
+
+        // Na mesma ordem de interfaces usada pelo JdkJdbcProxyFactory.
+        private static final Class<?>[] JDBC_PROXIES = {DataSource.class, Connection.class, Statement.class,
+                PreparedStatement.class, CallableStatement.class, ResultSet.class};
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(ProxyJdbcObject.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+            for (Class<?> tipo : JDBC_PROXIES) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, tipo);
+                hints.reflection().registerType(tipo, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+        }
+    }
+}
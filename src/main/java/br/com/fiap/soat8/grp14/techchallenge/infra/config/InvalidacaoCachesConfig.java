@@ -0,0 +1,42 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.OuvinteInvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+
+/**
+ * Invalidação dos caches em memória entre instâncias, por NOTIFY/LISTEN no PostgreSQL. A conexão
+ * do LISTEN vai sempre ao {@code spring.datasource}, o primário: uma réplica não recebe os NOTIFY.
+ */
+@Configuration
+public class InvalidacaoCachesConfig {
+
+    @Bean
+    public InvalidacaoCaches invalidacaoCaches(JdbcTemplate jdbcTemplate,
+            @Value("${techchallenge.cache.invalidacao.habilitada}") boolean habilitada) {
+        return new InvalidacaoCaches(jdbcTemplate, habilitada);
+    }
+
+    @Bean
+    public OuvinteInvalidacaoCaches ouvinteInvalidacaoCaches(DataSourceProperties properties,
+            InvalidacaoCaches invalidacaoCaches, CatalogoProdutosCache catalogo, ClienteCpfCache cpfCache,
+            ClienteRepository clienteRepository,
+            @Value("${techchallenge.cache.invalidacao.intervalo-verificacao}") Duration intervaloVerificacao,
+            @Value("${techchallenge.cache.invalidacao.espera-reconexao}") Duration esperaReconexao) {
+        SimpleDriverDataSource conexoes = properties.initializeDataSourceBuilder()
+                .type(SimpleDriverDataSource.class).build();
+        return new OuvinteInvalidacaoCaches(conexoes, invalidacaoCaches, catalogo, cpfCache, clienteRepository,
+                intervaloVerificacao, esperaReconexao);
+    }
+}
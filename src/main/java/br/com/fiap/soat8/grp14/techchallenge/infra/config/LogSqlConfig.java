@@ -0,0 +1,44 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.com.fiap.soat8.grp14.techchallenge.infra.sql.LogConsultasLentas;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Log de consultas lentas e amostradas ({@link LogConsultasLentas}) em todo SQL da aplicação, do
+ * Hibernate e do JdbcTemplate, no lugar do {@code show_sql}. Só o DataSource principal é envolvido;
+ * com a réplica configurada, ele é o proxy de roteamento e o log cobre os dois bancos.
+ */
+@Configuration
+public class LogSqlConfig {
+
+    @Bean(destroyMethod = "close")
+    public LogConsultasLentas logConsultasLentas(@Value("${techchallenge.sql.limite-lenta}") Duration limite,
+            @Value("${techchallenge.sql.taxa-amostragem}") double taxaAmostragem,
+            @Value("${techchallenge.sql.capacidade-fila}") int capacidadeFila) {
+        return new LogConsultasLentas(limite, taxaAmostragem, capacidadeFila);
+    }
+
+    @Bean
+    public static BeanPostProcessor logSqlDataSourcePostProcessor(ObjectProvider<LogConsultasLentas> log) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || !beanName.equals("dataSource")) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(log.getObject()).build();
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import br.com.fiap.soat8.grp14.techchallenge.infra.datasource.PrimarioAposEscritaFilter;
+import br.com.fiap.soat8.grp14.techchallenge.infra.datasource.RoteamentoDataSource;
+
+/**
+ * Réplica de leitura, ativada por {@code techchallenge.datasource.replica.url}. Sem ela, a aplicação
+ * usa apenas o DataSource do {@code spring.datasource}, como antes.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "techchallenge.datasource.replica", name = "url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("techchallenge.datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica(@Value("${techchallenge.datasource.replica.url}") String url,
+            @Value("${techchallenge.datasource.replica.username:${spring.datasource.username}}") String usuario,
+            @Value("${techchallenge.datasource.replica.password:${spring.datasource.password}}") String senha) {
+        HikariDataSource dataSource = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(usuario).password(senha).build();
+        dataSource.setPoolName("replica");
+        // Uma escrita roteada por engano falha na réplica em vez de passar despercebida.
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+            @Qualifier("dataSourceReplica") DataSource replica) {
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, replica);
+        roteamento.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(roteamento);
+    }
+
+    @Bean
+    public PrimarioAposEscritaFilter primarioAposEscritaFilter(
+            @Value("${techchallenge.datasource.replica.janela-leitura-primario}") Duration janela) {
+        return new PrimarioAposEscritaFilter(janela);
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+/**
+ * Profile {@code virtual}: o Tomcat atende cada requisição numa virtual thread, e o trabalho
+ * assíncrono (as exportações em NDJSON) também roda nelas. Abaixo do Java 21 o Spring Boot ignora
+ * {@code spring.threads.virtual.enabled} sem avisar, então a inicialização falha em vez de subir
+ * com threads de plataforma.
+ */
+@Configuration
+@Profile("virtual")
+public class ThreadsVirtuaisConfig {
+
+    public ThreadsVirtuaisConfig(Environment environment) {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            throw new IllegalStateException("O profile virtual exige Java 21 e spring.threads.virtual.enabled=true"
+                    + " (Java atual: " + System.getProperty("java.version") + ").");
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package br.com.fiap.soat8.grp14.techchallenge.infra.config.beans;
 
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.*;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+import jakarta.persistence.EntityManager;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,8 +16,20 @@ import org.springframework.context.annotation.Configuration;
 public class ClienteUseCaseBeans {
 
     @Bean
-    public BuscarClienteCpfUseCase buscarClienteCpfUseCase(ClienteRepository clienteRepository) {
-        return new BuscarClienteCpfUseCase(clienteRepository);
+    public ClienteCpfCache clienteCpfCache(@Value("${techchallenge.cache.cpf.capacidade}") int capacidade,
+            @Value("${techchallenge.cache.cpf.ttl}") Duration ttl,
+            @Value("${techchallenge.cache.cpf.ttl-negativo}") Duration ttlNegativo) {
+        return new ClienteCpfCache(capacidade, ttl, ttlNegativo);
+    }
+
+    @Bean
+    public BuscarClienteCpfUseCase buscarClienteCpfUseCase(ClienteRepository clienteRepository, ClienteCpfCache clienteCpfCache) {
+        return new BuscarClienteCpfUseCase(clienteRepository, clienteCpfCache);
+    }
+
+    @Bean
+    public BuscarClientesUseCase buscarClientesUseCase(ClienteRepository clienteRepository) {
+        return new BuscarClientesUseCase(clienteRepository);
     }
 
     @Bean
@@ -19,18 +38,46 @@ public class ClienteUseCaseBeans {
     }
 
     @Bean
-    public AtualizarClienteUseCase atualizarClienteUseCase(ClienteRepository clienteRepository) {
-        return new AtualizarClienteUseCase(clienteRepository);
+    public AtualizarClienteUseCase atualizarClienteUseCase(ClienteRepository clienteRepository, ClienteCpfCache clienteCpfCache,
+            InvalidacaoCaches invalidacaoCaches) {
+        return new AtualizarClienteUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches);
+    }
+
+    @Bean
+    public CriarClienteUseCase criarClienteUseCase(ClienteRepository clienteRepository, ClienteCpfCache clienteCpfCache,
+            InvalidacaoCaches invalidacaoCaches, ReservarIdClienteUseCase reservarIdClienteUseCase) {
+        return new CriarClienteUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches, reservarIdClienteUseCase);
+    }
+
+    @Bean
+    public CriarClientesEmLoteUseCase criarClientesEmLoteUseCase(ClienteRepository clienteRepository,
+            ClienteCpfCache clienteCpfCache, InvalidacaoCaches invalidacaoCaches,
+            ReservarIdClienteUseCase reservarIdClienteUseCase,
+            @Value("${techchallenge.lote.tamanho-batch}") int tamanhoBatch) {
+        return new CriarClientesEmLoteUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches,
+                reservarIdClienteUseCase, tamanhoBatch);
+    }
+
+    @Bean
+    public CriarClientesAgrupadosUseCase criarClientesAgrupadosUseCase(ClienteRepository clienteRepository, ClienteCpfCache clienteCpfCache,
+            InvalidacaoCaches invalidacaoCaches) {
+        return new CriarClientesAgrupadosUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches);
+    }
+
+    @Bean
+    public ExcluirClienteUseCase excluirClienteUseCase(ClienteRepository clienteRepository, ClienteCpfCache clienteCpfCache,
+            InvalidacaoCaches invalidacaoCaches) {
+        return new ExcluirClienteUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches);
     }
 
     @Bean
-    public CriarClienteUseCase criarClienteUseCase(ClienteRepository clienteRepository) {
-        return new CriarClienteUseCase(clienteRepository);
+    public ReservarIdClienteUseCase reservarIdClienteUseCase(ClienteRepository clienteRepository) {
+        return new ReservarIdClienteUseCase(clienteRepository);
     }
 
     @Bean
-    public ExcluirClienteUseCase excluirClienteUseCase(ClienteRepository clienteRepository, BuscarClienteIdUseCase buscarClienteIdUseCase) {
-        return new ExcluirClienteUseCase(clienteRepository, buscarClienteIdUseCase);
+    public ExportarClientesUseCase exportarClientesUseCase(ClienteRepository clienteRepository, EntityManager entityManager) {
+        return new ExportarClientesUseCase(clienteRepository, entityManager);
     }
 
     @Bean
@@ -4,45 +4,92 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.AtualizarProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarAlteracoesCatalogoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoCategoriaUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutosPorTextoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarVersaoCatalogoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CompactarHistoricoCatalogoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CriarProdutoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutosEmLoteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExportarProdutosUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ListarProdutosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+import jakarta.persistence.EntityManager;
 
 @Configuration
 public class ProdutoUseCaseBeans {
 
     @Bean
-    public AtualizarProdutoUseCase atualizarProdutoUseCase(ProdutoRepository repository) {
-        return new AtualizarProdutoUseCase(repository);
+    public CatalogoProdutosCache catalogoProdutosCache(ProdutoRepository repository) {
+        return new CatalogoProdutosCache(repository);
     }
 
     @Bean
-    public BuscarProdutoCategoriaUseCase buscarProdutoCategoriaUseCase(ProdutoRepository repository) {
-        return new BuscarProdutoCategoriaUseCase(repository);
+    public AtualizarProdutoUseCase atualizarProdutoUseCase(ProdutoRepository repository, CatalogoProdutosCache catalogo,
+            InvalidacaoCaches invalidacaoCaches) {
+        return new AtualizarProdutoUseCase(repository, catalogo, invalidacaoCaches);
     }
 
     @Bean
-    public BuscarProdutoIdUseCase buscarProdutoIdUseCase(ProdutoRepository repository) {
-        return new BuscarProdutoIdUseCase(repository);
+    public BuscarAlteracoesCatalogoUseCase buscarAlteracoesCatalogoUseCase(ProdutoRepository repository) {
+        return new BuscarAlteracoesCatalogoUseCase(repository);
     }
 
     @Bean
-    public CriarProdutoUseCase criarProdutoUseCase(ProdutoRepository repository) {
-        return new CriarProdutoUseCase(repository);
+    public BuscarProdutoCategoriaUseCase buscarProdutoCategoriaUseCase(CatalogoProdutosCache catalogo) {
+        return new BuscarProdutoCategoriaUseCase(catalogo);
     }
 
     @Bean
-    public ExcluirProdutoUseCase excluirProdutoUseCase(ProdutoRepository repository,
-            BuscarProdutoIdUseCase buscarProdutoIdUseCase) {
-        return new ExcluirProdutoUseCase(repository, buscarProdutoIdUseCase);
+    public BuscarProdutoIdUseCase buscarProdutoIdUseCase(CatalogoProdutosCache catalogo) {
+        return new BuscarProdutoIdUseCase(catalogo);
     }
 
     @Bean
-    public ListarProdutosUseCase listarProdutosUseCase(ProdutoRepository repository) {
-        return new ListarProdutosUseCase(repository);
+    public BuscarProdutosPorTextoUseCase buscarProdutosPorTextoUseCase(ProdutoRepository repository) {
+        return new BuscarProdutosPorTextoUseCase(repository);
+    }
+
+    @Bean
+    public BuscarVersaoCatalogoUseCase buscarVersaoCatalogoUseCase(CatalogoProdutosCache catalogo) {
+        return new BuscarVersaoCatalogoUseCase(catalogo);
+    }
+
+    @Bean
+    public CompactarHistoricoCatalogoUseCase compactarHistoricoCatalogoUseCase(ProdutoRepository repository) {
+        return new CompactarHistoricoCatalogoUseCase(repository);
+    }
+
+    @Bean
+    public CriarProdutoUseCase criarProdutoUseCase(ProdutoRepository repository, CatalogoProdutosCache catalogo,
+            InvalidacaoCaches invalidacaoCaches) {
+        return new CriarProdutoUseCase(repository, catalogo, invalidacaoCaches);
+    }
+
+    @Bean
+    public ExcluirProdutoUseCase excluirProdutoUseCase(ProdutoRepository repository, CatalogoProdutosCache catalogo,
+            InvalidacaoCaches invalidacaoCaches) {
+        return new ExcluirProdutoUseCase(repository, catalogo, invalidacaoCaches);
+    }
+
+    @Bean
+    public ExcluirProdutosEmLoteUseCase excluirProdutosEmLoteUseCase(ProdutoRepository repository, CatalogoProdutosCache catalogo,
+            InvalidacaoCaches invalidacaoCaches) {
+        return new ExcluirProdutosEmLoteUseCase(repository, catalogo, invalidacaoCaches);
+    }
+
+    @Bean
+    public ExportarProdutosUseCase exportarProdutosUseCase(ProdutoRepository repository, EntityManager entityManager) {
+        return new ExportarProdutosUseCase(repository, entityManager);
+    }
+
+    @Bean
+    public ListarProdutosUseCase listarProdutosUseCase(CatalogoProdutosCache catalogo) {
+        return new ListarProdutosUseCase(catalogo);
     }
 
 }
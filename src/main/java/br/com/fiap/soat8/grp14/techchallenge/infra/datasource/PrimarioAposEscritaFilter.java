@@ -0,0 +1,65 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.datasource;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Leitura das próprias escritas com réplica: toda requisição que altera dados devolve um cookie
+ * com validade de {@code janela}, e enquanto ele existir as leituras desse chamador vão ao
+ * primário, sem depender do atraso de replicação. O cookie é gravado antes de a requisição ser
+ * processada, já que depois o corpo da resposta pode ter sido enviado.
+ */
+public class PrimarioAposEscritaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "techchallenge-primario";
+
+    private final Duration janela;
+
+    public PrimarioAposEscritaFilter(Duration janela) {
+        this.janela = janela;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean escrita = !HttpMethod.GET.matches(request.getMethod()) && !HttpMethod.HEAD.matches(request.getMethod())
+                && !HttpMethod.OPTIONS.matches(request.getMethod());
+        if (escrita) {
+            ResponseCookie cookie = ResponseCookie.from(COOKIE, "1").maxAge(janela).path("/").httpOnly(true).build();
+            response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+        }
+        if (!escrita && !temCookie(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        RoteamentoDataSource.forcarPrimario();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RoteamentoDataSource.liberarPrimario();
+        }
+    }
+
+    private static boolean temCookie(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.datasource;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Envia as transações somente leitura ({@code @Transactional(readOnly = true)}, inclusive as dos
+ * métodos de leitura do Spring Data) à réplica e todo o resto ao primário.
+ * <p>
+ * A chave é lida quando a conexão física é aberta, então este DataSource precisa ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: o gerenciador de
+ * transações pede a conexão antes de marcar a transação como somente leitura.
+ * <p>
+ * Exceção: a recarga dos caches em memória ({@link #lerDoPrimario(Supplier)}) lê sempre do primário.
+ * Ela ocorre logo depois de um commit no primário, e o que for lido é servido como atual até a
+ * próxima escrita; uma réplica atrasada deixaria o cache desatualizado por tempo indeterminado.
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino {
+        PRIMARIO, REPLICA
+    }
+
+    private static final ThreadLocal<Boolean> PRIMARIO_FORCADO = new ThreadLocal<>();
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+    }
+
+    /**
+     * Leva também as leituras da thread atual ao primário, até {@link #liberarPrimario()}.
+     */
+    public static void forcarPrimario() {
+        PRIMARIO_FORCADO.set(Boolean.TRUE);
+    }
+
+    public static void liberarPrimario() {
+        PRIMARIO_FORCADO.remove();
+    }
+
+    /**
+     * Executa {@code leitura} com o primário forçado e depois restaura o estado anterior da thread,
+     * que pode já estar forçado por {@link PrimarioAposEscritaFilter}. Só afeta conexões abertas
+     * dentro de {@code leitura}, não a de uma transação que já tenha consultado a réplica.
+     */
+    public static <T> T lerDoPrimario(Supplier<T> leitura) {
+        boolean jaForcado = PRIMARIO_FORCADO.get() != null;
+        forcarPrimario();
+        try {
+            return leitura.get();
+        } finally {
+            if (!jaForcado) {
+                liberarPrimario();
+            }
+        }
+    }
+
+    @Override
+    protected Destino determineCurrentLookupKey() {
+        if (PRIMARIO_FORCADO.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return Destino.REPLICA;
+        }
+        return Destino.PRIMARIO;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.metricas;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.VersaoDesatualizadaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede cada {@code execute} de use case no timer {@code techchallenge.caso.uso}, com as tags
+ * {@code caso_uso} (nome da classe) e {@code resultado}. As exceções de negócio têm resultado
+ * próprio, para que um 404 ou 400 não se confunda com falha da aplicação.
+ */
+public class CasoDeUsoMetricasInterceptor implements MethodInterceptor {
+
+    static final String METRICA = "techchallenge.caso.uso";
+
+    // Resolvido no primeiro uso: o advisor é criado antes do registry e das suas customizações.
+    private final ObjectProvider<MeterRegistry> registry;
+
+    public CasoDeUsoMetricasInterceptor(ObjectProvider<MeterRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry meterRegistry = registry.getObject();
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        String resultado = "sucesso";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            resultado = resultado(e);
+            throw e;
+        } finally {
+            amostra.stop(Timer.builder(METRICA)
+                    .description("Execuções de use case")
+                    .tag("caso_uso", invocation.getThis().getClass().getSimpleName())
+                    .tag("resultado", resultado)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String resultado(Throwable e) {
+        if (e instanceof EntityNotFoundException) {
+            return "nao_encontrado";
+        }
+        if (e instanceof DataIntegrityException) {
+            return "integridade";
+        }
+        if (e instanceof VersaoDesatualizadaException) {
+            return "versao_desatualizada";
+        }
+        return "erro";
+    }
+}
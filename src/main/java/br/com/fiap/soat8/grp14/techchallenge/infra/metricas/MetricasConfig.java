@@ -0,0 +1,114 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.metricas;
+
+import java.lang.reflect.Method;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.services.ClienteCadastroAssincronoService;
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ReservarIdClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.OuvinteInvalidacaoCaches;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Métricas da aplicação publicadas em {@code /actuator/prometheus}, além das automáticas do Spring
+ * Boot (requisições HTTP, {@code spring.data.repository.invocations} e pool do Hikari).
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Intercepta o {@code execute} de todo bean que estende {@link AbstractUseCase}, sem alterar as
+     * classes do core. O {@link ReservarIdClienteUseCase} fica de fora: é chamado uma vez por
+     * cliente dentro dos outros casos de uso e só iria ao banco a cada bloco de ids.
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor casoDeUsoMetricasAdvisor(ObjectProvider<MeterRegistry> registry) {
+        StaticMethodMatcherPointcut execute = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return method.getName().equals("execute") && method.getParameterCount() == 1;
+            }
+        };
+        execute.setClassFilter(classe -> AbstractUseCase.class.isAssignableFrom(classe)
+                && !ReservarIdClienteUseCase.class.isAssignableFrom(classe));
+        return new DefaultPointcutAdvisor(execute, new CasoDeUsoMetricasInterceptor(registry));
+    }
+
+    /**
+     * Acertos e falhas dos caches nos nomes usados pelo Micrometer para caches ({@code cache.gets},
+     * {@code cache.size}). No catálogo, a falha é uma carga completa do banco.
+     */
+    @Bean
+    public MeterBinder cachesMetricas(ClienteCpfCache clienteCpfCache, CatalogoProdutosCache catalogo) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", clienteCpfCache, cache -> cache.estatisticas().acertos())
+                    .tags("cache", "cpf", "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", clienteCpfCache, cache -> cache.estatisticas().falhas())
+                    .tags("cache", "cpf", "result", "miss").register(registry);
+            FunctionCounter.builder("cache.evictions", clienteCpfCache, cache -> cache.estatisticas().despejos())
+                    .tags("cache", "cpf").register(registry);
+            Gauge.builder("cache.size", clienteCpfCache, cache -> cache.estatisticas().tamanho())
+                    .tags("cache", "cpf").register(registry);
+
+            FunctionCounter.builder("cache.gets", catalogo,
+                            cache -> cache.estatisticas().leituras() - cache.estatisticas().carregamentos())
+                    .tags("cache", "catalogo", "result", "hit").register(registry);
+            FunctionCounter.builder("cache.gets", catalogo, cache -> cache.estatisticas().carregamentos())
+                    .tags("cache", "catalogo", "result", "miss").register(registry);
+            Gauge.builder("cache.size", catalogo, cache -> cache.estatisticas().tamanho())
+                    .tags("cache", "catalogo").register(registry);
+        };
+    }
+
+    /**
+     * Invalidação dos caches entre instâncias: avisos enviados e aplicados, conexões do LISTEN
+     * (acima de 1, reconexões, cada uma esvaziando os caches) e se a conexão está ativa.
+     */
+    @Bean
+    public MeterBinder invalidacaoCachesMetricas(InvalidacaoCaches invalidacao, OuvinteInvalidacaoCaches ouvinte) {
+        return registry -> {
+            FunctionCounter.builder("cache.invalidacao.enviados", invalidacao, InvalidacaoCaches::enviados)
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidacao.aplicados", ouvinte, o -> o.estatisticas().aplicados())
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidacao.conexoes", ouvinte, o -> o.estatisticas().conexoes())
+                    .register(registry);
+            Gauge.builder("cache.invalidacao.conectado", ouvinte, o -> o.isConectado() ? 1 : 0).register(registry);
+        };
+    }
+
+    /**
+     * Fila do cadastro assíncrono de clientes: ocupação, cadastros recusados por fila cheia e
+     * cadastros gravados por commit ({@code gravados / commits}).
+     */
+    @Bean
+    public MeterBinder cadastroAssincronoMetricas(ClienteCadastroAssincronoService cadastroAssincrono) {
+        return registry -> {
+            Gauge.builder("cadastro.clientes.fila", cadastroAssincrono,
+                    servico -> servico.estatisticas().tamanhoFila()).register(registry);
+            FunctionCounter.builder("cadastro.clientes.recusados", cadastroAssincrono,
+                    servico -> servico.estatisticas().recusados()).register(registry);
+            FunctionCounter.builder("cadastro.clientes.gravados", cadastroAssincrono,
+                    servico -> servico.estatisticas().gravados()).register(registry);
+            FunctionCounter.builder("cadastro.clientes.rejeitados", cadastroAssincrono,
+                    servico -> servico.estatisticas().rejeitados()).register(registry);
+            FunctionCounter.builder("cadastro.clientes.commits", cadastroAssincrono,
+                    servico -> servico.estatisticas().commits()).register(registry);
+        };
+    }
+}
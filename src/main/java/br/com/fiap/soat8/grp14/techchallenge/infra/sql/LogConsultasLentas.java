@@ -0,0 +1,153 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.sql;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+/**
+ * Log das consultas SQL que passam de {@code limite}, mais uma amostra aleatória das demais
+ * ({@code taxaAmostragem}, de 0 a 1), com o tempo de execução e os parâmetros.
+ * <p>
+ * A thread da requisição só copia a consulta para uma fila limitada; a formatação e a escrita no
+ * log ficam numa thread própria. Com a fila cheia o registro é descartado e contado, em vez de
+ * segurar a requisição. CPFs e e-mails são mascarados no SQL e nos parâmetros.
+ */
+@Slf4j
+public class LogConsultasLentas implements QueryExecutionListener, AutoCloseable {
+
+    static final String MASCARA = "***";
+
+    private static final Pattern CPF = Pattern.compile("\\b\\d{3}\\.?\\d{3}\\.?\\d{3}-?\\d{2}\\b");
+    private static final Pattern EMAIL = Pattern.compile("[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+");
+
+    private final long limiteMillis;
+    private final double taxaAmostragem;
+    private final BlockingQueue<Registro> fila;
+    private final LongAdder descartados = new LongAdder();
+    private final Thread escritor;
+
+    public LogConsultasLentas(Duration limite, double taxaAmostragem, int capacidadeFila) {
+        this.limiteMillis = limite.toMillis();
+        this.taxaAmostragem = taxaAmostragem;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.escritor = new Thread(this::escrever, "log-sql");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long tempo = execInfo.getElapsedTime();
+        boolean lenta = tempo >= limiteMillis;
+        if (!lenta && (taxaAmostragem <= 0 || ThreadLocalRandom.current().nextDouble() >= taxaAmostragem)) {
+            return;
+        }
+        List<String> consultas = new ArrayList<>(queryInfoList.size());
+        List<Object> parametros = new ArrayList<>();
+        for (QueryInfo queryInfo : queryInfoList) {
+            consultas.add(queryInfo.getQuery());
+            // Num batch, só o primeiro conjunto de parâmetros; o tamanho do batch vai no log.
+            if (parametros.isEmpty() && !queryInfo.getParametersList().isEmpty()) {
+                parametros.addAll(parametros(queryInfo.getParametersList().get(0)));
+            }
+        }
+        Registro registro = new Registro(lenta, tempo, execInfo.isBatch() ? execInfo.getBatchSize() : 0,
+                execInfo.isSuccess(), consultas, parametros);
+        if (!fila.offer(registro)) {
+            descartados.increment();
+        }
+    }
+
+    private void escrever() {
+        while (!Thread.currentThread().isInterrupted()) {
+            Registro registro;
+            try {
+                registro = fila.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long perdidos = descartados.sumThenReset();
+            if (perdidos > 0) {
+                log.warn("{} consultas SQL deixaram de ser registradas com a fila do log cheia.", perdidos);
+            }
+            if (registro != null) {
+                if (registro.lenta()) {
+                    log.warn(formatar(registro));
+                } else {
+                    log.info(formatar(registro));
+                }
+            }
+        }
+    }
+
+    /**
+     * Valores de um conjunto de parâmetros, na ordem em que foram informados ao statement. Em
+     * {@code setNull(indice, tipoSql)} o segundo argumento é o tipo, não o valor; parâmetros de
+     * saída de procedures ficam de fora.
+     */
+    static List<Object> parametros(List<ParameterSetOperation> operacoes) {
+        List<Object> valores = new ArrayList<>(operacoes.size());
+        for (ParameterSetOperation operacao : operacoes) {
+            if (ParameterSetOperation.isSetNullParameterOperation(operacao)) {
+                valores.add(null);
+            } else if (!ParameterSetOperation.isRegisterOutParameterOperation(operacao)) {
+                valores.add(operacao.getArgs()[1]);
+            }
+        }
+        return valores;
+    }
+
+    static String formatar(Registro registro) {
+        StringBuilder linha = new StringBuilder(registro.lenta() ? "SQL lenta" : "SQL amostrada")
+                .append(" (").append(registro.tempoMillis()).append(" ms");
+        if (registro.tamanhoBatch() > 0) {
+            linha.append(", batch de ").append(registro.tamanhoBatch());
+        }
+        if (!registro.sucesso()) {
+            linha.append(", com erro");
+        }
+        linha.append("): ").append(mascarar(String.join("; ", registro.consultas())));
+        if (!registro.parametros().isEmpty()) {
+            linha.append(" | parâmetros: ").append(registro.parametros().stream()
+                    .map(parametro -> parametro == null ? "null" : mascarar(parametro.toString())).toList());
+        }
+        return linha.toString();
+    }
+
+    static String mascarar(String texto) {
+        return EMAIL.matcher(CPF.matcher(texto).replaceAll(MASCARA)).replaceAll(MASCARA);
+    }
+
+    @Override
+    public void close() {
+        escritor.interrupt();
+    }
+
+    record Registro(boolean lenta, long tempoMillis, int tamanhoBatch, boolean sucesso, List<String> consultas,
+            List<Object> parametros) {
+
+        Registro {
+            consultas = List.copyOf(consultas);
+            parametros = Collections.unmodifiableList(parametros);
+        }
+    }
+
+}
@@ -1,16 +1,31 @@
 package br.com.fiap.soat8.grp14.techchallenge.presentation.controllers;
 
-import java.util.List;
-
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.PaginaDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.CadastroClienteDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.RelatorioLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.services.ClienteCadastroAssincronoService;
+import br.com.fiap.soat8.grp14.techchallenge.app.services.ClienteLoteService;
 import br.com.fiap.soat8.grp14.techchallenge.app.services.ClienteService;
+import br.com.fiap.soat8.grp14.techchallenge.app.services.LeitorLoteClientes;
+import br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util.NdjsonWriter;
+import br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util.VersaoETag;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import org.springframework.core.annotation.Order;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -23,12 +38,43 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @AllArgsConstructor
 public class ClienteController {
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
+    // Preferências de requisição da RFC 7240.
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RESPOND_ASYNC = "respond-async";
+
     private final ClienteService clienteService;
+    private final ClienteLoteService clienteLoteService;
+    private final ObjectMapper objectMapper;
+    private final ClienteCadastroAssincronoService cadastroAssincronoService;
 
     @GetMapping
-    @Operation(summary = "Este endpoint é responsável por listar os clientes cadastrados.")
-    public ResponseEntity<List<ClienteDTO>> listarTodos() {
-        return ResponseEntity.ok().body(this.clienteService.listarTodos());
+    @Operation(summary = "Este endpoint é responsável por listar os clientes cadastrados, paginados por cursor.")
+    public ResponseEntity<PaginaDTO<ClienteDTO>> listarTodos(@RequestParam(name = "after", required = false) Long after,
+                                                            @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(this.clienteService.listarTodos(after, limit));
+    }
+
+    @GetMapping("/busca")
+    @Operation(summary = "Este endpoint é responsável por buscar clientes por trecho do nome e/ou do e-mail, sem diferenciar maiúsculas nem acentos, paginados por cursor.")
+    public ResponseEntity<PaginaDTO<ClienteDTO>> buscarClientes(@RequestParam(name = "nome", required = false) String nome,
+                                                               @RequestParam(name = "email", required = false) String email,
+                                                               @RequestParam(name = "after", required = false) Long after,
+                                                               @RequestParam(name = "limit", required = false) Integer limit) {
+        return ResponseEntity.ok().body(this.clienteService.buscarClientes(nome, email, after, limit));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Este endpoint é responsável por exportar todos os clientes em NDJSON, um por linha.")
+    public ResponseEntity<StreamingResponseBody> exportarClientes() {
+        StreamingResponseBody corpo = outputStream -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream)) {
+                this.clienteService.exportarClientes(writer::escrever);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
     }
 
     @GetMapping("/cpf/{cpf}")
@@ -48,14 +94,43 @@ public class ClienteController {
         if (clienteDTO == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok(clienteDTO);
+        return ResponseEntity.ok().eTag(VersaoETag.formatar(clienteDTO.getVersao())).body(clienteDTO);
     }
 
     @PostMapping
-    @Operation(summary = "Este endpoint é responsável por salvar as informções do cliente.")
-    public ResponseEntity<ClienteDTO> salvarCliente(@Validated @RequestBody ClienteInsertDTO clienteInsertDTO) {
+    @Operation(summary = "Este endpoint é responsável por salvar as informções do cliente; com o cabeçalho "
+            + "Prefer: respond-async e o cadastro assíncrono habilitado, responde 202 e grava o cliente em seguida.")
+    public ResponseEntity<?> salvarCliente(@Validated @RequestBody ClienteInsertDTO clienteInsertDTO,
+                                           @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (cadastroAssincronoService.isHabilitado() && pedeRespostaAssincrona(prefer)) {
+            long id = cadastroAssincronoService.enfileirar(clienteInsertDTO);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/clientes/cadastros/" + id))
+                    .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                    .body(new CadastroClienteDTO(id, CadastroClienteDTO.Situacao.PENDENTE, null));
+        }
         ClienteDTO clienteCriado = clienteService.salvarCliente(clienteInsertDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(clienteCriado);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(VersaoETag.formatar(clienteCriado.getVersao()))
+                .body(clienteCriado);
+    }
+
+    @GetMapping("/cadastros/{id}")
+    @Operation(summary = "Este endpoint é responsável por consultar a situação de um cadastro aceito de forma assíncrona.")
+    public ResponseEntity<CadastroClienteDTO> situacaoCadastro(@PathVariable Long id) {
+        return ResponseEntity.of(cadastroAssincronoService.situacao(id));
+    }
+
+    @PostMapping(value = "/lote", consumes = {MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE})
+    @Operation(summary = "Este endpoint é responsável por cadastrar clientes em lote a partir de NDJSON ou CSV, "
+            + "retornando o relatório das linhas que falharam.")
+    public ResponseEntity<RelatorioLoteDTO> salvarClientesEmLote(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                                InputStream corpo) {
+        LeitorLoteClientes.Formato formato = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? LeitorLoteClientes.Formato.NDJSON
+                : LeitorLoteClientes.Formato.CSV;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        RelatorioLoteDTO relatorio = clienteLoteService.importar(new InputStreamReader(corpo, charset), formato);
+        return ResponseEntity.ok(relatorio);
     }
 
     @DeleteMapping("/{id}")
@@ -66,10 +141,27 @@ public class ClienteController {
     }
 
     @PutMapping(value = "/{id}")
-    @Operation(summary = "Este endpoint é responsável por atualizar as informações do cliente.")
-    public ResponseEntity<ClienteDTO> atualizarCliente(@PathVariable Long id, @Valid @RequestBody ClienteDTO clienteDTO) {
-        ClienteDTO clienteAtualizado = clienteService.atualizarCliente(id, clienteDTO);
-        return ResponseEntity.ok(clienteAtualizado);
+    @Operation(summary = "Este endpoint é responsável por atualizar as informações do cliente; com If-Match, só se a ETag ainda for a atual.")
+    public ResponseEntity<ClienteDTO> atualizarCliente(@PathVariable Long id, @Valid @RequestBody ClienteDTO clienteDTO,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ClienteDTO clienteAtualizado = clienteService.atualizarCliente(id, clienteDTO, VersaoETag.lerIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersaoETag.formatar(clienteAtualizado.getVersao())).body(clienteAtualizado);
+    }
+
+    /**
+     * Indica se o cabeçalho Prefer contém {@code respond-async}, entre outras preferências possíveis.
+     */
+    static boolean pedeRespostaAssincrona(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preferencia : prefer.split(",")) {
+            String nome = preferencia.split("[;=]", 2)[0].trim();
+            if (nome.equalsIgnoreCase(RESPOND_ASYNC)) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
@@ -1,10 +1,15 @@
 package br.com.fiap.soat8.grp14.techchallenge.presentation.controllers;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,14 +17,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.AlteracoesCatalogoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.CatalogoSerializadoDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoInsertDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.services.ProdutoService;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util.NdjsonWriter;
+import br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util.VersaoETag;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -31,39 +50,116 @@ import lombok.AllArgsConstructor;
 @AllArgsConstructor
 public class ProdutoController {
 
+    private static final String GZIP = "gzip";
+
+    static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    static final MediaType APPLICATION_SMILE = MediaType.parseMediaType(APPLICATION_SMILE_VALUE);
+
+    // Em ordem de preferência quando o Accept é genérico, como */* ou application/*.
+    private static final List<MediaType> FORMATOS_CATALOGO = List.of(MediaType.APPLICATION_JSON,
+            MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
     private final ProdutoService produtoService;
+    private final ObjectMapper objectMapper;
 
     @Operation(summary = "Este endpoint é responsável por cadastrar produtos.")
     @PostMapping
     public ResponseEntity<ProdutoDTO> salvarProdutos(@Validated @RequestBody ProdutoInsertDTO produtoInsertDTO) {
         ProdutoDTO produtoSalvo = produtoService.salvarProduto(produtoInsertDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(produtoSalvo);
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(VersaoETag.formatar(produtoSalvo.getVersao()))
+                .body(produtoSalvo);
     }
 
-    @Operation(summary = "Este endpoint é responsável por recuperar todos os produtos.")
+    @Operation(summary = "Este endpoint é responsável por recuperar todos os produtos, em JSON ou, pelo Accept, em CBOR ou Smile; com If-None-Match, responde 304 se o catálogo não mudou.")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ProdutoDTO.class))),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ProdutoDTO.class))),
+            @Content(mediaType = APPLICATION_SMILE_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ProdutoDTO.class)))})
     @GetMapping
-    public ResponseEntity<List<ProdutoDTO>> getProdutos() {
-        return ResponseEntity.ok(this.produtoService.buscarProdutos());
+    public ResponseEntity<?> getProdutos(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        MediaType formato = formatoCatalogo(accept);
+        boolean gzip = formato.equals(MediaType.APPLICATION_JSON) && aceitaGzip(acceptEncoding);
+        // Lida antes da lista: se o catálogo mudar no meio, a ETag sai antiga e o próximo GET
+        // condicional recebe a lista de novo, em vez de um 304 com conteúdo velho.
+        String versao = produtoService.versaoCatalogo();
+        if (request.checkNotModified(etagCatalogo(versao, formato, gzip))) {
+            return null;
+        }
+        if (!formato.equals(MediaType.APPLICATION_JSON)) {
+            return responderCatalogo(versao, formato, produtoService.buscarProdutos());
+        }
+        return responderCatalogo(produtoService.buscarProdutosSerializados(), gzip);
+    }
+
+    @Operation(summary = "Este endpoint é responsável por recuperar os produtos incluídos, alterados ou excluídos desde uma versão do catálogo; sem a versão, ou se ela já saiu do histórico, recupera o catálogo inteiro.")
+    @GetMapping(value = "/alteracoes")
+    public ResponseEntity<AlteracoesCatalogoDTO> getAlteracoes(@RequestParam(required = false) Long desde) {
+        return ResponseEntity.ok(produtoService.buscarAlteracoes(desde));
+    }
+
+    @Operation(summary = "Este endpoint é responsável por exportar todos os produtos em NDJSON, um por linha.")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarProdutos() {
+        StreamingResponseBody corpo = outputStream -> {
+            try (NdjsonWriter writer = new NdjsonWriter(objectMapper, outputStream)) {
+                this.produtoService.exportarProdutos(writer::escrever);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(corpo);
+    }
+
+    @Operation(summary = "Este endpoint é responsável por buscar produtos pelo nome e pela descrição, sem diferenciar acentos, dos mais relevantes para os menos.")
+    @GetMapping(value = "/busca")
+    public ResponseEntity<List<ProdutoDTO>> buscarProdutos(@RequestParam("q") String termos,
+            @RequestParam(required = false) CategoriaProduto categoria,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(produtoService.buscarPorTexto(termos, categoria, limite));
     }
 
     @Operation(summary = "Este endpoint é responsável por recuperar produtos por id.")
     @GetMapping(value = "/{id}")
     public ResponseEntity<ProdutoDTO> getProdutoPorId(@PathVariable Long id) {
         ProdutoDTO produtoBuscado = produtoService.buscarPorId(id);
-        return ResponseEntity.ok(produtoBuscado);
+        return ResponseEntity.ok().eTag(VersaoETag.formatar(produtoBuscado.getVersao())).body(produtoBuscado);
     }
 
-    @Operation(summary = "Este endpoint é responsável por recuperar produtos por categoria.")
+    @Operation(summary = "Este endpoint é responsável por recuperar produtos por categoria, em JSON ou, pelo Accept, em CBOR ou Smile; com If-None-Match, responde 304 se o catálogo não mudou.")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ProdutoDTO.class))),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ProdutoDTO.class))),
+            @Content(mediaType = APPLICATION_SMILE_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = ProdutoDTO.class)))})
     @GetMapping(value = "/categoria/{categoriaProduto}")
-    public ResponseEntity<List<ProdutoDTO>> getProdutosPorCategoria(@PathVariable CategoriaProduto categoriaProduto) {
-        return ResponseEntity.ok(this.produtoService.buscarPorCategoria(categoriaProduto));
+    public ResponseEntity<?> getProdutosPorCategoria(@PathVariable CategoriaProduto categoriaProduto,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        MediaType formato = formatoCatalogo(accept);
+        boolean gzip = formato.equals(MediaType.APPLICATION_JSON) && aceitaGzip(acceptEncoding);
+        // A versão é a do catálogo inteiro: qualquer alteração invalida também as outras categorias.
+        String versao = produtoService.versaoCatalogo();
+        if (request.checkNotModified(etagCatalogo(versao, formato, gzip))) {
+            return null;
+        }
+        if (!formato.equals(MediaType.APPLICATION_JSON)) {
+            return responderCatalogo(versao, formato, produtoService.buscarPorCategoria(categoriaProduto));
+        }
+        return responderCatalogo(produtoService.buscarPorCategoriaSerializados(categoriaProduto), gzip);
     }
 
-    @Operation(summary = "Este endpoint é responsável por atualizar produtos.")
+    @Operation(summary = "Este endpoint é responsável por atualizar produtos; com If-Match, só se a ETag ainda for a atual.")
     @PutMapping(value = "/{id}")
-    public ResponseEntity<ProdutoDTO> atualizarProdutos(@PathVariable Long id, @Valid @RequestBody ProdutoDTO produtoDTO) {
-        ProdutoDTO produtoAtualizado = produtoService.atualizarProduto(id, produtoDTO);
-        return ResponseEntity.ok(produtoAtualizado);
+    public ResponseEntity<ProdutoDTO> atualizarProdutos(@PathVariable Long id, @Valid @RequestBody ProdutoDTO produtoDTO,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        ProdutoDTO produtoAtualizado = produtoService.atualizarProduto(id, produtoDTO, VersaoETag.lerIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersaoETag.formatar(produtoAtualizado.getVersao())).body(produtoAtualizado);
     }
 
     @Operation(summary = "Este endpoint é responsável por deletar produtos.")
@@ -72,4 +168,113 @@ public class ProdutoController {
         produtoService.deletarProduto(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Este endpoint é responsável por deletar vários produtos de uma vez.")
+    @DeleteMapping
+    public ResponseEntity<Void> deletaProdutosEmLote(@RequestParam List<Long> ids) {
+        produtoService.deletarProdutos(ids);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Escreve os bytes já serializados do catálogo, sem passar pelo Jackson. A variante gzip tem
+     * ETag própria, já que uma ETag forte identifica os bytes exatos da resposta.
+     */
+    private static ResponseEntity<byte[]> responderCatalogo(CatalogoSerializadoDTO catalogo, boolean gzip) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .eTag(etagCatalogo(catalogo.versao(), MediaType.APPLICATION_JSON, gzip))
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(catalogo.gzip());
+        }
+        return resposta.body(catalogo.json());
+    }
+
+    /**
+     * Catálogo num formato binário, serializado pelo conversor do formato a cada resposta.
+     */
+    private static ResponseEntity<List<ProdutoDTO>> responderCatalogo(String versao, MediaType formato,
+            List<ProdutoDTO> produtos) {
+        return ResponseEntity.ok()
+                .eTag(etagCatalogo(versao, formato, false))
+                .contentType(formato)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .body(produtos);
+    }
+
+    private static String etagCatalogo(String versao, MediaType formato, boolean gzip) {
+        if (formato.equals(MediaType.APPLICATION_CBOR)) {
+            return VersaoETag.formatar(versao + "-cbor");
+        }
+        if (formato.equals(APPLICATION_SMILE)) {
+            return VersaoETag.formatar(versao + "-smile");
+        }
+        return VersaoETag.formatar(gzip ? versao + "-" + GZIP : versao);
+    }
+
+    /**
+     * O formato da listagem conforme o Accept: o primeiro tipo aceito, em ordem de qualidade e
+     * especificidade, que seja compatível com JSON, CBOR ou Smile. Sem Accept, com {@code *}/{@code *}
+     * ou com um Accept que nenhum dos três atende, JSON.
+     */
+    static MediaType formatoCatalogo(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> aceitos;
+        try {
+            aceitos = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(aceitos);
+        for (MediaType aceito : aceitos) {
+            if (aceito.getQualityValue() <= 0) {
+                continue;
+            }
+            for (MediaType formato : FORMATOS_CATALOGO) {
+                if (aceito.isCompatibleWith(formato)) {
+                    return formato;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Se o Accept-Encoding aceita gzip com qualidade maior que zero. Uma entrada {@code gzip}
+     * explícita prevalece sobre {@code *}.
+     */
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean qualquer = false;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].trim();
+            if (codificacao.equalsIgnoreCase(GZIP)) {
+                gzip = aceita(partes);
+            } else if (codificacao.equals("*")) {
+                qualquer = aceita(partes);
+            }
+        }
+        return gzip != null ? gzip : qualquer;
+    }
+
+    private static boolean aceita(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parametro.substring(2)) > 0;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
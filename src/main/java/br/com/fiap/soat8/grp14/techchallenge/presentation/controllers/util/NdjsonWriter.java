@@ -0,0 +1,43 @@
+package br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Escreve objetos como NDJSON (um documento JSON por linha) diretamente no stream
+ * de saída, reaproveitando o mesmo gerador para todas as linhas. O flush fica a cargo
+ * do buffer do container, evitando um chunk HTTP por linha.
+ */
+public class NdjsonWriter implements Closeable {
+
+    private final ObjectWriter objectWriter;
+    private final JsonGenerator generator;
+
+    public NdjsonWriter(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        this.objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.generator = objectMapper.getFactory().createGenerator(outputStream);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    public void escrever(Object valor) {
+        try {
+            objectWriter.writeValue(generator, valor);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
@@ -4,9 +4,12 @@ package br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util;
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EmptyItensException;
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.FilaCheiaException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.VersaoDesatualizadaException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -22,6 +25,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ResourceExceptionHandler {
 
+    // A fila de cadastros costuma esvaziar em bem menos que isso.
+    private static final String SEGUNDOS_ATE_NOVA_TENTATIVA = "1";
+
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<StandardValidationError> erroValidacao(MethodArgumentNotValidException e, HttpServletRequest httpServletRequest) {
@@ -70,6 +76,30 @@ public class ResourceExceptionHandler {
         return ResponseEntity.status(standardError.getStatus()).body(standardError);
     }
 
+    @ExceptionHandler(VersaoDesatualizadaException.class)
+    public ResponseEntity<StandardError> versaoDesatualizada(VersaoDesatualizadaException e, HttpServletRequest request) {
+        StandardError standardError = StandardError.builder()
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .message(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(standardError);
+    }
+
+    @ExceptionHandler(FilaCheiaException.class)
+    public ResponseEntity<StandardError> filaCheia(FilaCheiaException e, HttpServletRequest request) {
+        StandardError standardError = StandardError.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .message(e.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, SEGUNDOS_ATE_NOVA_TENTATIVA)
+                .body(standardError);
+    }
+
     @ExceptionHandler(DataIntegrityException.class)
     public ResponseEntity<StandardError> dataIntegrityViolation(DataIntegrityException e, HttpServletRequest request) {
         StandardError standardError = StandardError.builder()
@@ -0,0 +1,49 @@
+package br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.VersaoDesatualizadaException;
+
+/**
+ * Converte a versão de um registro em ETag forte ({@code "3"}) e lê de volta a versão exigida
+ * pelo cabeçalho If-Match. A versão do catálogo, que não é numérica, só é formatada: o
+ * If-None-Match das listagens é conferido pelo próprio Spring.
+ */
+public final class VersaoETag {
+
+    private VersaoETag() {
+    }
+
+    /**
+     * @return a ETag da versão, ou {@code null} (sem cabeçalho) se a versão é desconhecida
+     */
+    public static String formatar(Long versao) {
+        return versao == null ? null : "\"" + versao + "\"";
+    }
+
+    public static String formatar(String versao) {
+        return versao == null ? null : "\"" + versao + "\"";
+    }
+
+    /**
+     * @return a versão exigida, ou {@code null} se o cabeçalho está ausente ou é {@code *}
+     * @throws VersaoDesatualizadaException se a ETag não pode corresponder a nenhuma versão,
+     * como uma ETag fraca, que o If-Match nunca aceita
+     */
+    public static Long lerIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.trim();
+        if (etag.contains(",")) {
+            throw new DataIntegrityException("O cabeçalho If-Match deve conter uma única ETag.");
+        }
+        if (etag.length() < 2 || !etag.startsWith("\"") || !etag.endsWith("\"")) {
+            throw new VersaoDesatualizadaException("A ETag informada no If-Match não corresponde à versão atual.");
+        }
+        try {
+            return Long.parseLong(etag.substring(1, etag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new VersaoDesatualizadaException("A ETag informada no If-Match não corresponde à versão atual.");
+        }
+    }
+}
@@ -0,0 +1,3 @@
+#!/bin/sh
+# Libera conexões de replicação física para a réplica de leitura do docker-compose (profile replica).
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
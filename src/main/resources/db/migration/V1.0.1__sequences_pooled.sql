@@ -0,0 +1,5 @@
+-- O Hibernate reserva 50 ids por chamada a nextval (otimizador pooled): o valor retornado é o
+-- topo do bloco e os ids anteriores a ele ficam com a aplicação. O incremento precisa ser igual
+-- ao allocationSize das entidades.
+ALTER SEQUENCE seq_cliente INCREMENT BY 50;
+ALTER SEQUENCE seq_produto INCREMENT BY 50;
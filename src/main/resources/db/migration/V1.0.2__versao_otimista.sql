@@ -0,0 +1,4 @@
+-- Versão para controle de concorrência otimista: cada UPDATE a incrementa e os PUTs com If-Match
+-- só alteram a linha se a versão ainda for a que o cliente leu. Exposta como ETag na API.
+ALTER TABLE cliente ADD COLUMN versao int8 DEFAULT 0 NOT NULL;
+ALTER TABLE produto ADD COLUMN versao int8 DEFAULT 0 NOT NULL;
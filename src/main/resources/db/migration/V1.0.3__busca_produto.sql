@@ -0,0 +1,18 @@
+-- Busca textual no cardápio (GET /api/produtos/busca). A configuração portugues_sem_acento é a
+-- portuguese com o unaccent antes do stemmer, então "pao" encontra "pão" e "cafe" encontra "café".
+-- O unaccent é extensão confiável desde o PostgreSQL 13: basta o privilégio CREATE no banco.
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+CREATE TEXT SEARCH CONFIGURATION public.portugues_sem_acento (COPY = pg_catalog.portuguese);
+ALTER TEXT SEARCH CONFIGURATION public.portugues_sem_acento
+    ALTER MAPPING FOR hword, hword_part, word WITH unaccent, portuguese_stem;
+
+-- Coluna gerada: o banco a mantém em todo INSERT e UPDATE, inclusive os feitos direto em JDBC.
+-- O nome pesa mais que a descrição no ranking. O to_tsvector com a configuração fixa é IMMUTABLE,
+-- o que a coluna gerada exige.
+ALTER TABLE produto ADD COLUMN busca tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('public.portugues_sem_acento', nome), 'A') ||
+    setweight(to_tsvector('public.portugues_sem_acento', descricao), 'B')
+) STORED;
+
+CREATE INDEX idx_produto_busca ON produto USING gin (busca);
@@ -0,0 +1,13 @@
+-- Busca de clientes por parte do nome ou do e-mail (GET /api/clientes/busca), sem diferenciar
+-- maiúsculas nem acentos. Os índices de trigramas (pg_trgm) atendem LIKE '%termo%' com termos de
+-- três caracteres ou mais; o unaccent já foi criado na V1.0.3.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- O unaccent é STABLE (o dicionário poderia mudar) e não pode ser usado direto num índice; com o
+-- dicionário fixo e qualificado pelo schema, a função pode ser declarada IMMUTABLE.
+CREATE FUNCTION public.normalizar_busca(texto text) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+    AS $$ SELECT lower(public.unaccent('public.unaccent'::regdictionary, texto)) $$;
+
+CREATE INDEX idx_cliente_nome_trgm ON cliente USING gin (public.normalizar_busca(nome) gin_trgm_ops);
+CREATE INDEX idx_cliente_email_trgm ON cliente USING gin (public.normalizar_busca(email) gin_trgm_ops);
@@ -0,0 +1,27 @@
+-- Histórico de alterações do catálogo para a sincronização incremental
+-- (GET /api/produtos/alteracoes?desde=<versao>).
+--
+-- A versão do catálogo é uma linha única, incrementada por toda transação que inclui, altera ou
+-- exclui produtos. O UPDATE trava a linha até o commit, então as versões ficam na ordem dos
+-- commits: quem lê a versão N já enxerga todas as alterações até N. historico_desde é a menor
+-- versão a partir da qual o histórico está completo; antes dela, a resposta é o catálogo inteiro.
+-- Os produtos existentes não estão no histórico, por isso ele começa na versão 1.
+CREATE TABLE catalogo_versao (
+    id bool DEFAULT true NOT NULL,
+    versao int8 NOT NULL,
+    historico_desde int8 NOT NULL,
+    CONSTRAINT catalogo_versao_pk PRIMARY KEY (id),
+    CONSTRAINT catalogo_versao_unica CHECK (id)
+);
+
+INSERT INTO catalogo_versao (versao, historico_desde) VALUES (1, 1);
+
+-- Um registro por produto alterado em cada versão; a exclusão se reconhece pela ausência do produto.
+CREATE TABLE produto_alteracao (
+    versao int8 NOT NULL,
+    produto_id int8 NOT NULL,
+    alterado_em timestamptz DEFAULT now() NOT NULL,
+    CONSTRAINT produto_alteracao_pk PRIMARY KEY (versao, produto_id)
+);
+
+CREATE INDEX idx_produto_alteracao_alterado_em ON produto_alteracao (alterado_em);
@@ -0,0 +1,21 @@
+-- CPFs gravados sem a máscara XXX.XXX.XXX-XX. A API passa a exigir o formato no cadastro e na
+-- alteração, e as buscas por CPF consultam sempre o valor formatado; uma linha gravada só com os
+-- dígitos nunca seria encontrada.
+--
+-- Só entram as linhas com 11 dígitos depois de retirados pontos, hífens e espaços. Uma linha não é
+-- alterada se o CPF formatado já existe na tabela; entre linhas que formatam para o mesmo CPF, só a
+-- de menor id. As demais continuam como estão e precisam de correção manual.
+WITH normalizados AS (
+    SELECT id, regexp_replace(digitos, '^(\d{3})(\d{3})(\d{3})(\d{2})$', '\1.\2.\3-\4') AS formatado
+    FROM (SELECT id, regexp_replace(cpf, '[.\- ]', '', 'g') AS digitos FROM cliente) cpfs
+    WHERE digitos ~ '^\d{11}$'
+), alterados AS (
+    SELECT DISTINCT ON (n.formatado) n.id, n.formatado
+    FROM normalizados n
+    WHERE NOT EXISTS (SELECT 1 FROM cliente c WHERE c.cpf = n.formatado)
+    ORDER BY n.formatado, n.id
+)
+UPDATE cliente c
+SET cpf = a.formatado, versao = c.versao + 1
+FROM alterados a
+WHERE c.id = a.id;
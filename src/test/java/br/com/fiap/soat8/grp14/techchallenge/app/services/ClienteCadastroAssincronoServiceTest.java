@@ -0,0 +1,222 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.CadastroClienteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.FilaCheiaException;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClienteIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClientesAgrupadosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ReservarIdClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+
+@ExtendWith(MockitoExtension.class)
+public class ClienteCadastroAssincronoServiceTest {
+
+    @Mock
+    private CriarClientesAgrupadosUseCase criarClientesAgrupadosUseCase;
+
+    @Mock
+    private BuscarClienteIdUseCase buscarClienteIdUseCase;
+
+    @Mock
+    private ReservarIdClienteUseCase reservarIdClienteUseCase;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<List<String>> gruposGravados = new ArrayList<>();
+    private ClienteCadastroAssincronoService servico;
+
+    @BeforeEach
+    public void setUp() {
+        AtomicLong ids = new AtomicLong(100);
+        lenient().when(reservarIdClienteUseCase.execute(null)).thenAnswer(invocation -> ids.incrementAndGet());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        if (servico != null) {
+            servico.close();
+        }
+    }
+
+    private ClienteCadastroAssincronoService servico(int capacidadeFila, int linhasPorCommit, Duration intervalo) {
+        servico = new ClienteCadastroAssincronoService(criarClientesAgrupadosUseCase, buscarClienteIdUseCase,
+                reservarIdClienteUseCase, transactionManager, true, capacidadeFila, linhasPorCommit, intervalo);
+        return servico;
+    }
+
+    private void cpfsJaCadastrados(String... cpfs) {
+        List<String> existentes = List.of(cpfs);
+        when(criarClientesAgrupadosUseCase.execute(anyList())).thenAnswer(invocation -> {
+            List<ClienteEntity> clientes = invocation.getArgument(0);
+            synchronized (gruposGravados) {
+                gruposGravados.add(clientes.stream().map(ClienteEntity::getCpf).toList());
+            }
+            Set<Long> inseridos = new HashSet<>();
+            clientes.stream().filter(cliente -> !existentes.contains(cliente.getCpf()))
+                    .forEach(cliente -> inseridos.add(cliente.getId()));
+            return inseridos;
+        });
+    }
+
+    private static ClienteInsertDTO cliente(String cpf) {
+        ClienteInsertDTO cliente = new ClienteInsertDTO();
+        cliente.setNome("Cliente " + cpf);
+        cliente.setEmail(cpf + "@teste.com");
+        cliente.setCpf(cpf);
+        return cliente;
+    }
+
+    @Test
+    public void testGravaEmGruposDeLinhasPorCommit() throws InterruptedException {
+        cpfsJaCadastrados();
+        ClienteCadastroAssincronoService servico = servico(100, 3, Duration.ofMinutes(1));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            ids.add(servico.enfileirar(cliente("000.000.000-0" + i)));
+        }
+        // O último grupo não completa as 3 linhas; o encerramento grava sem esperar o intervalo.
+        servico.close();
+
+        assertEquals(List.of(101L, 102L, 103L, 104L, 105L, 106L, 107L), ids);
+        assertEquals(List.of(3, 3, 1), gruposGravados.stream().map(List::size).toList());
+        assertEquals(7, servico.estatisticas().gravados());
+        assertEquals(3, servico.estatisticas().commits());
+    }
+
+    @Test
+    public void testGravaGrupoIncompletoAposOIntervalo() throws InterruptedException {
+        cpfsJaCadastrados();
+        ClienteCadastroAssincronoService servico = servico(100, 50, Duration.ofMillis(20));
+
+        long id = servico.enfileirar(cliente("000.000.000-01"));
+        verify(criarClientesAgrupadosUseCase, timeout(5000)).execute(anyList());
+        when(buscarClienteIdUseCase.execute(id)).thenReturn(null);
+
+        assertEquals(CadastroClienteDTO.Situacao.CONCLUIDO, servico.situacao(id).orElseThrow().getSituacao());
+    }
+
+    @Test
+    public void testCpfJaCadastradoFicaRejeitado() throws InterruptedException {
+        cpfsJaCadastrados("000.000.000-02");
+        ClienteCadastroAssincronoService servico = servico(100, 10, Duration.ofMinutes(1));
+
+        long aceito = servico.enfileirar(cliente("000.000.000-01"));
+        long rejeitado = servico.enfileirar(cliente("000.000.000-02"));
+        servico.close();
+
+        CadastroClienteDTO situacao = servico.situacao(rejeitado).orElseThrow();
+        assertEquals(CadastroClienteDTO.Situacao.REJEITADO, situacao.getSituacao());
+        assertEquals("CPF já cadastrado.", situacao.getMensagem());
+        when(buscarClienteIdUseCase.execute(aceito)).thenReturn(null);
+        assertEquals(CadastroClienteDTO.Situacao.CONCLUIDO, servico.situacao(aceito).orElseThrow().getSituacao());
+    }
+
+    @Test
+    public void testFalhaDoGrupoGravaIndividualmente() throws InterruptedException {
+        when(criarClientesAgrupadosUseCase.execute(anyList())).thenAnswer(invocation -> {
+            List<ClienteEntity> clientes = invocation.getArgument(0);
+            if (clientes.stream().anyMatch(cliente -> cliente.getCpf().equals("000.000.000-02"))) {
+                throw new DataIntegrityViolationException("valor longo demais para o tipo character varying(14)");
+            }
+            return Set.of(clientes.get(0).getId());
+        });
+        ClienteCadastroAssincronoService servico = servico(100, 10, Duration.ofMinutes(1));
+
+        long aceito = servico.enfileirar(cliente("000.000.000-01"));
+        long falhou = servico.enfileirar(cliente("000.000.000-02"));
+        servico.close();
+
+        verify(criarClientesAgrupadosUseCase, times(3)).execute(anyList());
+        assertEquals(1, servico.estatisticas().gravados());
+        CadastroClienteDTO situacao = servico.situacao(falhou).orElseThrow();
+        assertEquals(CadastroClienteDTO.Situacao.REJEITADO, situacao.getSituacao());
+        assertTrue(situacao.getMensagem().contains("character varying"));
+        when(buscarClienteIdUseCase.execute(aceito)).thenReturn(null);
+        assertEquals(CadastroClienteDTO.Situacao.CONCLUIDO, servico.situacao(aceito).orElseThrow().getSituacao());
+    }
+
+    @Test
+    public void testFilaCheiaRecusaCadastro() throws InterruptedException {
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(criarClientesAgrupadosUseCase.execute(anyList())).thenAnswer(invocation -> {
+            gravando.countDown();
+            liberar.await();
+            List<ClienteEntity> clientes = invocation.getArgument(0);
+            Set<Long> inseridos = new HashSet<>();
+            clientes.forEach(cliente -> inseridos.add(cliente.getId()));
+            return inseridos;
+        });
+        ClienteCadastroAssincronoService servico = servico(2, 1, Duration.ZERO);
+
+        long emGravacao = servico.enfileirar(cliente("000.000.000-01"));
+        assertTrue(gravando.await(5, TimeUnit.SECONDS));
+        servico.enfileirar(cliente("000.000.000-02"));
+        servico.enfileirar(cliente("000.000.000-03"));
+
+        assertThrows(FilaCheiaException.class, () -> servico.enfileirar(cliente("000.000.000-04")));
+        assertEquals(1, servico.estatisticas().recusados());
+        assertEquals(CadastroClienteDTO.Situacao.PENDENTE, servico.situacao(emGravacao).orElseThrow().getSituacao());
+
+        liberar.countDown();
+        servico.close();
+        assertEquals(3, servico.estatisticas().gravados());
+    }
+
+    @Test
+    public void testEncerramentoDuranteOCadastroRecusaEmVezDePerder() {
+        ClienteCadastroAssincronoService servico = servico(10, 10, Duration.ofMillis(20));
+        // O encerramento acontece entre a conferência de encerrado e a oferta à fila.
+        when(reservarIdClienteUseCase.execute(null)).thenAnswer(invocation -> {
+            servico.close();
+            return 101L;
+        });
+
+        assertThrows(FilaCheiaException.class, () -> servico.enfileirar(cliente("000.000.000-01")));
+        assertEquals(0, servico.estatisticas().tamanhoFila());
+        assertEquals(1, servico.estatisticas().recusados());
+        verifyNoInteractions(criarClientesAgrupadosUseCase);
+    }
+
+    @Test
+    public void testSituacaoDesconhecida() {
+        ClienteCadastroAssincronoService servico = servico(10, 10, Duration.ofMillis(20));
+        when(buscarClienteIdUseCase.execute(999L)).thenThrow(new EntityNotFoundException("Cliente não encontrado"));
+
+        assertTrue(servico.situacao(999L).isEmpty());
+    }
+
+    @Test
+    public void testDesabilitadoNaoAceitaCadastros() {
+        servico = new ClienteCadastroAssincronoService(criarClientesAgrupadosUseCase, buscarClienteIdUseCase,
+                reservarIdClienteUseCase, transactionManager, false, 10, 10, Duration.ofMillis(20));
+
+        assertFalse(servico.isHabilitado());
+        assertThrows(IllegalStateException.class, () -> servico.enfileirar(cliente("000.000.000-01")));
+    }
+}
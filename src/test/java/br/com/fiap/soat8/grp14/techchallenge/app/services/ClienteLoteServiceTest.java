@@ -0,0 +1,205 @@
+package br.com.fiap.soat8.grp14.techchallenge.app.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.FalhaLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.RelatorioLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClientesEmLoteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@ExtendWith(MockitoExtension.class)
+public class ClienteLoteServiceTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private CriarClientesEmLoteUseCase criarClientesEmLoteUseCase;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<List<String>> blocosGravados = new ArrayList<>();
+
+    private ClienteLoteService servico(int registrosPorTransacao, int maximoFalhasRelatadas) {
+        return new ClienteLoteService(criarClientesEmLoteUseCase, VALIDATOR, transactionManager, new ObjectMapper(),
+                registrosPorTransacao, maximoFalhasRelatadas);
+    }
+
+    @BeforeEach
+    public void setUp() {
+        blocosGravados.clear();
+    }
+
+    private void cpfsJaCadastrados(String... cpfs) {
+        List<String> existentes = List.of(cpfs);
+        when(criarClientesEmLoteUseCase.execute(anyList())).thenAnswer(invocation -> {
+            List<ClienteEntity> clientes = invocation.getArgument(0);
+            blocosGravados.add(clientes.stream().map(ClienteEntity::getCpf).toList());
+            boolean[] inseridos = new boolean[clientes.size()];
+            for (int i = 0; i < clientes.size(); i++) {
+                inseridos[i] = !existentes.contains(clientes.get(i).getCpf());
+            }
+            return inseridos;
+        });
+    }
+
+    private static String json(String email, String nome, String cpf) {
+        return "{\"email\":\"" + email + "\",\"nome\":\"" + nome + "\",\"cpf\":\"" + cpf + "\"}";
+    }
+
+    @Test
+    public void testImportarNdjsonRelataFalhasPorLinha() {
+        cpfsJaCadastrados("222.222.222-22");
+        String corpo = json("a@a.com", "Cliente A", "111.111.111-11") + "\n"
+                + "{\"email\": \n"
+                + json("c@c.com", "Cliente C", "123") + "\n"
+                + "\n"
+                + json("b@b.com", "Cliente B", "222.222.222-22") + "\n";
+
+        RelatorioLoteDTO relatorio = servico(100, 100).importar(new StringReader(corpo), LeitorLoteClientes.Formato.NDJSON);
+
+        assertEquals(4, relatorio.getLinhasProcessadas());
+        assertEquals(1, relatorio.getInseridos());
+        assertEquals(3, relatorio.getFalhas());
+        assertFalse(relatorio.isDetalhesTruncados());
+
+        List<FalhaLoteDTO> falhas = relatorio.getDetalhesFalhas();
+        assertEquals(2, falhas.get(0).getLinha());
+        assertTrue(falhas.get(0).getErros().get(0).startsWith("JSON inválido"));
+        assertEquals(3, falhas.get(1).getLinha());
+        assertEquals(List.of("O campo cpf deve estar no formato XXX.XXX.XXX-XX."), falhas.get(1).getErros());
+        assertEquals(5, falhas.get(2).getLinha());
+        assertEquals("222.222.222-22", falhas.get(2).getCpf());
+        assertEquals(List.of("CPF já cadastrado."), falhas.get(2).getErros());
+        assertEquals(List.of(List.of("111.111.111-11", "222.222.222-22")), blocosGravados);
+    }
+
+    @Test
+    public void testImportarNdjsonComRegistroNuloOuQueNaoEObjeto() {
+        cpfsJaCadastrados();
+        String corpo = json("a@a.com", "Cliente A", "111.111.111-11") + "\n"
+                + "null\n"
+                + "[1, 2]\n"
+                + json("b@b.com", "Cliente B", "222.222.222-22") + "\n";
+
+        RelatorioLoteDTO relatorio = servico(100, 100).importar(new StringReader(corpo), LeitorLoteClientes.Formato.NDJSON);
+
+        assertEquals(4, relatorio.getLinhasProcessadas());
+        assertEquals(2, relatorio.getInseridos());
+        assertEquals(2, relatorio.getFalhas());
+        List<FalhaLoteDTO> falhas = relatorio.getDetalhesFalhas();
+        assertEquals(2, falhas.get(0).getLinha());
+        assertEquals(List.of("JSON inválido: registro nulo"), falhas.get(0).getErros());
+        assertEquals(3, falhas.get(1).getLinha());
+        assertEquals(List.of("JSON inválido: o registro deve ser um objeto"), falhas.get(1).getErros());
+        assertEquals(List.of(List.of("111.111.111-11", "222.222.222-22")), blocosGravados);
+    }
+
+    @Test
+    public void testImportarRecusaCpfComTamanhoCertoForaDoFormato() {
+        cpfsJaCadastrados();
+        String corpo = json("a@a.com", "Cliente A", "111.111.111-11") + "\n"
+                + json("b@b.com", "Cliente B", "222222222-2222") + "\n";
+
+        RelatorioLoteDTO relatorio = servico(100, 100).importar(new StringReader(corpo), LeitorLoteClientes.Formato.NDJSON);
+
+        assertEquals(1, relatorio.getInseridos());
+        assertEquals(List.of("O campo cpf deve estar no formato XXX.XXX.XXX-XX."),
+                relatorio.getDetalhesFalhas().get(0).getErros());
+        assertEquals(List.of(List.of("111.111.111-11")), blocosGravados);
+    }
+
+    @Test
+    public void testImportarCsvComAspasEColunasForaDeOrdem() {
+        cpfsJaCadastrados();
+        String corpo = "\uFEFFcpf,Nome,email\n"
+                + "111.111.111-11,\"Silva, João\",a@a.com\n"
+                + "222.222.222-22,Maria\n"
+                + "333.333.333-33,\"Ana \"\"Aninha\"\" Souza\",c@c.com\n";
+
+        RelatorioLoteDTO relatorio = servico(100, 100).importar(new StringReader(corpo), LeitorLoteClientes.Formato.CSV);
+
+        assertEquals(3, relatorio.getLinhasProcessadas());
+        assertEquals(2, relatorio.getInseridos());
+        assertEquals(3, relatorio.getDetalhesFalhas().get(0).getLinha());
+        assertEquals(List.of(List.of("111.111.111-11", "333.333.333-33")), blocosGravados);
+        assertEquals(List.of("a@a.com", "Silva, João", "111.111.111-11"),
+                LeitorLoteClientes.separarCsv("a@a.com, \"Silva, João\" ,111.111.111-11"));
+        assertEquals("Ana \"Aninha\" Souza", LeitorLoteClientes.separarCsv("\"Ana \"\"Aninha\"\" Souza\"").get(0));
+    }
+
+    @Test
+    public void testImportarCsvSemCabecalhoValido() {
+        ClienteLoteService servico = servico(100, 100);
+
+        assertThrows(DataIntegrityException.class, () -> servico.importar(
+                new StringReader("email,nome\na@a.com,Cliente A\n"), LeitorLoteClientes.Formato.CSV));
+        verifyNoInteractions(criarClientesEmLoteUseCase);
+    }
+
+    @Test
+    public void testImportarGravaEmBlocosPorTransacao() {
+        cpfsJaCadastrados();
+        StringBuilder corpo = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            corpo.append(json("c" + i + "@c.com", "Cliente " + i, "00" + i + ".000.000-00")).append('\n');
+        }
+
+        RelatorioLoteDTO relatorio = servico(2, 100).importar(new StringReader(corpo.toString()),
+                LeitorLoteClientes.Formato.NDJSON);
+
+        assertEquals(5, relatorio.getInseridos());
+        assertEquals(List.of(2, 2, 1), blocosGravados.stream().map(List::size).toList());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    public void testImportarIsolaLinhaQueDerrubaOBloco() {
+        when(criarClientesEmLoteUseCase.execute(anyList())).thenAnswer(invocation -> {
+            List<ClienteEntity> clientes = invocation.getArgument(0);
+            if (clientes.stream().anyMatch(cliente -> cliente.getNome().equals("Quebra"))) {
+                throw new DataIntegrityViolationException("valor inválido");
+            }
+            return new boolean[]{true};
+        });
+        String corpo = json("a@a.com", "Cliente A", "111.111.111-11") + "\n"
+                + json("b@b.com", "Quebra", "222.222.222-22") + "\n";
+
+        RelatorioLoteDTO relatorio = servico(100, 100).importar(new StringReader(corpo), LeitorLoteClientes.Formato.NDJSON);
+
+        assertEquals(1, relatorio.getInseridos());
+        assertEquals(1, relatorio.getFalhas());
+        assertEquals(2, relatorio.getDetalhesFalhas().get(0).getLinha());
+        assertEquals(List.of("valor inválido"), relatorio.getDetalhesFalhas().get(0).getErros());
+    }
+
+    @Test
+    public void testImportarLimitaDetalhesDeFalhas() {
+        String corpo = "{}\n{}\n{}\n";
+
+        RelatorioLoteDTO relatorio = servico(100, 2).importar(new StringReader(corpo), LeitorLoteClientes.Formato.NDJSON);
+
+        assertEquals(3, relatorio.getFalhas());
+        assertEquals(2, relatorio.getDetalhesFalhas().size());
+        assertTrue(relatorio.isDetalhesTruncados());
+    }
+}
@@ -4,33 +4,48 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
-import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Limit;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.PaginaDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.VersaoDesatualizadaException;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
-import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Paginacao;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.AtualizarClienteUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClienteCpfUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClienteIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.BuscarClientesUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClientesAgrupadosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.CriarClientesEmLoteUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ExcluirClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ExportarClientesUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ListarClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ReservarIdClienteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.ClienteCpfCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteJdbcRepository.ClienteAtualizado;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+import jakarta.persistence.EntityManager;
 
 @ExtendWith(MockitoExtension.class)
 public class ClienteServiceAndUseCasesTest {
@@ -38,7 +53,14 @@ public class ClienteServiceAndUseCasesTest {
     @Mock
     private ClienteRepository clienteRepository;
 
-    private ModelMapper mapper = new ModelMapper();
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private InvalidacaoCaches invalidacaoCaches;
+
+    @Mock
+    private ReservarIdClienteUseCase reservarIdClienteUseCase;
 
     private CriarClienteUseCase criarClienteUseCase;
     private BuscarClienteCpfUseCase buscarClienteCpfUseCase;
@@ -46,34 +68,25 @@ public class ClienteServiceAndUseCasesTest {
     private AtualizarClienteUseCase atualizarClienteUseCase;
     private ExcluirClienteUseCase excluirClienteUseCase;
     private ListarClienteUseCase listarClienteUseCase;
+    private ExportarClientesUseCase exportarClientesUseCase;
+    private BuscarClientesUseCase buscarClientesUseCase;
 
+    private ClienteCpfCache clienteCpfCache;
     private ClienteService clienteService;
 
-    private void injectModelMapper(AbstractUseCase<?, ?> useCase, ModelMapper mapper) {
-        try {
-            Field field = AbstractUseCase.class.getDeclaredField("modelMapper");
-            field.setAccessible(true);
-            field.set(useCase, mapper);
-        } catch (Exception e) {
-            throw new RuntimeException("Falha ao injetar ModelMapper no use case: " + useCase.getClass().getName(), e);
-        }
-    }
-
     @BeforeEach
     public void setUp() {
-        criarClienteUseCase = new CriarClienteUseCase(clienteRepository);
-        buscarClienteCpfUseCase = new BuscarClienteCpfUseCase(clienteRepository);
+        clienteCpfCache = new ClienteCpfCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        criarClienteUseCase = new CriarClienteUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches,
+                reservarIdClienteUseCase);
+        buscarClienteCpfUseCase = new BuscarClienteCpfUseCase(clienteRepository, clienteCpfCache);
         buscarClienteIdUseCase = new BuscarClienteIdUseCase(clienteRepository);
-        atualizarClienteUseCase = new AtualizarClienteUseCase(clienteRepository);
+        atualizarClienteUseCase = new AtualizarClienteUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches);
         listarClienteUseCase = new ListarClienteUseCase(clienteRepository);
-        excluirClienteUseCase = new ExcluirClienteUseCase(clienteRepository, buscarClienteIdUseCase);
+        excluirClienteUseCase = new ExcluirClienteUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches);
+        exportarClientesUseCase = new ExportarClientesUseCase(clienteRepository, entityManager);
+        buscarClientesUseCase = new BuscarClientesUseCase(clienteRepository);
 
-        injectModelMapper(criarClienteUseCase, mapper);
-        injectModelMapper(buscarClienteCpfUseCase, mapper);
-        injectModelMapper(buscarClienteIdUseCase, mapper);
-        injectModelMapper(atualizarClienteUseCase, mapper);
-        injectModelMapper(listarClienteUseCase, mapper);
-        injectModelMapper(excluirClienteUseCase, mapper);
 
         clienteService = new ClienteService(
                 criarClienteUseCase,
@@ -82,7 +95,8 @@ public class ClienteServiceAndUseCasesTest {
                 buscarClienteIdUseCase,
                 excluirClienteUseCase,
                 atualizarClienteUseCase,
-                mapper
+                exportarClientesUseCase,
+                buscarClientesUseCase
         );
     }
 
@@ -93,12 +107,12 @@ public class ClienteServiceAndUseCasesTest {
         insertDTO.setCpf("11111111111");
         insertDTO.setEmail("teste@teste.com");
 
-        ClienteEntity entity = mapper.map(insertDTO, ClienteEntity.class);
-        when(clienteRepository.findByCpf("11111111111")).thenReturn(Optional.empty());
-        when(clienteRepository.save(any(ClienteEntity.class))).thenReturn(entity);
+        when(reservarIdClienteUseCase.execute(null)).thenReturn(1L);
+        when(clienteRepository.inserirSeCpfLivre(argThat(cliente -> cliente.getId() == 1L))).thenReturn(Optional.of(1L));
 
         ClienteDTO result = clienteService.salvarCliente(insertDTO);
 
+        assertEquals(1L, result.getId());
         assertEquals("Teste", result.getNome());
         assertEquals("11111111111", result.getCpf());
         assertEquals("teste@teste.com", result.getEmail());
@@ -111,14 +125,14 @@ public class ClienteServiceAndUseCasesTest {
         insertDTO.setCpf("22222222222");
         insertDTO.setEmail("teste@teste.com");
 
-        ClienteEntity existingEntity = new ClienteEntity();
-        existingEntity.setCpf("22222222222");
+        when(clienteRepository.inserirSeCpfLivre(any(ClienteEntity.class))).thenReturn(Optional.empty());
 
-        when(clienteRepository.findByCpf("22222222222")).thenReturn(Optional.of(existingEntity));
-
-        assertThrows(DataIntegrityException.class, () -> {
+        DataIntegrityException exception = assertThrows(DataIntegrityException.class, () -> {
             clienteService.salvarCliente(insertDTO);
         });
+        assertEquals("CPF já cadastrado.", exception.getMessage());
+        verify(clienteRepository, never()).findByCpf(anyString());
+        verify(clienteRepository, never()).save(any(ClienteEntity.class));
     }
 
     @Test
@@ -135,22 +149,90 @@ public class ClienteServiceAndUseCasesTest {
         entity2.setCpf("456");
         entity2.setEmail("b@b.com");
 
-        when(clienteRepository.findAll()).thenReturn(Arrays.asList(entity1, entity2));
+        when(clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(Paginacao.LIMITE_PADRAO + 1)))
+                .thenReturn(Arrays.asList(entity1, entity2));
 
-        List<ClienteDTO> list = clienteService.listarTodos();
+        PaginaDTO<ClienteDTO> pagina = clienteService.listarTodos(null, null);
 
+        List<ClienteDTO> list = pagina.getItens();
         assertEquals(2, list.size());
         assertEquals("Cliente A", list.get(0).getNome());
         assertEquals("Cliente B", list.get(1).getNome());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    public void testListarTodos_ProximoCursor() {
+        ClienteEntity entity1 = new ClienteEntity();
+        entity1.setId(11L);
+        entity1.setNome("Cliente A");
+
+        ClienteEntity entity2 = new ClienteEntity();
+        entity2.setId(12L);
+        entity2.setNome("Cliente B");
+
+        when(clienteRepository.findByIdGreaterThanOrderByIdAsc(10L, Limit.of(2)))
+                .thenReturn(Arrays.asList(entity1, entity2));
+
+        PaginaDTO<ClienteDTO> pagina = clienteService.listarTodos(10L, 1);
+
+        assertEquals(1, pagina.getItens().size());
+        assertEquals(11L, pagina.getProximoCursor());
+    }
+
+    @Test
+    public void testListarTodos_LimiteMaximo() {
+        when(clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(Paginacao.LIMITE_MAXIMO + 1)))
+                .thenReturn(Collections.emptyList());
+
+        PaginaDTO<ClienteDTO> pagina = clienteService.listarTodos(-5L, 1_000_000);
+
+        assertTrue(pagina.getItens().isEmpty());
     }
 
     @Test
     public void testListarTodos_Empty() {
-        when(clienteRepository.findAll()).thenReturn(Collections.emptyList());
+        when(clienteRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(Paginacao.LIMITE_PADRAO + 1)))
+                .thenReturn(Collections.emptyList());
+
+        PaginaDTO<ClienteDTO> pagina = clienteService.listarTodos(null, null);
 
-        List<ClienteDTO> list = clienteService.listarTodos();
+        assertTrue(pagina.getItens().isEmpty());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    public void testBuscarClientes_ProximoCursor() {
+        ClienteEntity entity1 = new ClienteEntity("ana.santos@example.com", "Ana Santos", "456.789.012-33");
+        entity1.setId(4L);
+        ClienteEntity entity2 = new ClienteEntity("ana.lima@example.com", "Ana Lima", "111.222.333-44");
+        entity2.setId(9L);
+
+        when(clienteRepository.buscarPorNomeEEmail("Ana", null, 0L, 2)).thenReturn(List.of(entity1, entity2));
+
+        PaginaDTO<ClienteDTO> pagina = clienteService.buscarClientes(" Ana ", "", null, 1);
+
+        assertEquals(1, pagina.getItens().size());
+        assertEquals("Ana Santos", pagina.getItens().get(0).getNome());
+        assertEquals(4L, pagina.getProximoCursor());
+    }
 
-        assertTrue(list.isEmpty());
+    @Test
+    public void testBuscarClientes_NomeEEmail() {
+        when(clienteRepository.buscarPorNomeEEmail("ana", "example", 4L, Paginacao.LIMITE_PADRAO + 1))
+                .thenReturn(Collections.emptyList());
+
+        PaginaDTO<ClienteDTO> pagina = clienteService.buscarClientes("ana", "example", 4L, null);
+
+        assertTrue(pagina.getItens().isEmpty());
+        assertNull(pagina.getProximoCursor());
+    }
+
+    @Test
+    public void testBuscarClientes_FiltrosInvalidos() {
+        assertThrows(DataIntegrityException.class, () -> clienteService.buscarClientes(null, " ", null, null));
+        assertThrows(DataIntegrityException.class, () -> clienteService.buscarClientes("an", null, null, null));
+        verify(clienteRepository, never()).buscarPorNomeEEmail(any(), any(), anyLong(), anyInt());
     }
 
     @Test
@@ -158,25 +240,70 @@ public class ClienteServiceAndUseCasesTest {
         ClienteEntity entity = new ClienteEntity();
         entity.setId(1L);
         entity.setNome("Cliente Teste");
-        entity.setCpf("33333333333");
+        entity.setCpf("333.333.333-33");
         entity.setEmail("cliente@teste.com");
 
-        when(clienteRepository.findByCpf("33333333333")).thenReturn(Optional.of(entity));
+        when(clienteRepository.findByCpf("333.333.333-33")).thenReturn(Optional.of(entity));
 
+        ClienteDTO dto = clienteService.buscarCliente("333.333.333-33");
+
+        assertEquals("Cliente Teste", dto.getNome());
+    }
+
+    @Test
+    public void testBuscarClienteCpf_SegundaBuscaVemDoCache() {
+        ClienteEntity entity = new ClienteEntity();
+        entity.setId(1L);
+        entity.setNome("Cliente Teste");
+        entity.setCpf("333.333.333-33");
+
+        when(clienteRepository.findByCpf("333.333.333-33")).thenReturn(Optional.of(entity));
+
+        clienteService.buscarCliente("333.333.333-33");
         ClienteDTO dto = clienteService.buscarCliente("33333333333");
 
         assertEquals("Cliente Teste", dto.getNome());
+        verify(clienteRepository, times(1)).findByCpf(anyString());
+        assertEquals(1, clienteCpfCache.estatisticas().acertos());
+        assertEquals(1, clienteCpfCache.estatisticas().falhas());
     }
 
     @Test
     public void testBuscarClienteCpf_NotFound() {
-        when(clienteRepository.findByCpf("44444444444")).thenReturn(Optional.empty());
+        when(clienteRepository.findByCpf("444.444.444-44")).thenReturn(Optional.empty());
 
-        assertThrows(DataIntegrityException.class, () -> {
-            clienteService.buscarCliente("44444444444");
+        assertThrows(EntityNotFoundException.class, () -> {
+            clienteService.buscarCliente("444.444.444-44");
         });
     }
 
+    @Test
+    public void testBuscarClienteCpf_NaoEncontradoFicaEmCache() {
+        when(clienteRepository.findByCpf("444.444.444-44")).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> clienteService.buscarCliente("444.444.444-44"));
+        assertThrows(EntityNotFoundException.class, () -> clienteService.buscarCliente("444.444.444-44"));
+
+        verify(clienteRepository, times(1)).findByCpf("444.444.444-44");
+        assertEquals(1, clienteCpfCache.estatisticas().acertosNegativos());
+    }
+
+    @Test
+    public void testSalvarCliente_ClienteEncontradoNaBuscaSeguinte() {
+        when(clienteRepository.findByCpf("555.555.555-55")).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class, () -> clienteService.buscarCliente("555.555.555-55"));
+
+        ClienteInsertDTO insertDTO = new ClienteInsertDTO("novo@teste.com", "Cliente Novo", "555.555.555-55");
+        when(clienteRepository.inserirSeCpfLivre(any(ClienteEntity.class))).thenReturn(Optional.of(5L));
+        clienteService.salvarCliente(insertDTO);
+
+        ClienteDTO dto = clienteService.buscarCliente("555.555.555-55");
+
+        assertEquals(5L, dto.getId());
+        // Só a busca inicial vai ao banco: o cadastro não consulta o CPF antes de inserir.
+        verify(clienteRepository, times(1)).findByCpf("555.555.555-55");
+    }
+
     @Test
     public void testBuscarClienteId_Success() {
         ClienteEntity entity = new ClienteEntity();
@@ -196,7 +323,7 @@ public class ClienteServiceAndUseCasesTest {
     public void testBuscarClienteId_NotFound() {
         when(clienteRepository.findById(20L)).thenReturn(Optional.empty());
 
-        assertThrows(DataIntegrityException.class, () -> {
+        assertThrows(EntityNotFoundException.class, () -> {
             clienteService.buscarClienteId(20L);
         });
     }
@@ -209,13 +336,56 @@ public class ClienteServiceAndUseCasesTest {
         dto.setCpf("66666666666");
         dto.setEmail("atualizado@teste.com");
 
-        ClienteEntity entity = mapper.map(dto, ClienteEntity.class);
-        when(clienteRepository.findById(1L)).thenReturn(Optional.of(entity));
-        when(clienteRepository.save(any(ClienteEntity.class))).thenReturn(entity);
+        when(clienteRepository.atualizar(any(ClienteEntity.class), isNull()))
+                .thenReturn(Optional.of(new ClienteAtualizado(4L, "66666666666")));
 
-        ClienteDTO result = clienteService.atualizarCliente(1L, dto);
+        ClienteDTO result = clienteService.atualizarCliente(1L, dto, null);
 
         assertEquals("Cliente Atualizado", result.getNome());
+        assertEquals(4L, result.getVersao());
+        verify(clienteRepository, never()).findById(anyLong());
+        verify(clienteRepository, never()).save(any(ClienteEntity.class));
+    }
+
+    @Test
+    public void testAtualizarCliente_VersaoDesatualizada() {
+        ClienteDTO dto = new ClienteDTO(null, "atualizado@teste.com", "Cliente Atualizado", "666.666.666-66", null);
+        when(clienteRepository.atualizar(any(ClienteEntity.class), eq(3L))).thenReturn(Optional.empty());
+        when(clienteRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(VersaoDesatualizadaException.class, () -> clienteService.atualizarCliente(1L, dto, 3L));
+    }
+
+    @Test
+    public void testAtualizarCliente_CpfDeOutroCliente() {
+        ClienteDTO dto = new ClienteDTO(null, "atualizado@teste.com", "Cliente Atualizado", "666.666.666-66", null);
+        when(clienteRepository.atualizar(any(ClienteEntity.class), isNull()))
+                .thenThrow(new DuplicateKeyException("uq_email"));
+
+        DataIntegrityException exception = assertThrows(DataIntegrityException.class,
+                () -> clienteService.atualizarCliente(1L, dto, null));
+        assertEquals("CPF já cadastrado.", exception.getMessage());
+    }
+
+    @Test
+    public void testAtualizarCliente_TrocaCpfNoCache() {
+        ClienteEntity anterior = new ClienteEntity("a@a.com", "Cliente", "111.111.111-11");
+        anterior.setId(1L);
+        when(clienteRepository.findByCpf("111.111.111-11")).thenReturn(Optional.of(anterior));
+        when(clienteRepository.findByCpf("222.222.222-22")).thenReturn(Optional.empty());
+        clienteService.buscarCliente("111.111.111-11");
+        assertThrows(EntityNotFoundException.class, () -> clienteService.buscarCliente("222.222.222-22"));
+
+        ClienteDTO dto = new ClienteDTO(null, "a@a.com", "Cliente", "222.222.222-22", null);
+        when(clienteRepository.atualizar(any(ClienteEntity.class), isNull()))
+                .thenReturn(Optional.of(new ClienteAtualizado(1L, "111.111.111-11")));
+        clienteService.atualizarCliente(1L, dto, null);
+
+        // O CPF novo vem do cache, já com a nova versão; o antigo volta a consultar o banco.
+        assertEquals(1L, clienteService.buscarCliente("222.222.222-22").getVersao());
+        clienteService.buscarCliente("111.111.111-11");
+        verify(clienteRepository, times(2)).findByCpf("111.111.111-11");
+        verify(clienteRepository, times(1)).findByCpf("222.222.222-22");
     }
 
     @Test
@@ -226,10 +396,11 @@ public class ClienteServiceAndUseCasesTest {
         dto.setCpf("77777777777");
         dto.setEmail("atualizado@teste.com");
 
-        when(clienteRepository.findById(2L)).thenReturn(Optional.empty());
+        when(clienteRepository.atualizar(any(ClienteEntity.class), isNull())).thenReturn(Optional.empty());
+        when(clienteRepository.existsById(2L)).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> {
-            clienteService.atualizarCliente(2L, dto);
+            clienteService.atualizarCliente(2L, dto, null);
         });
     }
 
@@ -238,14 +409,102 @@ public class ClienteServiceAndUseCasesTest {
         ClienteEntity entity = new ClienteEntity();
         entity.setId(3L);
         entity.setNome("Cliente Excluir");
-        entity.setCpf("88888888888");
+        entity.setCpf("888.888.888-88");
         entity.setEmail("excluir@teste.com");
 
-        when(clienteRepository.findById(3L)).thenReturn(Optional.of(entity));
-        doNothing().when(clienteRepository).delete(any(ClienteEntity.class));
+        when(clienteRepository.findByCpf("888.888.888-88")).thenReturn(Optional.of(entity), Optional.empty());
+        when(clienteRepository.excluirRetornandoCpf(3L)).thenReturn(Optional.of("888.888.888-88"));
 
+        clienteService.buscarCliente("888.888.888-88");
         clienteService.excluirCliente(3L);
 
-        verify(clienteRepository).delete(any(ClienteEntity.class));
+        verify(clienteRepository, never()).findById(anyLong());
+        assertThrows(EntityNotFoundException.class, () -> clienteService.buscarCliente("888.888.888-88"));
+    }
+
+    @Test
+    public void testExcluirCliente_NaoEncontrado() {
+        when(clienteRepository.excluirRetornandoCpf(4L)).thenReturn(Optional.empty());
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> clienteService.excluirCliente(4L));
+        assertEquals("Cliente não encontrado", exception.getMessage());
+    }
+
+    @Test
+    public void testExportarClientes() {
+        ClienteEntity entity1 = new ClienteEntity();
+        entity1.setId(1L);
+        entity1.setNome("Cliente A");
+
+        ClienteEntity entity2 = new ClienteEntity();
+        entity2.setId(2L);
+        entity2.setNome("Cliente B");
+
+        when(clienteRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(entity1, entity2));
+
+        List<ClienteDTO> exportados = new ArrayList<>();
+        long total = clienteService.exportarClientes(exportados::add);
+
+        assertEquals(2, total);
+        assertEquals("Cliente A", exportados.get(0).getNome());
+        assertEquals("Cliente B", exportados.get(1).getNome());
+        verify(entityManager).detach(entity1);
+        verify(entityManager).detach(entity2);
+    }
+
+    @Test
+    public void testCriarClientesEmLote_InvalidaCacheDosInseridos() {
+        when(clienteRepository.findByCpf("111.111.111-11")).thenReturn(Optional.empty(), Optional.of(new ClienteEntity()));
+        assertThrows(EntityNotFoundException.class, () -> clienteService.buscarCliente("111.111.111-11"));
+
+        ClienteEntity novo = new ClienteEntity("a@a.com", "Cliente A", "111.111.111-11");
+        ClienteEntity duplicado = new ClienteEntity("b@b.com", "Cliente B", "222.222.222-22");
+        List<ClienteEntity> lote = List.of(novo, duplicado);
+        when(clienteRepository.inserirIgnorandoCpfDuplicado(lote, 500)).thenReturn(new boolean[]{true, false});
+        when(reservarIdClienteUseCase.execute(null)).thenReturn(101L, 102L);
+
+        boolean[] inseridos = new CriarClientesEmLoteUseCase(clienteRepository, clienteCpfCache, invalidacaoCaches,
+                reservarIdClienteUseCase, 500).execute(lote);
+
+        assertArrayEquals(new boolean[]{true, false}, inseridos);
+        assertEquals(101L, novo.getId());
+        assertEquals(102L, duplicado.getId());
+        verify(invalidacaoCaches).notificarClientes(List.of("111.111.111-11"));
+        assertNotNull(clienteService.buscarCliente("111.111.111-11"));
+        verify(clienteRepository, times(2)).findByCpf("111.111.111-11");
+    }
+
+    @Test
+    public void testCriarClientesAgrupados_RegistraNoCacheOsInseridos() {
+        ClienteEntity novo = new ClienteEntity("a@a.com", "Cliente A", "111.111.111-11");
+        novo.setId(101L);
+        ClienteEntity duplicado = new ClienteEntity("b@b.com", "Cliente B", "222.222.222-22");
+        duplicado.setId(102L);
+        List<ClienteEntity> grupo = List.of(novo, duplicado);
+        when(clienteRepository.inserirComIdsIgnorandoCpfDuplicado(grupo)).thenReturn(List.of(101L));
+
+        Set<Long> inseridos = new CriarClientesAgrupadosUseCase(clienteRepository, clienteCpfCache,
+                invalidacaoCaches).execute(grupo);
+
+        assertEquals(Set.of(101L), inseridos);
+        verify(invalidacaoCaches).notificarClientes(List.of("111.111.111-11"));
+        ClienteDTO cliente = clienteService.buscarCliente("111.111.111-11");
+        assertEquals(101L, cliente.getId());
+        assertEquals(ClienteEntity.VERSAO_INICIAL, cliente.getVersao());
+        verify(clienteRepository, never()).findByCpf(anyString());
+    }
+
+    @Test
+    public void testReservarIdCliente_UmNextvalPorBloco() {
+        when(clienteRepository.reservarBlocoIds()).thenReturn(150L, 200L);
+        ReservarIdClienteUseCase reservarId = new ReservarIdClienteUseCase(clienteRepository);
+
+        List<Long> ids = Stream.generate(() -> reservarId.execute(null)).limit(51).toList();
+
+        assertEquals(101L, ids.get(0));
+        assertEquals(150L, ids.get(49));
+        assertEquals(151L, ids.get(50));
+        verify(clienteRepository, times(2)).reservarBlocoIds();
     }
 }
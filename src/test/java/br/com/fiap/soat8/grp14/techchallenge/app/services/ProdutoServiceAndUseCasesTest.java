@@ -2,33 +2,53 @@ package br.com.fiap.soat8.grp14.techchallenge.app.services;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.modelmapper.ModelMapper;
-import org.springframework.test.util.ReflectionTestUtils;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.AlteracoesCatalogoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.CatalogoSerializadoDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoInsertDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.DataIntegrityException;
 import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.VersaoDesatualizadaException;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.AlteracoesCatalogo;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.BuscaProdutos;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
 import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.AtualizarProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarAlteracoesCatalogoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoCategoriaUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutoIdUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarProdutosPorTextoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.BuscarVersaoCatalogoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CompactarHistoricoCatalogoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.CriarProdutoUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutoUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExcluirProdutosEmLoteUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ExportarProdutosUseCase;
 import br.com.fiap.soat8.grp14.techchallenge.core.usecases.produto.ListarProdutosUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.CatalogoProdutosCache;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches;
 import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoJdbcRepository.HistoricoCatalogo;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoJdbcRepository.ProdutoAlterado;
 import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,19 +73,42 @@ public class ProdutoServiceAndUseCasesTest {
     private AtualizarProdutoUseCase atualizarProdutoUseCase;
 
     @Mock
-    private ModelMapper mapper;
+    private ExportarProdutosUseCase exportarProdutosUseCase;
+
+    @Mock
+    private ExcluirProdutosEmLoteUseCase excluirProdutosEmLoteUseCase;
+
+    @Mock
+    private BuscarVersaoCatalogoUseCase buscarVersaoCatalogoUseCase;
+
+    @Mock
+    private BuscarProdutosPorTextoUseCase buscarProdutosPorTextoUseCase;
+
+    @Mock
+    private BuscarAlteracoesCatalogoUseCase buscarAlteracoesCatalogoUseCase;
+
+    @Mock
+    private CompactarHistoricoCatalogoUseCase compactarHistoricoCatalogoUseCase;
 
     private ProdutoService produtoService;
 
     @Mock
     private ProdutoRepository produtoRepository;
 
+    @Mock
+    private InvalidacaoCaches invalidacaoCaches;
+
+    private CatalogoProdutosCache catalogo;
     private CriarProdutoUseCase criarProdutoUseCaseReal;
     private BuscarProdutoCategoriaUseCase buscarProdutoCategoriaUseCaseReal;
     private ListarProdutosUseCase listarProdutosUseCaseReal;
     private BuscarProdutoIdUseCase buscarProdutoIdUseCaseReal;
     private AtualizarProdutoUseCase atualizarProdutoUseCaseReal;
     private ExcluirProdutoUseCase excluirProdutoUseCaseReal;
+    private ExcluirProdutosEmLoteUseCase excluirProdutosEmLoteUseCaseReal;
+    private BuscarVersaoCatalogoUseCase buscarVersaoCatalogoUseCaseReal;
+    private BuscarProdutosPorTextoUseCase buscarProdutosPorTextoUseCaseReal;
+    private BuscarAlteracoesCatalogoUseCase buscarAlteracoesCatalogoUseCaseReal;
 
     @BeforeEach
     public void setUp() {
@@ -76,33 +119,70 @@ public class ProdutoServiceAndUseCasesTest {
                 buscarProdutoIdUseCase,
                 excluirProdutoUseCase,
                 atualizarProdutoUseCase,
-                mapper
+                exportarProdutosUseCase,
+                excluirProdutosEmLoteUseCase,
+                buscarVersaoCatalogoUseCase,
+                new ObjectMapper(),
+                buscarProdutosPorTextoUseCase,
+                buscarAlteracoesCatalogoUseCase,
+                compactarHistoricoCatalogoUseCase
         );
 
-        criarProdutoUseCaseReal = new CriarProdutoUseCase(produtoRepository);
-        buscarProdutoCategoriaUseCaseReal = new BuscarProdutoCategoriaUseCase(produtoRepository);
-        listarProdutosUseCaseReal = new ListarProdutosUseCase(produtoRepository);
-        buscarProdutoIdUseCaseReal = new BuscarProdutoIdUseCase(produtoRepository);
-        atualizarProdutoUseCaseReal = new AtualizarProdutoUseCase(produtoRepository);
-        excluirProdutoUseCaseReal = new ExcluirProdutoUseCase(produtoRepository, buscarProdutoIdUseCaseReal);
+        catalogo = new CatalogoProdutosCache(produtoRepository);
+        criarProdutoUseCaseReal = new CriarProdutoUseCase(produtoRepository, catalogo, invalidacaoCaches);
+        buscarProdutoCategoriaUseCaseReal = new BuscarProdutoCategoriaUseCase(catalogo);
+        listarProdutosUseCaseReal = new ListarProdutosUseCase(catalogo);
+        buscarProdutoIdUseCaseReal = new BuscarProdutoIdUseCase(catalogo);
+        atualizarProdutoUseCaseReal = new AtualizarProdutoUseCase(produtoRepository, catalogo, invalidacaoCaches);
+        excluirProdutoUseCaseReal = new ExcluirProdutoUseCase(produtoRepository, catalogo, invalidacaoCaches);
+        excluirProdutosEmLoteUseCaseReal = new ExcluirProdutosEmLoteUseCase(produtoRepository, catalogo, invalidacaoCaches);
+        buscarVersaoCatalogoUseCaseReal = new BuscarVersaoCatalogoUseCase(catalogo);
+        buscarProdutosPorTextoUseCaseReal = new BuscarProdutosPorTextoUseCase(produtoRepository);
+        buscarAlteracoesCatalogoUseCaseReal = new BuscarAlteracoesCatalogoUseCase(produtoRepository);
+    }
 
-        ReflectionTestUtils.setField(criarProdutoUseCaseReal, "modelMapper", mapper);
-        ReflectionTestUtils.setField(buscarProdutoCategoriaUseCaseReal, "modelMapper", mapper);
-        ReflectionTestUtils.setField(listarProdutosUseCaseReal, "modelMapper", mapper);
-        ReflectionTestUtils.setField(buscarProdutoIdUseCaseReal, "modelMapper", mapper);
-        ReflectionTestUtils.setField(atualizarProdutoUseCaseReal, "modelMapper", mapper);
-        ReflectionTestUtils.setField(excluirProdutoUseCaseReal, "modelMapper", mapper);
+    @Test
+    public void testBuscarPorTexto() {
+        Produto produto = new Produto();
+        produto.setId(11L);
+
+        when(buscarProdutosPorTextoUseCase.execute(new BuscaProdutos("batata", CategoriaProduto.ACOMPANHAMENTO, 5)))
+                .thenReturn(List.of(produto));
+
+        List<ProdutoDTO> result = produtoService.buscarPorTexto("batata", CategoriaProduto.ACOMPANHAMENTO, 5);
+
+        assertEquals(1, result.size());
+        assertEquals(11L, result.get(0).getId());
+    }
+
+    @Test
+    public void testBuscarProdutosPorTextoUseCaseNormalizaParametros() {
+        ProdutoEntity entity = new ProdutoEntity("Café Expresso", "Café expresso 150ml", 6.0, CategoriaProduto.BEBIDA);
+        entity.setId(29L);
+        when(produtoRepository.buscarPorTexto("cafe", null, BuscaProdutos.LIMITE_MAXIMO)).thenReturn(List.of(entity));
+
+        List<Produto> result = buscarProdutosPorTextoUseCaseReal.execute(new BuscaProdutos("  cafe ", null, 1000));
+
+        assertEquals(1, result.size());
+        assertEquals("Café Expresso", result.get(0).getNome());
+        assertEquals(BuscaProdutos.LIMITE_PADRAO, new BuscaProdutos("cafe", null, null).limiteNormalizado());
+    }
+
+    @Test
+    public void testBuscarProdutosPorTextoUseCaseSemTermos() {
+        assertThrows(DataIntegrityException.class,
+                () -> buscarProdutosPorTextoUseCaseReal.execute(new BuscaProdutos(" ", null, null)));
+        assertThrows(DataIntegrityException.class,
+                () -> buscarProdutosPorTextoUseCaseReal.execute(new BuscaProdutos("a".repeat(201), null, null)));
+        verifyNoInteractions(produtoRepository);
     }
 
     @Test
     public void testBuscarProdutos() {
         Produto produto = new Produto();
         produto.setId(1L);
-        ProdutoDTO produtoDTO = new ProdutoDTO();
-        produtoDTO.setId(1L);
 
         when(listarProdutosUseCase.execute(true)).thenReturn(List.of(produto));
-        when(mapper.map(produto, ProdutoDTO.class)).thenReturn(produtoDTO);
 
         List<ProdutoDTO> result = produtoService.buscarProdutos();
 
@@ -111,15 +191,56 @@ public class ProdutoServiceAndUseCasesTest {
         assertEquals(1L, result.get(0).getId());
     }
 
+    @Test
+    public void testBuscarProdutosSerializados() throws IOException {
+        Produto lanche = new Produto();
+        lanche.setId(1L);
+        lanche.setNome("X-Burguer");
+        lanche.setCategoriaProduto(CategoriaProduto.LANCHE);
+
+        when(buscarVersaoCatalogoUseCase.execute(true)).thenReturn("a1-1");
+        when(listarProdutosUseCase.execute(true)).thenReturn(List.of(lanche));
+        when(buscarProdutoCategoriaUseCase.execute(any(CategoriaProduto.class))).thenReturn(List.of());
+        when(buscarProdutoCategoriaUseCase.execute(CategoriaProduto.LANCHE)).thenReturn(List.of(lanche));
+
+        CatalogoSerializadoDTO todos = produtoService.buscarProdutosSerializados();
+        CatalogoSerializadoDTO lanches = produtoService.buscarPorCategoriaSerializados(CategoriaProduto.LANCHE);
+
+        assertEquals("a1-1", todos.versao());
+        String json = new String(todos.json(), StandardCharsets.UTF_8);
+        assertEquals(new ObjectMapper().writeValueAsString(List.of(lanche.toProdutoDTO())), json);
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(todos.gzip()))) {
+            assertEquals(json, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertArrayEquals(todos.json(), lanches.json());
+        assertEquals("[]", new String(produtoService.buscarPorCategoriaSerializados(CategoriaProduto.BEBIDA).json(),
+                StandardCharsets.UTF_8));
+        verify(listarProdutosUseCase, times(1)).execute(true);
+    }
+
+    @Test
+    public void testBuscarProdutosSerializadosNovaVersao() {
+        when(buscarVersaoCatalogoUseCase.execute(true)).thenReturn("a1-1");
+        when(listarProdutosUseCase.execute(true)).thenReturn(List.of());
+        when(buscarProdutoCategoriaUseCase.execute(any(CategoriaProduto.class))).thenReturn(List.of());
+
+        CatalogoSerializadoDTO primeiro = produtoService.buscarProdutosSerializados();
+        assertSame(primeiro, produtoService.buscarProdutosSerializados());
+
+        when(buscarVersaoCatalogoUseCase.execute(true)).thenReturn("a1-2");
+        CatalogoSerializadoDTO segundo = produtoService.buscarProdutosSerializados();
+
+        assertEquals("a1-1", primeiro.versao());
+        assertEquals("a1-2", segundo.versao());
+        verify(listarProdutosUseCase, times(2)).execute(true);
+    }
+
     @Test
     public void testBuscarPorId() {
         Produto produto = new Produto();
         produto.setId(1L);
-        ProdutoDTO produtoDTO = new ProdutoDTO();
-        produtoDTO.setId(1L);
 
         when(buscarProdutoIdUseCase.execute(1L)).thenReturn(produto);
-        when(mapper.map(produto, ProdutoDTO.class)).thenReturn(produtoDTO);
 
         ProdutoDTO result = produtoService.buscarPorId(1L);
 
@@ -132,11 +253,8 @@ public class ProdutoServiceAndUseCasesTest {
         CategoriaProduto categoria = CategoriaProduto.LANCHE;
         Produto produto = new Produto();
         produto.setId(1L);
-        ProdutoDTO produtoDTO = new ProdutoDTO();
-        produtoDTO.setId(1L);
 
         when(buscarProdutoCategoriaUseCase.execute(categoria)).thenReturn(List.of(produto));
-        when(mapper.map(produto, ProdutoDTO.class)).thenReturn(produtoDTO);
 
         List<ProdutoDTO> result = produtoService.buscarPorCategoria(categoria);
 
@@ -149,15 +267,10 @@ public class ProdutoServiceAndUseCasesTest {
     public void testSalvarProduto() {
         ProdutoInsertDTO insertDTO = new ProdutoInsertDTO();
 
-        ProdutoEntity produtoEntity = new ProdutoEntity();
         Produto produto = new Produto();
         produto.setId(1L);
-        ProdutoDTO produtoDTO = new ProdutoDTO();
-        produtoDTO.setId(1L);
 
-        when(mapper.map(insertDTO, ProdutoEntity.class)).thenReturn(produtoEntity);
-        when(criarProdutoUseCase.execute(produtoEntity)).thenReturn(produto);
-        when(mapper.map(produto, ProdutoDTO.class)).thenReturn(produtoDTO);
+        when(criarProdutoUseCase.execute(any(ProdutoEntity.class))).thenReturn(produto);
 
         ProdutoDTO result = produtoService.salvarProduto(insertDTO);
 
@@ -170,18 +283,12 @@ public class ProdutoServiceAndUseCasesTest {
         Long id = 1L;
         ProdutoDTO inputDTO = new ProdutoDTO();
         inputDTO.setId(id);
-        ProdutoEntity produtoEntity = new ProdutoEntity();
-        produtoEntity.setId(id);
         Produto produto = new Produto();
         produto.setId(id);
-        ProdutoDTO outputDTO = new ProdutoDTO();
-        outputDTO.setId(id);
 
-        when(mapper.map(inputDTO, ProdutoEntity.class)).thenReturn(produtoEntity);
-        when(atualizarProdutoUseCase.execute(produtoEntity)).thenReturn(produto);
-        when(mapper.map(produto, ProdutoDTO.class)).thenReturn(outputDTO);
+        when(atualizarProdutoUseCase.execute(any(ProdutoEntity.class))).thenReturn(produto);
 
-        ProdutoDTO result = produtoService.atualizarProduto(id, inputDTO);
+        ProdutoDTO result = produtoService.atualizarProduto(id, inputDTO, null);
 
         assertNotNull(result);
         assertEquals(id, result.getId());
@@ -202,18 +309,29 @@ public class ProdutoServiceAndUseCasesTest {
     public void testAtualizarProdutoUseCase_Success() {
         ProdutoEntity produtoEntity = new ProdutoEntity();
         produtoEntity.setId(1L);
+        produtoEntity.setVersao(2L);
 
-        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produtoEntity));
-        when(produtoRepository.save(produtoEntity)).thenReturn(produtoEntity);
-
-        Produto produto = new Produto();
-        produto.setId(produtoEntity.getId());
-        when(mapper.map(produtoEntity, Produto.class)).thenReturn(produto);
+        when(produtoRepository.atualizar(produtoEntity, 2L)).thenReturn(Optional.of(3L));
 
         Produto result = atualizarProdutoUseCaseReal.execute(produtoEntity);
 
         assertNotNull(result);
         assertEquals(produtoEntity.getId(), result.getId());
+        assertEquals(3L, result.getVersao());
+        verify(produtoRepository, never()).findById(anyLong());
+        verify(produtoRepository).registrarAlteracao(List.of(1L));
+    }
+
+    @Test
+    public void testAtualizarProdutoUseCase_VersaoDesatualizada() {
+        ProdutoEntity produtoEntity = new ProdutoEntity();
+        produtoEntity.setId(1L);
+        produtoEntity.setVersao(2L);
+
+        when(produtoRepository.atualizar(produtoEntity, 2L)).thenReturn(Optional.empty());
+        when(produtoRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(VersaoDesatualizadaException.class, () -> atualizarProdutoUseCaseReal.execute(produtoEntity));
     }
 
 
@@ -222,7 +340,8 @@ public class ProdutoServiceAndUseCasesTest {
         ProdutoEntity produtoEntity = new ProdutoEntity();
         produtoEntity.setId(1L);
 
-        when(produtoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(produtoRepository.atualizar(produtoEntity, null)).thenReturn(Optional.empty());
+        when(produtoRepository.existsById(1L)).thenReturn(false);
 
         assertThrows(EntityNotFoundException.class, () -> atualizarProdutoUseCaseReal.execute(produtoEntity));
     }
@@ -232,13 +351,19 @@ public class ProdutoServiceAndUseCasesTest {
         CategoriaProduto categoria = CategoriaProduto.LANCHE;
         ProdutoEntity produtoEntity = new ProdutoEntity();
         produtoEntity.setId(1L);
+        produtoEntity.setCategoriaProduto(categoria);
+        ProdutoEntity bebida = new ProdutoEntity();
+        bebida.setId(2L);
+        bebida.setCategoriaProduto(CategoriaProduto.BEBIDA);
 
-        when(produtoRepository.findByCategoriaProduto(categoria)).thenReturn(List.of(produtoEntity));
+        when(produtoRepository.findAll()).thenReturn(List.of(produtoEntity, bebida));
 
         List<Produto> result = buscarProdutoCategoriaUseCaseReal.execute(categoria);
 
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertTrue(buscarProdutoCategoriaUseCaseReal.execute(CategoriaProduto.SOBREMESA).isEmpty());
     }
 
     @Test
@@ -246,11 +371,7 @@ public class ProdutoServiceAndUseCasesTest {
         ProdutoEntity produtoEntity = new ProdutoEntity();
         produtoEntity.setId(1L);
 
-        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produtoEntity));
-
-        Produto produto = new Produto();
-        produto.setId(1L);
-        when(mapper.map(produtoEntity, Produto.class)).thenReturn(produto);
+        when(produtoRepository.findAll()).thenReturn(List.of(produtoEntity));
 
         Produto result = buscarProdutoIdUseCaseReal.execute(1L);
 
@@ -261,9 +382,9 @@ public class ProdutoServiceAndUseCasesTest {
 
     @Test
     public void testBuscarProdutoIdUseCase_NotFound() {
-        when(produtoRepository.findById(1L)).thenReturn(Optional.empty());
+        when(produtoRepository.findAll()).thenReturn(List.of());
 
-        assertThrows(DataIntegrityException.class, () -> buscarProdutoIdUseCaseReal.execute(1L));
+        assertThrows(EntityNotFoundException.class, () -> buscarProdutoIdUseCaseReal.execute(1L));
     }
 
     @Test
@@ -273,15 +394,11 @@ public class ProdutoServiceAndUseCasesTest {
 
         when(produtoRepository.save(produtoEntity)).thenReturn(produtoEntity);
 
-        Produto produto = new Produto();
-        produto.setId(1L);
-
-        when(mapper.map(produtoEntity, Produto.class)).thenReturn(produto);
-
         Produto result = criarProdutoUseCaseReal.execute(produtoEntity);
 
         assertNotNull(result);
         assertEquals(produtoEntity.getId(), result.getId());
+        verify(produtoRepository).registrarAlteracao(List.of(1L));
     }
 
 
@@ -291,22 +408,130 @@ public class ProdutoServiceAndUseCasesTest {
         ProdutoEntity produtoEntity = new ProdutoEntity();
         produtoEntity.setId(id);
 
+        when(produtoRepository.findAll()).thenReturn(List.of(produtoEntity));
+        when(produtoRepository.excluirPorId(id)).thenReturn(true);
+        listarProdutosUseCaseReal.execute(true);
+
+        Boolean result = excluirProdutoUseCaseReal.execute(id);
+
+        assertTrue(result);
+        verify(produtoRepository, never()).findById(anyLong());
+        verify(produtoRepository).registrarAlteracao(List.of(id));
+        assertTrue(listarProdutosUseCaseReal.execute(true).isEmpty());
+    }
+
+    @Test
+    public void testExcluirProdutoUseCase_NaoEncontrado() {
+        when(produtoRepository.excluirPorId(99L)).thenReturn(false);
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> excluirProdutoUseCaseReal.execute(99L));
+        assertEquals("Produto não encontrado", exception.getMessage());
+        verify(produtoRepository, never()).registrarAlteracao(any());
+        verify(invalidacaoCaches, never()).notificarProdutos(any());
+    }
+
+    @Test
+    public void testExcluirProdutosEmLoteUseCase() {
+        ProdutoEntity produto1 = new ProdutoEntity();
+        produto1.setId(1L);
+        ProdutoEntity produto2 = new ProdutoEntity();
+        produto2.setId(2L);
+        ProdutoEntity produto3 = new ProdutoEntity();
+        produto3.setId(3L);
+        when(produtoRepository.findAll()).thenReturn(List.of(produto1, produto2, produto3));
+        when(produtoRepository.excluirPorIds(Set.of(1L, 3L))).thenReturn(List.of(1L, 3L));
+        listarProdutosUseCaseReal.execute(true);
+
+        // Ids repetidos contam uma vez só.
+        Integer excluidos = excluirProdutosEmLoteUseCaseReal.execute(List.of(1L, 3L, 1L));
+
+        assertEquals(2, excluidos);
+        verify(produtoRepository).registrarAlteracao(List.of(1L, 3L));
+        verify(invalidacaoCaches).notificarProdutos(List.of(1L, 3L));
+        assertEquals(List.of(2L), listarProdutosUseCaseReal.execute(true).stream().map(Produto::getId).toList());
+    }
+
+    @Test
+    public void testExcluirProdutosEmLoteUseCase_IdNaoEncontrado() {
+        when(produtoRepository.excluirPorIds(Set.of(1L, 2L, 3L))).thenReturn(List.of(1L, 3L));
+
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> excluirProdutosEmLoteUseCaseReal.execute(List.of(1L, 2L, 3L)));
+        assertEquals("Produtos não encontrados: [2]", exception.getMessage());
+    }
+
+    @Test
+    public void testExcluirProdutosEmLoteUseCase_SemIds() {
+        assertThrows(DataIntegrityException.class, () -> excluirProdutosEmLoteUseCaseReal.execute(List.of()));
+        verifyNoInteractions(produtoRepository);
+    }
+
+
+    @Test
+    public void testBuscarAlteracoes() {
         Produto produto = new Produto();
-        produto.setId(id);
+        produto.setId(4L);
+        when(buscarAlteracoesCatalogoUseCase.execute(10L))
+                .thenReturn(new AlteracoesCatalogo(12L, false, List.of(produto), List.of(7L)));
+
+        AlteracoesCatalogoDTO result = produtoService.buscarAlteracoes(10L);
 
-        when(produtoRepository.findById(id)).thenReturn(Optional.of(produtoEntity));
+        assertEquals(12L, result.getVersao());
+        assertFalse(result.isCompleto());
+        assertEquals(List.of(4L), result.getProdutos().stream().map(ProdutoDTO::getId).toList());
+        assertEquals(List.of(7L), result.getExcluidos());
+    }
 
-        when(mapper.map(produtoEntity, Produto.class)).thenReturn(produto);
-        when(mapper.map(produto, ProdutoEntity.class)).thenReturn(produtoEntity);
+    @Test
+    public void testBuscarAlteracoesCatalogoUseCase_DesdeVersaoNoHistorico() {
+        ProdutoEntity alterado = new ProdutoEntity("X-Bacon", "Hambúrguer com bacon", 28.0, CategoriaProduto.LANCHE);
+        alterado.setId(4L);
+        when(produtoRepository.historicoCatalogo()).thenReturn(new HistoricoCatalogo(12L, 5L));
+        when(produtoRepository.alteracoesEntre(10L, 12L))
+                .thenReturn(List.of(new ProdutoAlterado(4L, alterado), new ProdutoAlterado(7L, null)));
+
+        AlteracoesCatalogo result = buscarAlteracoesCatalogoUseCaseReal.execute(10L);
+
+        assertEquals(12L, result.versao());
+        assertFalse(result.completo());
+        assertEquals(List.of(4L), result.produtos().stream().map(Produto::getId).toList());
+        assertEquals(List.of(7L), result.excluidos());
+        verify(produtoRepository, never()).findAll();
+    }
 
-        doNothing().when(produtoRepository).delete(any(ProdutoEntity.class));
+    @Test
+    public void testBuscarAlteracoesCatalogoUseCase_SemAlteracoes() {
+        when(produtoRepository.historicoCatalogo()).thenReturn(new HistoricoCatalogo(12L, 5L));
 
-        Boolean result = excluirProdutoUseCaseReal.execute(id);
+        AlteracoesCatalogo result = buscarAlteracoesCatalogoUseCaseReal.execute(12L);
 
-        assertTrue(result);
-        verify(produtoRepository, times(1)).delete(produtoEntity);
+        assertFalse(result.completo());
+        assertTrue(result.produtos().isEmpty());
+        assertTrue(result.excluidos().isEmpty());
+        verify(produtoRepository, never()).alteracoesEntre(anyLong(), anyLong());
     }
 
+    @Test
+    public void testBuscarAlteracoesCatalogoUseCase_ForaDoHistoricoDevolveCatalogoInteiro() {
+        ProdutoEntity produto1 = new ProdutoEntity();
+        produto1.setId(1L);
+        ProdutoEntity produto2 = new ProdutoEntity();
+        produto2.setId(2L);
+        when(produtoRepository.historicoCatalogo()).thenReturn(new HistoricoCatalogo(12L, 5L));
+        when(produtoRepository.findAll()).thenReturn(List.of(produto2, produto1));
+
+        // Compactada, futura (de outro banco) ou ausente: nos três casos, o catálogo inteiro.
+        for (Long desde : new Long[]{4L, 13L, null}) {
+            AlteracoesCatalogo result = buscarAlteracoesCatalogoUseCaseReal.execute(desde);
+
+            assertTrue(result.completo());
+            assertEquals(12L, result.versao());
+            assertEquals(List.of(1L, 2L), result.produtos().stream().map(Produto::getId).toList());
+            assertTrue(result.excluidos().isEmpty());
+        }
+        verify(produtoRepository, never()).alteracoesEntre(anyLong(), anyLong());
+    }
 
     @Test
     public void testListarProdutosUseCase() {
@@ -316,10 +541,6 @@ public class ProdutoServiceAndUseCasesTest {
 
         when(produtoRepository.findAll()).thenReturn(List.of(produtoEntity));
 
-        Produto produto = new Produto();
-        produto.setId(produtoEntity.getId());
-        when(mapper.map(produtoEntity, Produto.class)).thenReturn(produto);
-
         List<Produto> result = listarProdutosUseCaseReal.execute(true);
 
         assertNotNull(result);
@@ -327,4 +548,84 @@ public class ProdutoServiceAndUseCasesTest {
         assertEquals(produtoEntity.getId(), result.get(0).getId());
     }
 
+    @Test
+    public void testCatalogoCarregadoUmaVez() {
+        ProdutoEntity produtoEntity = new ProdutoEntity();
+        produtoEntity.setId(1L);
+        produtoEntity.setCategoriaProduto(CategoriaProduto.LANCHE);
+
+        when(produtoRepository.findAll()).thenReturn(List.of(produtoEntity));
+
+        listarProdutosUseCaseReal.execute(true);
+        buscarProdutoIdUseCaseReal.execute(1L);
+        buscarProdutoCategoriaUseCaseReal.execute(CategoriaProduto.LANCHE);
+
+        verify(produtoRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void testCriarEAtualizarProdutoPublicamNoCatalogo() {
+        ProdutoEntity existente = new ProdutoEntity();
+        existente.setId(1L);
+        existente.setCategoriaProduto(CategoriaProduto.LANCHE);
+        when(produtoRepository.findAll()).thenReturn(List.of(existente));
+        listarProdutosUseCaseReal.execute(true);
+
+        ProdutoEntity novo = new ProdutoEntity();
+        novo.setId(2L);
+        novo.setCategoriaProduto(CategoriaProduto.BEBIDA);
+        when(produtoRepository.save(novo)).thenReturn(novo);
+        criarProdutoUseCaseReal.execute(novo);
+
+        ProdutoEntity alterado = new ProdutoEntity();
+        alterado.setId(1L);
+        alterado.setCategoriaProduto(CategoriaProduto.SOBREMESA);
+        when(produtoRepository.atualizar(alterado, null)).thenReturn(Optional.of(1L));
+        atualizarProdutoUseCaseReal.execute(alterado);
+
+        assertEquals(List.of(1L, 2L), listarProdutosUseCaseReal.execute(true).stream().map(Produto::getId).toList());
+        assertTrue(buscarProdutoCategoriaUseCaseReal.execute(CategoriaProduto.LANCHE).isEmpty());
+        assertEquals(1, buscarProdutoCategoriaUseCaseReal.execute(CategoriaProduto.SOBREMESA).size());
+        assertEquals(2L, buscarProdutoIdUseCaseReal.execute(2L).getId());
+        verify(produtoRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void testVersaoCatalogoMudaAcadaAlteracao() {
+        ProdutoEntity existente = new ProdutoEntity();
+        existente.setId(1L);
+        existente.setCategoriaProduto(CategoriaProduto.LANCHE);
+        when(produtoRepository.findAll()).thenReturn(List.of(existente));
+
+        String inicial = buscarVersaoCatalogoUseCaseReal.execute(true);
+        listarProdutosUseCaseReal.execute(true);
+        assertEquals(inicial, buscarVersaoCatalogoUseCaseReal.execute(true));
+
+        ProdutoEntity novo = new ProdutoEntity();
+        novo.setId(2L);
+        novo.setCategoriaProduto(CategoriaProduto.BEBIDA);
+        when(produtoRepository.save(novo)).thenReturn(novo);
+        criarProdutoUseCaseReal.execute(novo);
+        String aposInclusao = buscarVersaoCatalogoUseCaseReal.execute(true);
+        assertNotEquals(inicial, aposInclusao);
+
+        when(produtoRepository.excluirPorId(2L)).thenReturn(true);
+        excluirProdutoUseCaseReal.execute(2L);
+        String aposExclusao = buscarVersaoCatalogoUseCaseReal.execute(true);
+        assertNotEquals(aposInclusao, aposExclusao);
+        assertNotEquals(inicial, aposExclusao);
+
+        // Uma recarga também gera versão nova, mesmo que o conteúdo seja igual.
+        catalogo.invalidar();
+        assertNotEquals(aposExclusao, buscarVersaoCatalogoUseCaseReal.execute(true));
+        verify(produtoRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void testVersaoCatalogoDistintaEntreInstancias() {
+        when(produtoRepository.findAll()).thenReturn(List.of());
+
+        assertNotEquals(catalogo.versao(), new CatalogoProdutosCache(produtoRepository).versao());
+    }
+
 }
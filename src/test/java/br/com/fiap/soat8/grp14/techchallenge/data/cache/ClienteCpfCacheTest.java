@@ -0,0 +1,152 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+
+public class ClienteCpfCacheTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final List<String> consultas = new ArrayList<>();
+
+    private ClienteCpfCache cache;
+
+    @BeforeEach
+    public void setUp() {
+        cache = new ClienteCpfCache(2, Duration.ofMinutes(10), Duration.ofSeconds(30), relogio::get);
+    }
+
+    private Function<String, Optional<Cliente>> banco(Cliente... clientes) {
+        return cpf -> {
+            consultas.add(cpf);
+            for (Cliente cliente : clientes) {
+                if (cliente.getCpf().equals(cpf)) {
+                    return Optional.of(cliente);
+                }
+            }
+            return Optional.empty();
+        };
+    }
+
+    private static Cliente cliente(long id, String cpf) {
+        return new Cliente(id, "cliente" + id + "@teste.com", "Cliente " + id, cpf, 0L);
+    }
+
+    @Test
+    public void testConsultaUsaCpfFormatado() {
+        Cliente cliente = cliente(1L, "123.456.789-01");
+
+        assertEquals(Optional.of(cliente), cache.buscar("12345678901", banco(cliente)));
+        assertEquals(Optional.of(cliente), cache.buscar("123.456.789-01", banco(cliente)));
+
+        assertEquals(List.of("123.456.789-01"), consultas);
+    }
+
+    @Test
+    public void testCpfInvalidoNaoPassaPeloCache() {
+        cache.buscar("123", banco());
+        cache.buscar("123", banco());
+
+        assertEquals(List.of("123", "123"), consultas);
+        assertEquals(0, cache.estatisticas().tamanho());
+    }
+
+    @Test
+    public void testDespejaMenosRecenteAoExcederCapacidade() {
+        Cliente a = cliente(1L, "111.111.111-11");
+        Cliente b = cliente(2L, "222.222.222-22");
+        Cliente c = cliente(3L, "333.333.333-33");
+
+        cache.buscar(a.getCpf(), banco(a, b, c));
+        cache.buscar(b.getCpf(), banco(a, b, c));
+        cache.buscar(a.getCpf(), banco(a, b, c));
+        cache.buscar(c.getCpf(), banco(a, b, c));
+        consultas.clear();
+
+        cache.buscar(a.getCpf(), banco(a, b, c));
+        cache.buscar(b.getCpf(), banco(a, b, c));
+
+        assertEquals(List.of(b.getCpf()), consultas);
+        assertEquals(2, cache.estatisticas().despejos());
+        assertEquals(2, cache.estatisticas().tamanho());
+    }
+
+    @Test
+    public void testEntradasExpiram() {
+        Cliente a = cliente(1L, "111.111.111-11");
+
+        cache.buscar(a.getCpf(), banco(a));
+        cache.buscar("999.999.999-99", banco(a));
+
+        relogio.addAndGet(Duration.ofSeconds(31).toNanos());
+        cache.buscar(a.getCpf(), banco(a));
+        cache.buscar("999.999.999-99", banco(a));
+        assertEquals(List.of(a.getCpf(), "999.999.999-99", "999.999.999-99"), consultas);
+
+        relogio.addAndGet(Duration.ofMinutes(10).toNanos());
+        cache.buscar(a.getCpf(), banco(a));
+        assertEquals(4, consultas.size());
+    }
+
+    @Test
+    public void testRegistrarSubstituiEntradaNegativa() {
+        Cliente a = cliente(1L, "111.111.111-11");
+
+        assertTrue(cache.buscar(a.getCpf(), banco()).isEmpty());
+        cache.registrar(a);
+
+        assertEquals(Optional.of(a), cache.buscar(a.getCpf(), banco()));
+        assertEquals(1, consultas.size());
+    }
+
+    @Test
+    public void testConsultaConcorrenteComEscritaNaoGravaValorAntigo() {
+        Cliente a = cliente(1L, "111.111.111-11");
+
+        // A consulta ao banco não encontra o cliente, mas ele é cadastrado antes de ela terminar.
+        Optional<Cliente> resultado = cache.buscar(a.getCpf(), cpf -> {
+            cache.registrar(a);
+            return Optional.empty();
+        });
+
+        assertTrue(resultado.isEmpty());
+        assertEquals(Optional.of(a), cache.buscar(a.getCpf(), banco()));
+        assertTrue(consultas.isEmpty());
+    }
+
+    @Test
+    public void testRecarregarDescartaConsultaConcorrente() {
+        Cliente a = cliente(1L, "111.111.111-11");
+
+        // Uma consulta à réplica, iniciada antes do aviso, ainda não vê o cadastro.
+        Optional<Cliente> resultado = cache.buscar(a.getCpf(), cpf -> {
+            cache.recarregar(List.of("11111111111"), banco(a));
+            return Optional.empty();
+        });
+
+        assertTrue(resultado.isEmpty());
+        assertEquals(Optional.of(a), cache.buscar(a.getCpf(), banco()));
+        assertEquals(List.of(a.getCpf()), consultas);
+    }
+
+    @Test
+    public void testInvalidarRemoveEntrada() {
+        Cliente a = cliente(1L, "111.111.111-11");
+
+        cache.buscar(a.getCpf(), banco(a));
+        cache.invalidar("11111111111");
+        cache.buscar(a.getCpf(), banco(a));
+
+        assertEquals(2, consultas.size());
+    }
+}
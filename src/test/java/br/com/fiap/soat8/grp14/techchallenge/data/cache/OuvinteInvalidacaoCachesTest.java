@@ -0,0 +1,214 @@
+package br.com.fiap.soat8.grp14.techchallenge.data.cache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Cliente;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.Produto;
+import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProduto;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches.Aviso;
+import br.com.fiap.soat8.grp14.techchallenge.data.cache.InvalidacaoCaches.Tipo;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ClienteEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.models.ProdutoEntity;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ClienteRepository;
+import br.com.fiap.soat8.grp14.techchallenge.data.repositories.ProdutoRepository;
+import br.com.fiap.soat8.grp14.techchallenge.infra.datasource.RoteamentoDataSource;
+
+@ExtendWith(MockitoExtension.class)
+public class OuvinteInvalidacaoCachesTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private ClienteRepository clienteRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogoProdutosCache catalogo;
+    private ClienteCpfCache cpfCache;
+    private InvalidacaoCaches invalidacao;
+    private OuvinteInvalidacaoCaches ouvinte;
+
+    @BeforeEach
+    public void setUp() {
+        catalogo = new CatalogoProdutosCache(produtoRepository);
+        cpfCache = new ClienteCpfCache(100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        // Desabilitada, não abre a conexão do LISTEN; os avisos são aplicados diretamente.
+        invalidacao = new InvalidacaoCaches(jdbcTemplate, false);
+        ouvinte = new OuvinteInvalidacaoCaches(null, invalidacao, catalogo, cpfCache, clienteRepository,
+                Duration.ofSeconds(10), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        ouvinte.close();
+    }
+
+    private static ProdutoEntity produto(long id, String nome, long versao) {
+        return new ProdutoEntity(new Produto(id, nome, "Descrição de " + nome, 10.0, CategoriaProduto.LANCHE, versao));
+    }
+
+    @Test
+    public void testAvisoIdaEVolta() {
+        String payload = InvalidacaoCaches.formatar("a1", Tipo.CLIENTE, List.of("111.111.111-11", "222.222.222-22"));
+
+        Aviso aviso = InvalidacaoCaches.ler(payload);
+
+        assertEquals("a1;cliente;111.111.111-11,222.222.222-22", payload);
+        assertEquals(new Aviso("a1", Tipo.CLIENTE, List.of("111.111.111-11", "222.222.222-22")), aviso);
+        assertNull(InvalidacaoCaches.ler("a1;pedido;1"));
+        assertNull(InvalidacaoCaches.ler("sem separadores"));
+    }
+
+    @Test
+    public void testAvisoGrandeDemaisInvalidaTudo() {
+        List<Long> ids = LongStream.rangeClosed(1, 2000).boxed().toList();
+
+        Aviso aviso = InvalidacaoCaches.ler(InvalidacaoCaches.formatar("a1", Tipo.PRODUTO, ids));
+
+        assertTrue(aviso.todas());
+    }
+
+    @Test
+    public void testNotificaNaTransacaoCorrente() {
+        InvalidacaoCaches habilitada = new InvalidacaoCaches(jdbcTemplate, true);
+
+        habilitada.notificarProdutos(List.of(3L, 3L, 5L));
+        habilitada.notificarClientes(List.of());
+
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq(InvalidacaoCaches.CANAL), eq(habilitada.origem() + ";produto;3,5"));
+        verifyNoMoreInteractions(jdbcTemplate);
+        assertEquals(1, habilitada.enviados());
+    }
+
+    @Test
+    public void testDesabilitadaNaoNotifica() {
+        invalidacao.notificarProdutos(List.of(1L));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    public void testIgnoraOsPropriosAvisos() {
+        ouvinte.aplicar(invalidacao.origem() + ";produto;*");
+
+        verifyNoInteractions(produtoRepository);
+        assertEquals(1, ouvinte.estatisticas().proprios());
+        assertEquals(0, ouvinte.estatisticas().aplicados());
+    }
+
+    @Test
+    public void testProdutosAlteradosSaoRelidosDoBanco() {
+        when(produtoRepository.findAll()).thenReturn(List.of(produto(1L, "X-Burger", 1L), produto(2L, "X-Salada", 1L),
+                produto(3L, "X-Bacon", 4L)));
+        catalogo.listar();
+        // 1 alterado na outra instância, 2 excluído; o 3 lido do banco é mais antigo que o do catálogo.
+        when(produtoRepository.findAllById(List.of(1L, 2L, 3L)))
+                .thenReturn(List.of(produto(1L, "X-Burger Duplo", 2L), produto(3L, "X-Bacon", 3L)));
+
+        ouvinte.aplicar("outra;produto;1,2,3");
+
+        List<Produto> produtos = catalogo.listar();
+        assertEquals(List.of(1L, 3L), produtos.stream().map(Produto::getId).toList());
+        assertEquals("X-Burger Duplo", produtos.get(0).getNome());
+        assertEquals(4L, produtos.get(1).getVersao());
+        verify(produtoRepository, times(1)).findAll();
+        assertEquals(1, ouvinte.estatisticas().aplicados());
+    }
+
+    @Test
+    public void testCatalogoNaoCarregadoNaoConsultaOBanco() {
+        ouvinte.aplicar("outra;produto;1");
+
+        verifyNoInteractions(produtoRepository);
+    }
+
+    @Test
+    public void testCpfsAlteradosSaoRelidosDoBanco() {
+        assertTrue(cpfCache.buscar("123.456.789-01", cpf -> Optional.empty()).isEmpty());
+        ClienteEntity cadastrado = new ClienteEntity("c@c.com", "Cliente", "123.456.789-01");
+        cadastrado.setId(7L);
+        cadastrado.setVersao(0L);
+        when(clienteRepository.findByCpf("123.456.789-01")).thenReturn(Optional.of(cadastrado));
+
+        // Cadastrado por outra instância: a busca negativa em cache seria servida por 30s.
+        ouvinte.aplicar("outra;cliente;123.456.789-01");
+
+        Optional<Cliente> cliente = cpfCache.buscar("123.456.789-01", cpf -> fail("Deveria vir do cache."));
+        assertEquals(7L, cliente.orElseThrow().getId());
+    }
+
+    @Test
+    public void testReleituraNaoVaiParaReplica() throws SQLException {
+        DataSource primario = mock(DataSource.class);
+        DataSource replica = mock(DataSource.class);
+        when(primario.getConnection()).thenReturn(mock(Connection.class));
+        RoteamentoDataSource roteamento = new RoteamentoDataSource(primario, replica);
+        roteamento.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        // Como nos métodos de leitura do Spring Data: uma transação somente leitura por consulta.
+        TransactionTemplate somenteLeitura = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        somenteLeitura.setReadOnly(true);
+        Runnable consultar = () -> somenteLeitura.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        when(produtoRepository.findAll()).thenReturn(List.of(produto(1L, "X-Burger", 1L)));
+        catalogo.listar();
+        when(produtoRepository.findAllById(List.of(1L))).thenAnswer(invocation -> {
+            consultar.run();
+            return List.of();
+        });
+        when(clienteRepository.findByCpf("123.456.789-01")).thenAnswer(invocation -> {
+            consultar.run();
+            return Optional.empty();
+        });
+
+        ouvinte.aplicar("outra;produto;1");
+        ouvinte.aplicar("outra;cliente;123.456.789-01");
+
+        verify(primario, times(2)).getConnection();
+        verify(replica, never()).getConnection();
+        assertTrue(catalogo.listar().isEmpty());
+    }
+
+    @Test
+    public void testAvisoForaDoFormatoEIgnorado() {
+        ouvinte.aplicar("lixo");
+
+        assertEquals(1, ouvinte.estatisticas().invalidos());
+        verify(produtoRepository, never()).findAllById(any());
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.actuator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+public class InicializacaoEndpointTest {
+
+    @Test
+    public void testOrdenaPeloTempoProprio() throws InterruptedException {
+        BufferingApplicationStartup startup = new BufferingApplicationStartup(100);
+        StartupStep refresh = startup.start("spring.context.refresh");
+        StartupStep bean = startup.start("spring.beans.instantiate").tag("beanName", "catalogoProdutosCache");
+        Thread.sleep(50);
+        bean.end();
+        startup.start("spring.beans.instantiate").tag("beanName", "clienteCpfCache").end();
+        refresh.end();
+
+        InicializacaoEndpoint.Inicializacao inicializacao = new InicializacaoEndpoint(startup).passosMaisLentos(2);
+
+        assertEquals(3, inicializacao.passosRegistrados());
+        assertEquals(2, inicializacao.maisLentos().size());
+        InicializacaoEndpoint.Passo maisLento = inicializacao.maisLentos().get(0);
+        assertEquals("spring.beans.instantiate", maisLento.nome());
+        assertEquals(Map.of("beanName", "catalogoProdutosCache"), maisLento.tags());
+        assertTrue(maisLento.duracaoPropriaMillis() >= 50);
+        InicializacaoEndpoint.Passo segundo = inicializacao.maisLentos().get(1);
+        assertEquals("spring.context.refresh", segundo.nome());
+        assertTrue(segundo.duracaoMillis() >= 50);
+        assertTrue(segundo.duracaoPropriaMillis() < segundo.duracaoMillis());
+    }
+
+    @Test
+    public void testSemRegistroDaSubida() {
+        InicializacaoEndpoint.Inicializacao inicializacao =
+                new InicializacaoEndpoint(ApplicationStartup.DEFAULT).passosMaisLentos(null);
+
+        assertEquals(0, inicializacao.passosRegistrados());
+        assertTrue(inicializacao.maisLentos().isEmpty());
+    }
+}
@@ -0,0 +1,144 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.datasource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.servlet.http.Cookie;
+
+public class RoteamentoDataSourceTest {
+
+    private DataSource primario;
+    private DataSource replica;
+    private RoteamentoDataSource roteamento;
+    private LazyConnectionDataSourceProxy dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        primario = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        Connection conexao = mock(Connection.class);
+        when(primario.getConnection()).thenReturn(conexao);
+        when(replica.getConnection()).thenReturn(conexao);
+
+        roteamento = new RoteamentoDataSource(primario, replica);
+        roteamento.afterPropertiesSet();
+        dataSource = new LazyConnectionDataSourceProxy(roteamento);
+        // Com os padrões informados, o proxy não abre uma conexão no primário para descobri-los.
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+    }
+
+    private void consultar(boolean somenteLeitura) {
+        TransactionTemplate transacao = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transacao.setReadOnly(somenteLeitura);
+        transacao.executeWithoutResult(status -> {
+            try {
+                DataSourceUtils.getConnection(dataSource).createStatement();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    public void testLeituraVaiParaReplica() throws SQLException {
+        consultar(true);
+
+        verify(replica).getConnection();
+        verify(primario, never()).getConnection();
+    }
+
+    @Test
+    public void testEscritaVaiParaPrimario() throws SQLException {
+        consultar(false);
+
+        verify(primario).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    public void testLeituraComPrimarioForcado() throws SQLException {
+        RoteamentoDataSource.forcarPrimario();
+        try {
+            consultar(true);
+        } finally {
+            RoteamentoDataSource.liberarPrimario();
+        }
+
+        verify(primario).getConnection();
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    public void testLerDoPrimarioRestauraEstadoAnterior() {
+        assertEquals(RoteamentoDataSource.Destino.PRIMARIO, RoteamentoDataSource.lerDoPrimario(this::destinoDeLeitura));
+        assertEquals(RoteamentoDataSource.Destino.REPLICA, destinoDeLeitura());
+
+        // Dentro de uma requisição com o primário já forçado pelo filtro, ele continua forçado.
+        RoteamentoDataSource.forcarPrimario();
+        try {
+            RoteamentoDataSource.lerDoPrimario(this::destinoDeLeitura);
+            assertEquals(RoteamentoDataSource.Destino.PRIMARIO, destinoDeLeitura());
+        } finally {
+            RoteamentoDataSource.liberarPrimario();
+        }
+    }
+
+    @Test
+    public void testFiltroForcaPrimarioAposEscrita() throws Exception {
+        PrimarioAposEscritaFilter filtro = new PrimarioAposEscritaFilter(Duration.ofSeconds(5));
+        List<RoteamentoDataSource.Destino> destinos = new ArrayList<>();
+
+        MockHttpServletResponse escrita = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("POST", "/api/clientes"), escrita,
+                (request, response) -> destinos.add(destinoDeLeitura()));
+        String cookie = escrita.getHeader(HttpHeaders.SET_COOKIE);
+        assertNotNull(cookie);
+        assertTrue(cookie.startsWith(PrimarioAposEscritaFilter.COOKIE + "=1"));
+        assertTrue(cookie.contains("Max-Age=5"));
+
+        MockHttpServletRequest leituraComCookie = new MockHttpServletRequest("GET", "/api/clientes/1");
+        leituraComCookie.setCookies(new Cookie(PrimarioAposEscritaFilter.COOKIE, "1"));
+        filtro.doFilter(leituraComCookie, new MockHttpServletResponse(),
+                (request, response) -> destinos.add(destinoDeLeitura()));
+
+        MockHttpServletResponse leitura = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/clientes/1"), leitura,
+                (request, response) -> destinos.add(destinoDeLeitura()));
+
+        assertEquals(List.of(RoteamentoDataSource.Destino.PRIMARIO, RoteamentoDataSource.Destino.PRIMARIO,
+                RoteamentoDataSource.Destino.REPLICA), destinos);
+        assertNull(leitura.getHeader(HttpHeaders.SET_COOKIE));
+    }
+
+    /**
+     * Destino de uma transação somente leitura aberta na thread atual.
+     */
+    private RoteamentoDataSource.Destino destinoDeLeitura() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try {
+            return roteamento.determineCurrentLookupKey();
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        }
+    }
+}
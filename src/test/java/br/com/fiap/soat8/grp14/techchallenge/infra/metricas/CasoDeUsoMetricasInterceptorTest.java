@@ -0,0 +1,79 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.metricas;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.PointcutAdvisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.EntityNotFoundException;
+import br.com.fiap.soat8.grp14.techchallenge.core.interfaces.AbstractUseCase;
+import br.com.fiap.soat8.grp14.techchallenge.core.usecases.cliente.ReservarIdClienteUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+public class CasoDeUsoMetricasInterceptorTest {
+
+    private MeterRegistry registry;
+    private BuscarTesteUseCase useCase;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("registry", registry);
+
+        ProxyFactory proxy = new ProxyFactory(new BuscarTesteUseCase());
+        proxy.setProxyTargetClass(true);
+        proxy.addAdvisor(MetricasConfig.casoDeUsoMetricasAdvisor(beans.getBeanProvider(MeterRegistry.class)));
+        useCase = (BuscarTesteUseCase) proxy.getProxy();
+    }
+
+    private Timer timer(String resultado) {
+        return registry.find(CasoDeUsoMetricasInterceptor.METRICA)
+                .tags("caso_uso", "BuscarTesteUseCase", "resultado", resultado).timer();
+    }
+
+    @Test
+    public void testMedeExecucaoComSucesso() {
+        assertEquals("1", useCase.execute(1L));
+        assertEquals("2", useCase.execute(2L));
+
+        assertEquals(2, timer("sucesso").count());
+        assertNull(timer("nao_encontrado"));
+    }
+
+    @Test
+    public void testMedeExcecaoDeNegocio() {
+        assertThrows(EntityNotFoundException.class, () -> useCase.execute(-1L));
+        assertThrows(IllegalStateException.class, () -> useCase.execute(null));
+
+        assertEquals(1, timer("nao_encontrado").count());
+        assertEquals(1, timer("erro").count());
+    }
+
+    @Test
+    public void testReservaDeIdNaoEMedida() {
+        PointcutAdvisor advisor = (PointcutAdvisor) MetricasConfig.casoDeUsoMetricasAdvisor(null);
+
+        assertTrue(advisor.getPointcut().getClassFilter().matches(BuscarTesteUseCase.class));
+        assertFalse(advisor.getPointcut().getClassFilter().matches(ReservarIdClienteUseCase.class));
+    }
+
+    public static class BuscarTesteUseCase extends AbstractUseCase<Long, String> {
+
+        @Override
+        public String execute(Long id) {
+            if (id == null) {
+                throw new IllegalStateException();
+            }
+            if (id < 0) {
+                throw new EntityNotFoundException("Não encontrado");
+            }
+            return id.toString();
+        }
+    }
+}
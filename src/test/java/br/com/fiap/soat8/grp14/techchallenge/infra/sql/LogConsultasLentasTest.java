@@ -0,0 +1,74 @@
+package br.com.fiap.soat8.grp14.techchallenge.infra.sql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+public class LogConsultasLentasTest {
+
+    @Test
+    public void testMascararCpfEEmail() {
+        assertEquals("select * from cliente where cpf = '***' or cpf = '***' or email = '***'",
+                LogConsultasLentas.mascarar(
+                        "select * from cliente where cpf = '123.456.789-09' or cpf = '12345678909' or email = 'a.b@x.com.br'"));
+        assertEquals("select * from produto where id = 12345", LogConsultasLentas.mascarar("select * from produto where id = 12345"));
+    }
+
+    @Test
+    public void testFormatarComParametrosMascarados() {
+        LogConsultasLentas.Registro registro = new LogConsultasLentas.Registro(true, 350, 0, true,
+                List.of("select * from cliente where cpf = ?"), new ArrayList<>(Arrays.asList("123.456.789-09", null, 7L)));
+
+        assertEquals("SQL lenta (350 ms): select * from cliente where cpf = ? | parâmetros: [***, null, 7]",
+                LogConsultasLentas.formatar(registro));
+    }
+
+    @Test
+    public void testFormatarBatchAmostradoComErro() {
+        LogConsultasLentas.Registro registro = new LogConsultasLentas.Registro(false, 3, 50, false,
+                List.of("insert into cliente values (?)"), List.of());
+
+        assertEquals("SQL amostrada (3 ms, batch de 50, com erro): insert into cliente values (?)",
+                LogConsultasLentas.formatar(registro));
+    }
+
+    @Test
+    public void testParametrosDoStatement() throws NoSuchMethodException {
+        List<ParameterSetOperation> operacoes = List.of(
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setString", int.class, String.class),
+                        new Object[] { 1, "123.456.789-09" }),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setNull", int.class, int.class),
+                        new Object[] { 2, Types.VARCHAR }),
+                new ParameterSetOperation(PreparedStatement.class.getMethod("setLong", int.class, long.class),
+                        new Object[] { 3, 7L }));
+
+        assertEquals(Arrays.asList("123.456.789-09", null, 7L), LogConsultasLentas.parametros(operacoes));
+    }
+
+    @Test
+    public void testConsultaRapidaSemAmostragemNaoOcupaAFila() {
+        try (LogConsultasLentas log = new LogConsultasLentas(Duration.ofMillis(200), 0, 1)) {
+            ExecutionInfo execucao = new ExecutionInfo();
+            execucao.setElapsedTime(5);
+            execucao.setSuccess(true);
+            QueryInfo consulta = new QueryInfo("select 1");
+
+            assertDoesNotThrow(() -> {
+                for (int i = 0; i < 10; i++) {
+                    log.afterQuery(execucao, List.of(consulta));
+                }
+            });
+        }
+    }
+}
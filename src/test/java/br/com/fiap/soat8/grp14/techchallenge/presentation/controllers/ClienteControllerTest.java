@@ -1,41 +1,78 @@
 package br.com.fiap.soat8.grp14.techchallenge.presentation.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.Reader;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.PaginaDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.CadastroClienteDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.ClienteInsertDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.FalhaLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.cliente.RelatorioLoteDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.exceptions.FilaCheiaException;
+import br.com.fiap.soat8.grp14.techchallenge.app.services.ClienteCadastroAssincronoService;
+import br.com.fiap.soat8.grp14.techchallenge.app.services.ClienteLoteService;
 import br.com.fiap.soat8.grp14.techchallenge.app.services.ClienteService;
+import br.com.fiap.soat8.grp14.techchallenge.app.services.LeitorLoteClientes;
+import br.com.fiap.soat8.grp14.techchallenge.presentation.controllers.util.ResourceExceptionHandler;
 
 public class ClienteControllerTest {
 
     private MockMvc mockMvc;
     private ClienteService clienteService;
+    private ClienteLoteService clienteLoteService;
+    private ClienteCadastroAssincronoService cadastroAssincronoService;
     private ObjectMapper objectMapper;
 
     @BeforeEach
     public void setUp() {
         clienteService = Mockito.mock(ClienteService.class);
-        ClienteController clienteController = new ClienteController(clienteService);
-        mockMvc = MockMvcBuilders.standaloneSetup(clienteController).build();
+        clienteLoteService = Mockito.mock(ClienteLoteService.class);
+        cadastroAssincronoService = Mockito.mock(ClienteCadastroAssincronoService.class);
+        ClienteController clienteController = new ClienteController(clienteService, clienteLoteService, new ObjectMapper(),
+                cadastroAssincronoService);
+        mockMvc = MockMvcBuilders.standaloneSetup(clienteController)
+                .setControllerAdvice(new ResourceExceptionHandler())
+                .build();
         objectMapper = new ObjectMapper();
     }
 
@@ -59,14 +96,107 @@ public class ClienteControllerTest {
                 .andExpect(status().isCreated());
     }
 
+    private String clienteInsertJson() throws Exception {
+        ClienteInsertDTO clienteInsertDTO = new ClienteInsertDTO();
+        clienteInsertDTO.setNome("Cliente Teste");
+        clienteInsertDTO.setCpf("123.456.789-01");
+        clienteInsertDTO.setEmail("cliente@teste.com");
+        return objectMapper.writeValueAsString(clienteInsertDTO);
+    }
+
+    @Test
+    public void testSalvarClienteAssincrono() throws Exception {
+        when(cadastroAssincronoService.isHabilitado()).thenReturn(true);
+        when(cadastroAssincronoService.enfileirar(any(ClienteInsertDTO.class))).thenReturn(151L);
+
+        mockMvc.perform(post("/api/clientes")
+                .header("Prefer", "respond-async, wait=5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(clienteInsertJson()))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/clientes/cadastros/151"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.id").value(151))
+                .andExpect(jsonPath("$.situacao").value("PENDENTE"));
+
+        verify(clienteService, never()).salvarCliente(any());
+    }
+
+    @Test
+    public void testSalvarClienteSemPreferSincrono() throws Exception {
+        when(cadastroAssincronoService.isHabilitado()).thenReturn(true);
+        when(clienteService.salvarCliente(any(ClienteInsertDTO.class))).thenReturn(new ClienteDTO());
+
+        mockMvc.perform(post("/api/clientes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(clienteInsertJson()))
+                .andExpect(status().isCreated());
+
+        verify(cadastroAssincronoService, never()).enfileirar(any());
+    }
+
+    @Test
+    public void testSalvarClienteAssincronoFilaCheia() throws Exception {
+        when(cadastroAssincronoService.isHabilitado()).thenReturn(true);
+        when(cadastroAssincronoService.enfileirar(any(ClienteInsertDTO.class)))
+                .thenThrow(new FilaCheiaException("Muitos cadastros em andamento; tente novamente em instantes."));
+
+        mockMvc.perform(post("/api/clientes")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(clienteInsertJson()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    @Test
+    public void testSituacaoCadastro() throws Exception {
+        when(cadastroAssincronoService.situacao(151L)).thenReturn(Optional.of(
+                new CadastroClienteDTO(151L, CadastroClienteDTO.Situacao.REJEITADO, "CPF já cadastrado.")));
+        when(cadastroAssincronoService.situacao(152L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/clientes/cadastros/{id}", 151L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.situacao").value("REJEITADO"))
+                .andExpect(jsonPath("$.mensagem").value("CPF já cadastrado."));
+        mockMvc.perform(get("/api/clientes/cadastros/{id}", 152L))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void testPedeRespostaAssincrona() {
+        assertTrue(ClienteController.pedeRespostaAssincrona("respond-async"));
+        assertTrue(ClienteController.pedeRespostaAssincrona("wait=10, Respond-Async"));
+        assertFalse(ClienteController.pedeRespostaAssincrona("return=minimal"));
+        assertFalse(ClienteController.pedeRespostaAssincrona(null));
+    }
+
     @Test
     public void testGetClientes() throws Exception {
-        when(clienteService.listarTodos()).thenReturn(Collections.emptyList());
+        when(clienteService.listarTodos(null, null)).thenReturn(new PaginaDTO<>(Collections.emptyList(), null));
 
         mockMvc.perform(get("/api/clientes"))
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testGetClientesPaginado() throws Exception {
+        when(clienteService.listarTodos(10L, 2)).thenReturn(new PaginaDTO<>(Collections.emptyList(), 12L));
+
+        mockMvc.perform(get("/api/clientes").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.proximoCursor").value(12));
+    }
+
+    @Test
+    public void testBuscarClientes() throws Exception {
+        when(clienteService.buscarClientes("silva", null, 10L, 2)).thenReturn(new PaginaDTO<>(Collections.emptyList(), null));
+
+        mockMvc.perform(get("/api/clientes/busca").param("nome", "silva").param("after", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens").isEmpty());
+    }
+
     @Test
     public void testGetClientePorCpf() throws Exception {
         ClienteDTO clienteDTO = new ClienteDTO();
@@ -80,11 +210,31 @@ public class ClienteControllerTest {
     @Test
     public void testGetClientePorId() throws Exception {
         ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setVersao(2L);
 
         when(clienteService.buscarClienteId(anyLong())).thenReturn(clienteDTO);
 
         mockMvc.perform(get("/api/clientes/{id}", 1L))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.versao").doesNotExist());
+    }
+
+    @Test
+    public void testGetClientesSmile() throws Exception {
+        ClienteDTO clienteDTO = new ClienteDTO();
+        clienteDTO.setId(4L);
+        clienteDTO.setNome("Ana Santos");
+
+        when(clienteService.listarTodos(null, null)).thenReturn(new PaginaDTO<>(List.of(clienteDTO), null));
+
+        byte[] corpo = mockMvc.perform(get("/api/clientes").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode pagina = new SmileMapper().readTree(corpo);
+        assertEquals("Ana Santos", pagina.get("itens").get(0).get("nome").asText());
     }
 
     @Test
@@ -94,7 +244,7 @@ public class ClienteControllerTest {
         clienteDTO.setCpf("123.456.789-01");
         clienteDTO.setEmail("cliente@atualizado.com");
 
-        when(clienteService.atualizarCliente(anyLong(), any(ClienteDTO.class))).thenReturn(clienteDTO);
+        when(clienteService.atualizarCliente(anyLong(), any(ClienteDTO.class), isNull())).thenReturn(clienteDTO);
 
         mockMvc.perform(put("/api/clientes/{id}", 1L)
                 .contentType(MediaType.APPLICATION_JSON)
@@ -102,9 +252,80 @@ public class ClienteControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    public void testAtualizarClienteComIfMatch() throws Exception {
+        ClienteDTO clienteDTO = new ClienteDTO(1L, "cliente@atualizado.com", "Cliente Atualizado", "123.456.789-01", 4L);
+
+        when(clienteService.atualizarCliente(eq(1L), any(ClienteDTO.class), eq(3L))).thenReturn(clienteDTO);
+
+        mockMvc.perform(put("/api/clientes/{id}", 1L)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(clienteDTO)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
     @Test
     public void testDeletarCliente() throws Exception {
         mockMvc.perform(delete("/api/clientes/{id}", 1L))
                 .andExpect(status().isNoContent());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testExportarClientes() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ClienteDTO> consumidor = invocation.getArgument(0);
+            consumidor.accept(new ClienteDTO(1L, "a@a.com", "Cliente A", "123.456.789-01", 0L));
+            consumidor.accept(new ClienteDTO(2L, "b@b.com", "Cliente B", "123.456.789-02", 0L));
+            return 2L;
+        }).when(clienteService).exportarClientes(any(Consumer.class));
+
+        MvcResult resultado = mockMvc.perform(get("/api/clientes/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        "{\"id\":1,\"email\":\"a@a.com\",\"nome\":\"Cliente A\",\"cpf\":\"123.456.789-01\"}\n"
+                                + "{\"id\":2,\"email\":\"b@b.com\",\"nome\":\"Cliente B\",\"cpf\":\"123.456.789-02\"}\n"));
+    }
+
+    @Test
+    public void testSalvarClientesEmLoteCsv() throws Exception {
+        RelatorioLoteDTO relatorio = new RelatorioLoteDTO(2, 1, 1,
+                List.of(new FalhaLoteDTO(3, "123.456.789-01", List.of("CPF já cadastrado."))), false);
+        when(clienteLoteService.importar(any(Reader.class), eq(LeitorLoteClientes.Formato.CSV))).thenReturn(relatorio);
+
+        mockMvc.perform(post("/api/clientes/lote")
+                .contentType("text/csv")
+                .content("email,nome,cpf\na@a.com,Cliente A,123.456.789-01\nb@b.com,Cliente B,123.456.789-01\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inseridos").value(1))
+                .andExpect(jsonPath("$.detalhesFalhas[0].linha").value(3))
+                .andExpect(jsonPath("$.detalhesFalhas[0].erros[0]").value("CPF já cadastrado."));
+    }
+
+    @Test
+    public void testSalvarClientesEmLoteNdjson() throws Exception {
+        when(clienteLoteService.importar(any(Reader.class), eq(LeitorLoteClientes.Formato.NDJSON)))
+                .thenReturn(new RelatorioLoteDTO(1, 1, 0, List.of(), false));
+
+        mockMvc.perform(post("/api/clientes/lote")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"email\":\"a@a.com\",\"nome\":\"Cliente A\",\"cpf\":\"123.456.789-01\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.falhas").value(0));
+    }
+
+    @Test
+    public void testSalvarClientesEmLoteFormatoNaoSuportado() throws Exception {
+        mockMvc.perform(post("/api/clientes/lote")
+                .contentType(MediaType.APPLICATION_XML)
+                .content("<clientes/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+}
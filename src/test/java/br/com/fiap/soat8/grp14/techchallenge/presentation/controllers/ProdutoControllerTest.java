@@ -1,25 +1,39 @@
 package br.com.fiap.soat8.grp14.techchallenge.presentation.controllers;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.AlteracoesCatalogoDTO;
+import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.CatalogoSerializadoDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.dto.produto.ProdutoInsertDTO;
 import br.com.fiap.soat8.grp14.techchallenge.app.services.ProdutoService;
@@ -27,6 +41,9 @@ import br.com.fiap.soat8.grp14.techchallenge.core.entities.enums.CategoriaProdut
 
 public class ProdutoControllerTest {
 
+	private static final CatalogoSerializadoDTO SERIALIZADO = new CatalogoSerializadoDTO("a1-3",
+			"[]".getBytes(StandardCharsets.UTF_8), new byte[] {0x1f, (byte) 0x8b});
+
 	private MockMvc mockMvc;
 	private ProdutoService produtoService;
 	private ObjectMapper objectMapper;
@@ -34,7 +51,7 @@ public class ProdutoControllerTest {
 	@BeforeEach
 	public void setUp() {
 		produtoService = Mockito.mock(ProdutoService.class);
-		ProdutoController produtoController = new ProdutoController(produtoService);
+		ProdutoController produtoController = new ProdutoController(produtoService, new ObjectMapper());
 		mockMvc = MockMvcBuilders.standaloneSetup(produtoController).build();
 		objectMapper = new ObjectMapper();
 	}
@@ -63,12 +80,163 @@ public class ProdutoControllerTest {
 	
 	@Test
 	public void testGetProdutos() throws Exception {
-		when(produtoService.buscarProdutos()).thenReturn(Collections.emptyList());
+		when(produtoService.buscarProdutosSerializados()).thenReturn(SERIALIZADO);
 		
 		mockMvc.perform(get("/api/produtos"))
-				.andExpect(status().isOk());
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(content().bytes(SERIALIZADO.json()))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
 	}
 	
+	@Test
+	public void testGetProdutosComETagDoCatalogo() throws Exception {
+		when(produtoService.versaoCatalogo()).thenReturn("a1-3");
+		when(produtoService.buscarProdutosSerializados()).thenReturn(SERIALIZADO);
+
+		mockMvc.perform(get("/api/produtos").header(HttpHeaders.IF_NONE_MATCH, "\"a1-2\""))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"a1-3\""));
+	}
+
+	@Test
+	public void testGetProdutosGzip() throws Exception {
+		when(produtoService.versaoCatalogo()).thenReturn("a1-3");
+		when(produtoService.buscarProdutosSerializados()).thenReturn(SERIALIZADO);
+
+		mockMvc.perform(get("/api/produtos").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(SERIALIZADO.gzip()))
+				.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+				.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"a1-3-gzip\""));
+	}
+
+	@Test
+	public void testGetAlteracoes() throws Exception {
+		ProdutoDTO produtoDTO = new ProdutoDTO();
+		produtoDTO.setId(4L);
+		produtoDTO.setNome("X-Bacon");
+
+		when(produtoService.buscarAlteracoes(10L))
+				.thenReturn(new AlteracoesCatalogoDTO(12L, false, List.of(produtoDTO), List.of(7L)));
+
+		mockMvc.perform(get("/api/produtos/alteracoes").param("desde", "10"))
+				.andExpect(status().isOk())
+				.andExpect(content().json("{\"versao\":12,\"completo\":false,"
+						+ "\"produtos\":[{\"id\":4,\"nome\":\"X-Bacon\"}],\"excluidos\":[7]}"));
+	}
+
+	@Test
+	public void testGetAlteracoesSemVersao() throws Exception {
+		when(produtoService.buscarAlteracoes(null))
+				.thenReturn(new AlteracoesCatalogoDTO(12L, true, List.of(), List.of()));
+
+		mockMvc.perform(get("/api/produtos/alteracoes"))
+				.andExpect(status().isOk())
+				.andExpect(content().json("{\"versao\":12,\"completo\":true}"));
+	}
+
+	@Test
+	public void testBuscarProdutos() throws Exception {
+		ProdutoDTO produtoDTO = new ProdutoDTO();
+		produtoDTO.setId(29L);
+		produtoDTO.setNome("Café Expresso");
+
+		when(produtoService.buscarPorTexto("cafe", CategoriaProduto.BEBIDA, 5)).thenReturn(List.of(produtoDTO));
+
+		mockMvc.perform(get("/api/produtos/busca")
+				.param("q", "cafe")
+				.param("categoria", "BEBIDA")
+				.param("limite", "5"))
+				.andExpect(status().isOk())
+				.andExpect(content().json("[{\"id\":29,\"nome\":\"Café Expresso\"}]"));
+	}
+
+	@Test
+	public void testGetProdutosCbor() throws Exception {
+		ProdutoDTO produtoDTO = new ProdutoDTO(5L, "Nuggets", "Porção de nuggets de frango", 4.0,
+				CategoriaProduto.ACOMPANHAMENTO, 0L);
+		when(produtoService.versaoCatalogo()).thenReturn("a1-3");
+		when(produtoService.buscarProdutos()).thenReturn(List.of(produtoDTO));
+
+		byte[] corpo = mockMvc.perform(get("/api/produtos")
+				.accept(MediaType.APPLICATION_CBOR)
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+				.andExpect(header().string(HttpHeaders.ETAG, "\"a1-3-cbor\""))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		ProdutoDTO[] lidos = new CBORMapper().readValue(corpo, ProdutoDTO[].class);
+		assertEquals(1, lidos.length);
+		assertEquals("Nuggets", lidos[0].getNome());
+		verify(produtoService, never()).buscarProdutosSerializados();
+	}
+
+	@Test
+	public void testGetProdutosPorCategoriaSmileNaoModificado() throws Exception {
+		when(produtoService.versaoCatalogo()).thenReturn("a1-3");
+
+		mockMvc.perform(get("/api/produtos/categoria/{categoria}", "BEBIDA")
+				.accept(ProdutoController.APPLICATION_SMILE)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"a1-3-smile\""))
+				.andExpect(status().isNotModified());
+
+		verify(produtoService, never()).buscarPorCategoria(any());
+	}
+
+	@Test
+	public void testGetProdutoPorIdCbor() throws Exception {
+		ProdutoDTO produtoDTO = new ProdutoDTO(5L, "Nuggets", "Porção de nuggets de frango", 4.0,
+				CategoriaProduto.ACOMPANHAMENTO, 0L);
+		when(produtoService.buscarPorId(5L)).thenReturn(produtoDTO);
+
+		byte[] corpo = mockMvc.perform(get("/api/produtos/{id}", 5L).accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		assertEquals("Nuggets", new CBORMapper().readValue(corpo, ProdutoDTO.class).getNome());
+	}
+
+	@Test
+	public void testFormatoCatalogo() {
+		assertEquals(MediaType.APPLICATION_JSON, ProdutoController.formatoCatalogo(null));
+		assertEquals(MediaType.APPLICATION_JSON, ProdutoController.formatoCatalogo("*/*"));
+		assertEquals(MediaType.APPLICATION_JSON, ProdutoController.formatoCatalogo("text/html, */*;q=0.8"));
+		assertEquals(MediaType.APPLICATION_JSON, ProdutoController.formatoCatalogo("application/xml"));
+		assertEquals(MediaType.APPLICATION_JSON, ProdutoController.formatoCatalogo("não é um tipo"));
+		assertEquals(MediaType.APPLICATION_CBOR, ProdutoController.formatoCatalogo("application/cbor"));
+		assertEquals(MediaType.APPLICATION_CBOR,
+				ProdutoController.formatoCatalogo("application/json;q=0.5, application/cbor"));
+		assertEquals(ProdutoController.APPLICATION_SMILE,
+				ProdutoController.formatoCatalogo("application/cbor;q=0, application/x-jackson-smile, */*;q=0.1"));
+	}
+
+	@Test
+	public void testAceitaGzip() {
+		assertTrue(ProdutoController.aceitaGzip("gzip"));
+		assertTrue(ProdutoController.aceitaGzip("br;q=1.0, GZIP;q=0.5"));
+		assertTrue(ProdutoController.aceitaGzip("*"));
+		assertFalse(ProdutoController.aceitaGzip(null));
+		assertFalse(ProdutoController.aceitaGzip("identity"));
+		assertFalse(ProdutoController.aceitaGzip("gzip;q=0"));
+		assertFalse(ProdutoController.aceitaGzip("*, gzip;q=0"));
+	}
+
+	@Test
+	public void testGetProdutosNaoModificado() throws Exception {
+		when(produtoService.versaoCatalogo()).thenReturn("a1-3");
+
+		mockMvc.perform(get("/api/produtos").header(HttpHeaders.IF_NONE_MATCH, "\"a1-3\""))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, "\"a1-3\""));
+
+		verify(produtoService, never()).buscarProdutosSerializados();
+	}
+
 	@Test
 	public void testGetProdutoPorId() throws Exception {
 		ProdutoDTO produtoDTO = new ProdutoDTO();
@@ -81,12 +249,24 @@ public class ProdutoControllerTest {
 	
 	@Test
 	public void testGetProdutosPorCategoria() throws Exception {
-		when(produtoService.buscarPorCategoria(any(CategoriaProduto.class))).thenReturn(Collections.emptyList());
+		when(produtoService.buscarPorCategoriaSerializados(CategoriaProduto.ACOMPANHAMENTO)).thenReturn(SERIALIZADO);
 		
 		mockMvc.perform(get("/api/produtos/categoria/{categoriaProduto}", CategoriaProduto.ACOMPANHAMENTO))
-				.andExpect(status().isOk());
+				.andExpect(status().isOk())
+				.andExpect(content().bytes(SERIALIZADO.json()));
 	}
 	
+	@Test
+	public void testGetProdutosPorCategoriaNaoModificado() throws Exception {
+		when(produtoService.versaoCatalogo()).thenReturn("a1-3");
+
+		mockMvc.perform(get("/api/produtos/categoria/{categoriaProduto}", CategoriaProduto.BEBIDA)
+						.header(HttpHeaders.IF_NONE_MATCH, "\"a1-1\", \"a1-3\""))
+				.andExpect(status().isNotModified());
+
+		verify(produtoService, never()).buscarPorCategoriaSerializados(any(CategoriaProduto.class));
+	}
+
 	@Test
 	public void testAtualizarProdutos() throws Exception {
 		ProdutoDTO produtoDTO = new ProdutoDTO();
@@ -95,7 +275,7 @@ public class ProdutoControllerTest {
 		produtoDTO.setCategoriaProduto(CategoriaProduto.ACOMPANHAMENTO);
 		produtoDTO.setValor(150.0);
 		
-		when(produtoService.atualizarProduto(anyLong(), any(ProdutoDTO.class))).thenReturn(produtoDTO);
+		when(produtoService.atualizarProduto(anyLong(), any(ProdutoDTO.class), isNull())).thenReturn(produtoDTO);
 		
 		mockMvc.perform(put("/api/produtos/{id}", 1L)
 				.contentType(MediaType.APPLICATION_JSON)
@@ -108,4 +288,14 @@ public class ProdutoControllerTest {
 		mockMvc.perform(delete("/api/produtos/{id}", 1L))
 				.andExpect(status().isNoContent());
 	}
+
+	@Test
+	public void testDeletaProdutosEmLote() throws Exception {
+		when(produtoService.deletarProdutos(List.of(1L, 2L, 3L))).thenReturn(3);
+
+		mockMvc.perform(delete("/api/produtos").param("ids", "1,2,3"))
+				.andExpect(status().isNoContent());
+
+		verify(produtoService).deletarProdutos(List.of(1L, 2L, 3L));
+	}
 }
\ No newline at end of file